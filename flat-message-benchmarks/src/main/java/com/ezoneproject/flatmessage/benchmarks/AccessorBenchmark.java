@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.internal.AnnotationFields;
+import com.ezoneproject.flatmessage.internal.FieldAccessor;
+import com.ezoneproject.flatmessage.internal.FlatFieldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FieldAccessor 필드 접근 처리량
+ * <pre>
+ *     METHOD 는 getter/setter 메서드(LambdaMetafactory 로 생성한 구현 클래스),
+ *     FIELD 는 getter/setter 가 없는 private 필드(MethodHandle)로 접근한다.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AccessorBenchmark {
+    @Param({"METHOD", "FIELD"})
+    public String access;
+
+    private Object message;
+    private FieldAccessor codeAccessor;
+    private FieldAccessor countAccessor;
+    private int count = 0;
+
+    @Setup
+    public void setUp() {
+        message = "METHOD".equals(access) ? new MethodMessage() : new FieldMessage();
+
+        List<FlatFieldInfo> fields = AnnotationFields.getInstance().getFlatFieldInfoList(message.getClass());
+        codeAccessor = fields.get(0).accessor;
+        countAccessor = fields.get(1).accessor;
+    }
+
+    @Benchmark
+    public Object get() {
+        return codeAccessor.get(message);
+    }
+
+    @Benchmark
+    public void set() {
+        codeAccessor.set(message, "CODE");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return countAccessor.getInt(message);
+    }
+
+    @Benchmark
+    public void setInt() {
+        countAccessor.setInt(message, count++);
+    }
+
+    public static class MethodMessage {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        private String code = "CODE";
+
+        @FlatMessageField(position = 2, length = 10, type = FieldDataType.NUMERIC)
+        private int count = 0;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class FieldMessage {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        private String code = "CODE";
+
+        @FlatMessageField(position = 2, length = 10, type = FieldDataType.NUMERIC)
+        private int count = 0;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.internal.AnnotationFields;
+import com.ezoneproject.flatmessage.internal.FlatFieldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnnotationFields.getFlatFieldInfoList 조회 처리량 (최초 조회 후 캐시된 목록)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AnnotationFieldsBenchmark {
+    @Param({"FLAT", "NESTED", "FIXED_TABLE", "VARIABLE_TABLE"})
+    public BenchmarkMessages shape;
+
+    private AnnotationFields annotationFields;
+    private Class<?> messageClass;
+
+    @Setup
+    public void setUp() {
+        annotationFields = AnnotationFields.getInstance();
+        messageClass = shape.getMessageClass();
+    }
+
+    @Benchmark
+    public List<FlatFieldInfo> getFlatFieldInfoList() {
+        return annotationFields.getFlatFieldInfoList(messageClass);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.annotation.FlatMessageTable;
+import com.ezoneproject.flatmessage.annotation.TableType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 메시지 형태
+ * <pre>
+ *     FLAT            모든 데이터 타입의 필드 (넓은 공백 패딩 필드 포함)
+ *     NESTED          CLASS 필드 4단계 중첩
+ *     FIXED_TABLE     고정 테이블 20행
+ *     VARIABLE_TABLE  가변 테이블 10,000행
+ *
+ *     문자열 필드는 대부분 ASCII 코드값이고 일부만 한글이다.
+ * </pre>
+ */
+public enum BenchmarkMessages {
+    FLAT(FlatMessage.class) {
+        @Override
+        Object newMessage() {
+            return new FlatMessage(1);
+        }
+    },
+    NESTED(NestedMessage.class) {
+        @Override
+        Object newMessage() {
+            NestedMessage message = new NestedMessage();
+            message.header = new FlatMessage(1);
+            message.level1 = new Level1();
+            message.level1.level2 = new Level2();
+            message.level1.level2.level3 = new Level3();
+            message.level1.level2.level3.level4 = new Level4();
+            return message;
+        }
+    },
+    FIXED_TABLE(FixedTableMessage.class) {
+        @Override
+        Object newMessage() {
+            FixedTableMessage message = new FixedTableMessage();
+            message.items = new Item[FixedTableMessage.ROWS];
+            for (int i = 0; i < message.items.length; i++)
+                message.items[i] = new Item(i);
+            return message;
+        }
+    },
+    VARIABLE_TABLE(VariableTableMessage.class) {
+        @Override
+        Object newMessage() {
+            VariableTableMessage message = new VariableTableMessage();
+            message.itemCount = VariableTableMessage.ROWS;
+            message.items = new ArrayList<>(VariableTableMessage.ROWS);
+            for (int i = 0; i < VariableTableMessage.ROWS; i++)
+                message.items.add(new Item(i));
+            return message;
+        }
+    };
+
+    private final Class<?> messageClass;
+
+    BenchmarkMessages(Class<?> messageClass) {
+        this.messageClass = messageClass;
+    }
+
+    Class<?> getMessageClass() {
+        return messageClass;
+    }
+
+    /**
+     * @return 데이터를 입력한 메시지 객체
+     */
+    abstract Object newMessage();
+
+    public static class FlatMessage {
+        @FlatMessageField(position = 1, length = 8, type = FieldDataType.ALPHANUM)
+        public String code = null;
+
+        @FlatMessageField(position = 2, length = 20, type = FieldDataType.STRING)
+        public String name = null;
+
+        @FlatMessageField(position = 3, length = 30, type = FieldDataType.UTF8)
+        public String utf8Name = null;
+
+        @FlatMessageField(position = 4, length = 9, type = FieldDataType.NUMERIC)
+        public int count = 0;
+
+        @FlatMessageField(position = 5, length = 18, type = FieldDataType.NUMERIC)
+        public long serial = 0;
+
+        @FlatMessageField(position = 6, length = 15, type = FieldDataType.NUMERIC, scale = 2)
+        public BigDecimal amount = null;
+
+        @FlatMessageField(position = 7, length = 16, type = FieldDataType.BLOCK)
+        public byte[] block = null;
+
+        @FlatMessageField(position = 8, length = 200, type = FieldDataType.STRING)
+        public String memo = null;
+
+        public FlatMessage() {
+        }
+
+        FlatMessage(int seq) {
+            this.code = "TX" + (1000 + seq);
+            this.name = "홍길동";
+            this.utf8Name = "ACCOUNT-" + seq;
+            this.count = seq;
+            this.serial = 900_000_000_000L + seq;
+            this.amount = new BigDecimal("12345.67");
+            this.block = new byte[]{1, 2, 3, 4, 5, 6, 7, 8};
+            this.memo = "NOTE";
+        }
+    }
+
+    public static class NestedMessage {
+        @FlatMessageField(position = 1, length = 0, type = FieldDataType.CLASS, dataClass = FlatMessage.class)
+        public FlatMessage header = null;
+
+        @FlatMessageField(position = 2, length = 0, type = FieldDataType.CLASS, dataClass = Level1.class)
+        public Level1 level1 = null;
+    }
+
+    public static class Level1 {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        public String code = "L1";
+
+        @FlatMessageField(position = 2, length = 0, type = FieldDataType.CLASS, dataClass = Level2.class)
+        public Level2 level2 = null;
+    }
+
+    public static class Level2 {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        public String code = "L2";
+
+        @FlatMessageField(position = 2, length = 0, type = FieldDataType.CLASS, dataClass = Level3.class)
+        public Level3 level3 = null;
+    }
+
+    public static class Level3 {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        public String code = "L3";
+
+        @FlatMessageField(position = 2, length = 0, type = FieldDataType.CLASS, dataClass = Level4.class)
+        public Level4 level4 = null;
+    }
+
+    public static class Level4 {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.ALPHANUM)
+        public String code = "L4";
+
+        @FlatMessageField(position = 2, length = 7, type = FieldDataType.NUMERIC)
+        public int value = 4;
+    }
+
+    public static class FixedTableMessage {
+        static final int ROWS = 20;
+
+        @FlatMessageField(position = 1, length = 8, type = FieldDataType.ALPHANUM)
+        public String code = "FIXED";
+
+        @FlatMessageTable(position = 2, type = TableType.TABLE_FIXED, loopCount = ROWS, tableClass = Item.class)
+        public Item[] items = null;
+    }
+
+    public static class VariableTableMessage {
+        static final int ROWS = 10_000;
+
+        @FlatMessageField(position = 1, length = 5, type = FieldDataType.NUMERIC)
+        public int itemCount = 0;
+
+        @FlatMessageTable(position = 2, type = TableType.TABLE_VARIABLE, loopFieldName = "itemCount", tableClass = Item.class)
+        public List<Item> items = null;
+    }
+
+    public static class Item {
+        @FlatMessageField(position = 1, length = 12, type = FieldDataType.ALPHANUM)
+        public String itemCode = null;
+
+        @FlatMessageField(position = 2, length = 40, type = FieldDataType.STRING)
+        public String itemName = null;
+
+        @FlatMessageField(position = 3, length = 7, type = FieldDataType.NUMERIC)
+        public int quantity = 0;
+
+        @FlatMessageField(position = 4, length = 13, type = FieldDataType.NUMERIC, scale = 2)
+        public BigDecimal price = null;
+
+        public Item() {
+        }
+
+        Item(int seq) {
+            this.itemCode = "ITEM" + seq;
+            this.itemName = (seq % 10 == 0) ? "상품" + seq : "PRODUCT" + seq;
+            this.quantity = seq % 100;
+            this.price = BigDecimal.valueOf(1000 + seq, 2);
+        }
+    }
+}
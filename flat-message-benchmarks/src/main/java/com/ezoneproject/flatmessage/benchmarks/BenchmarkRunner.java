@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ezoneproject.flatmessage.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 벤치마크 실행 (GC 프로파일러로 호출당 할당량을 함께 측정)
+ * <pre>
+ *     java -jar target/benchmarks.jar [JMH 옵션] [벤치마크 이름 정규식]
+ *     예) java -jar target/benchmarks.jar Deserializer -p shape=VARIABLE_TABLE -rf json -rff result.json
+ *     생성된 코덱 대신 리플렉션 기반 플랜을 측정하려면
+ *         -jvmArgsAppend -Dcom.ezoneproject.flatmessage.generatedCodec=false
+ * </pre>
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.internal.ConversionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 데이터 타입별 ConversionUtil.toBytes/toObject 처리량
+ * <pre>
+ *     ASCII 는 코드값(ASCII), KOREAN 은 한글 문자열이며 NUMERIC, BLOCK 은 내용과 관계없다.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ConversionBenchmark {
+    @Param({"ALPHANUM", "STRING", "UTF8", "NUMERIC_INT", "NUMERIC_LONG", "NUMERIC_DECIMAL", "BLOCK"})
+    public String fieldType;
+
+    @Param({"UTF-8", "MS949"})
+    public String charset;
+
+    @Param({"ASCII", "KOREAN"})
+    public String content;
+
+    /**
+     * 넓은 공백 패딩 필드
+     */
+    @Param({"40", "200"})
+    public int length;
+
+    private Charset cs;
+    private FieldDataType dataType;
+    private int scale;
+    private Class<?> targetType;
+    private Object value;
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        cs = Charset.forName(charset);
+        scale = -1;
+        String text = "ASCII".equals(content) ? "CODE-0001" : "홍길동 계좌";
+
+        switch (fieldType) {
+            case "NUMERIC_INT":
+                dataType = FieldDataType.NUMERIC;
+                targetType = int.class;
+                value = 123456;
+                break;
+            case "NUMERIC_LONG":
+                dataType = FieldDataType.NUMERIC;
+                targetType = long.class;
+                value = 900_000_000_123L;
+                break;
+            case "NUMERIC_DECIMAL":
+                dataType = FieldDataType.NUMERIC;
+                targetType = BigDecimal.class;
+                scale = 2;
+                value = new BigDecimal("12345.67");
+                break;
+            case "BLOCK":
+                dataType = FieldDataType.BLOCK;
+                targetType = byte[].class;
+                value = text.getBytes(cs);
+                break;
+            default:
+                dataType = FieldDataType.valueOf(fieldType);
+                targetType = String.class;
+                value = text;
+                break;
+        }
+        data = ConversionUtil.toBytes(value, length, scale, cs);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return ConversionUtil.toBytes(value, length, scale, cs);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return ConversionUtil.toObject(data, dataType, scale, targetType, "benchmark", cs);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.FlatMessageDeserializer;
+import com.ezoneproject.flatmessage.FlatMessageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlatMessageDeserializer 역직렬화 처리량
+ * <pre>
+ *     dumpMode 는 역직렬화 후 getFieldsDump() 의 각 항목을 읽어서 덤프 사용 비용까지 측정한다.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DeserializerBenchmark {
+    @Param({"FLAT", "NESTED", "FIXED_TABLE", "VARIABLE_TABLE"})
+    public BenchmarkMessages shape;
+
+    @Param({"UTF-8", "MS949"})
+    public String charset;
+
+    @Param({"false", "true"})
+    public boolean dumpMode;
+
+    private FlatMessageDeserializer<Object> deserializer;
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        Charset cs = Charset.forName(charset);
+        data = new FlatMessageSerializer<>(shape.getMessageClass(), cs).objectToBytes(shape.newMessage());
+        deserializer = new FlatMessageDeserializer<>(shape.getMessageClass(), cs, dumpMode);
+    }
+
+    @Benchmark
+    public Object bytesToObject(final Blackhole bh) {
+        Object object = deserializer.bytesToObject(data, 0);
+        if (dumpMode)
+            DumpReader.consume(deserializer.getFieldsDump(), bh);
+        return object;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.debug.FlatMessageDump;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * 필드 덤프 목록을 화면 출력처럼 읽어서 Blackhole 로 소비
+ * <pre>
+ *     dumpMode 벤치마크가 덤프를 만드는 비용뿐 아니라 사용하는 비용까지 측정하도록 한다.
+ * </pre>
+ */
+final class DumpReader {
+    private DumpReader() {
+    }
+
+    static void consume(final List<FlatMessageDump> dumps, final Blackhole bh) {
+        StringBuilder sb = new StringBuilder(64);
+        for (FlatMessageDump d : dumps) {
+            sb.setLength(0);
+            sb.append(d.getDescription()).append('#').append(d.getTableRow())
+                    .append('|').append(d.getOffset()).append('|').append(d.getLength())
+                    .append('|').append(d.getData());
+            bh.consume(sb.toString());
+        }
+        bh.consume(dumps.size());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ezoneproject.flatmessage.benchmarks;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlatMessageSerializer 직렬화 처리량
+ * <pre>
+ *     dumpMode 인 objectToBytes 는 직렬화한 필드 덤프 목록도 출력하듯이 읽는다.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SerializerBenchmark {
+    @Param({"FLAT", "NESTED", "FIXED_TABLE", "VARIABLE_TABLE"})
+    public BenchmarkMessages shape;
+
+    @Param({"UTF-8", "MS949"})
+    public String charset;
+
+    @Param({"false", "true"})
+    public boolean dumpMode;
+
+    private FlatMessageSerializer<Object> serializer;
+    private Object message;
+
+    @Setup
+    public void setUp() {
+        serializer = new FlatMessageSerializer<>(shape.getMessageClass(), Charset.forName(charset), dumpMode);
+        message = shape.newMessage();
+    }
+
+    @Benchmark
+    public byte[] objectToBytes(final Blackhole bh) {
+        byte[] bytes = serializer.objectToBytes(message);
+        if (dumpMode)
+            DumpReader.consume(serializer.getFieldsDump(), bh);
+        return bytes;
+    }
+
+    @Benchmark
+    public int getLength() {
+        return serializer.getLength(message);
+    }
+}
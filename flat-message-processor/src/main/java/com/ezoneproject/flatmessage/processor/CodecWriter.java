@@ -0,0 +1,480 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.processor;
+
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * 메시지 클래스 모델로 코덱 소스를 생성
+ * <pre>
+ *     앞선 필드가 모두 고정 길이이면 오프셋을 상수로 계산하고(offset + N),
+ *     가변 길이 필드를 만난 이후부터 pos 변수로 위치를 계산한다.
+ * </pre>
+ */
+final class CodecWriter {
+    private static final String SUPPORT = "com.ezoneproject.flatmessage.internal.GeneratedCodecSupport";
+    private static final String DATA_TYPE = "com.ezoneproject.flatmessage.annotation.FieldDataType";
+
+    private final FlatMessageProcessor processor;
+    private final MessageModel model;
+    private final String codecPackage;
+    private final String typeName;
+
+    private final StringBuilder sb = new StringBuilder();
+
+    CodecWriter(FlatMessageProcessor processor, MessageModel model) {
+        this.processor = processor;
+        this.model = model;
+        this.codecPackage = processor.packageName(model.type);
+        this.typeName = model.type.getQualifiedName().toString();
+    }
+
+    String write() {
+        String codecName = processor.codecName(model.type);
+        String simpleName = codecName.substring(codecName.lastIndexOf('.') + 1);
+
+        line(0, "// Generated by com.ezoneproject.flatmessage.processor.FlatMessageProcessor. Do not edit.");
+        if (!codecPackage.isEmpty()) {
+            line(0, "package " + codecPackage + ";");
+            line(0, "");
+        }
+        line(0, "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\"})");
+        line(0, "public final class " + simpleName + " implements com.ezoneproject.flatmessage.FlatMessageGeneratedCodec<" + typeName + "> {");
+        line(1, "public static final " + simpleName + " INSTANCE = new " + simpleName + "();");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public Class<" + typeName + "> getTargetClass() {");
+        line(2, "return " + typeName + ".class;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public " + typeName + " newInstance() {");
+        line(2, "return new " + typeName + "();");
+        line(1, "}");
+        line(0, "");
+        writeGetLength();
+        line(0, "");
+        writeEncode();
+        line(0, "");
+        writeDecode();
+        line(0, "}");
+
+        return sb.toString();
+    }
+
+    // ************************************************************
+    // getLength
+    // ************************************************************
+
+    private void writeGetLength() {
+        line(1, "@Override");
+        line(1, "public int getLength(" + typeName + " object) {");
+
+        if (model.fixedLength >= 0) {
+            line(2, "return " + model.fixedLength + ";");
+            line(1, "}");
+            return;
+        }
+
+        int fixedSum = 0;
+        line(2, "int length = 0;");
+        for (MessageModel.FieldModel fm : model.fields) {
+            switch (fm.kind) {
+                case FIELD:
+                    if (fm.length >= 0)
+                        fixedSum += fm.length;
+                    else
+                        line(2, "length += " + SUPPORT + ".blockLength(" + get(fm) + ");");
+                    break;
+
+                case CLASS:
+                    if (fm.child.fixedLength >= 0) {
+                        fixedSum += fm.child.fixedLength;
+                        break;
+                    }
+                    line(2, "{");
+                    subObject(fm);
+                    line(3, "length += " + childCodec(fm) + ".getLength(sub);");
+                    line(2, "}");
+                    break;
+
+                case TABLE:
+                    if (fm.child.fixedLength >= 0) {
+                        if (fm.fixedTable)
+                            fixedSum += fm.child.fixedLength * fm.loopCount;
+                        else
+                            line(2, "length += " + fm.child.fixedLength + " * " + loopCount(fm) + ";");
+                        break;
+                    }
+                    line(2, "{");
+                    tableRows(fm);
+                    line(4, "length += " + childCodec(fm) + ".getLength(row);");
+                    line(3, "}");
+                    line(2, "}");
+                    break;
+            }
+        }
+        line(2, "return " + (fixedSum == 0 ? "length" : "length + " + fixedSum) + ";");
+        line(1, "}");
+    }
+
+    // ************************************************************
+    // encode
+    // ************************************************************
+
+    private void writeEncode() {
+        Position pos = new Position();
+
+        line(1, "@Override");
+        line(1, "public int encode(" + typeName + " object, java.nio.ByteBuffer buffer, int offset, java.nio.charset.Charset charset) {");
+        for (MessageModel.FieldModel fm : model.fields) {
+            switch (fm.kind) {
+                case FIELD:
+                    if (fm.length >= 0) {
+                        line(2, encodeCall(fm, pos.expr()) + ";");
+                        pos.advance(fm.length);
+                    } else {
+                        pos.dynamic();
+                        line(2, "pos += " + encodeCall(fm, "pos") + ";");
+                    }
+                    break;
+
+                case CLASS:
+                    if (fm.child.fixedLength < 0)
+                        pos.dynamic();
+                    line(2, "{");
+                    subObject(fm);
+                    if (fm.child.fixedLength >= 0) {
+                        line(3, childCodec(fm) + ".encode(sub, buffer, " + pos.expr() + ", charset);");
+                        pos.advance(fm.child.fixedLength);
+                    } else
+                        line(3, "pos += " + childCodec(fm) + ".encode(sub, buffer, pos, charset);");
+                    line(2, "}");
+                    break;
+
+                case TABLE: {
+                    boolean fixed = fm.fixedTable && fm.child.fixedLength >= 0;
+                    if (!fixed)
+                        pos.dynamic();
+                    line(2, "{");
+                    tableRows(fm);
+                    if (fixed) {
+                        line(4, childCodec(fm) + ".encode(row, buffer, " + pos.expr() + " + i * " + fm.child.fixedLength +
+                                ", charset);");
+                    } else
+                        line(4, "pos += " + childCodec(fm) + ".encode(row, buffer, pos, charset);");
+                    line(3, "}");
+                    line(2, "}");
+                    if (fixed)
+                        pos.advance(fm.child.fixedLength * fm.loopCount);
+                    break;
+                }
+            }
+        }
+        line(2, "return " + pos.result() + ";");
+        line(1, "}");
+    }
+
+    // ************************************************************
+    // decode
+    // ************************************************************
+
+    private void writeDecode() {
+        Position pos = new Position();
+
+        line(1, "@Override");
+        line(1, "public int decode(java.nio.ByteBuffer data, int offset, int limit, java.nio.charset.Charset charset, " + typeName + " object) {");
+        line(2, SUPPORT + ".checkLimit(data, offset, limit);");
+        line(2, "final int end = offset + limit;");
+        for (MessageModel.FieldModel fm : model.fields) {
+            switch (fm.kind) {
+                case FIELD: {
+                    if (fm.length >= 0) {
+                        line(2, SUPPORT + ".checkLength(" + pos.expr() + ", " + fm.length + ", end, " + literal(fm.name) + ");");
+                        set(2, fm, decodeCall(fm, pos.expr(), String.valueOf(fm.length)));
+                        pos.advance(fm.length);
+                    } else {
+                        // 길이 미지정 BLOCK은 limit만큼 끝까지 처리
+                        pos.dynamic();
+                        line(2, "{");
+                        line(3, "int length = end - pos;");
+                        set(3, fm, decodeCall(fm, "pos", "length"));
+                        line(3, "pos += length;");
+                        line(2, "}");
+                    }
+                    break;
+                }
+
+                case CLASS: {
+                    String childType = fm.child.type.getQualifiedName().toString();
+                    if (fm.child.fixedLength < 0)
+                        pos.dynamic();
+                    line(2, "{");
+                    line(3, childType + " sub = new " + childType + "();");
+                    if (fm.child.fixedLength >= 0) {
+                        line(3, childCodec(fm) + ".decode(data, " + pos.expr() + ", end - (" + pos.expr() + "), charset, sub);");
+                        pos.advance(fm.child.fixedLength);
+                    } else
+                        line(3, "pos += " + childCodec(fm) + ".decode(data, pos, end - pos, charset, sub);");
+                    set(3, fm, "sub");
+                    line(2, "}");
+                    break;
+                }
+
+                case TABLE: {
+                    String childType = fm.child.type.getQualifiedName().toString();
+                    boolean fixed = fm.fixedTable && fm.child.fixedLength >= 0;
+                    if (!fixed)
+                        pos.dynamic();
+
+                    line(2, "{");
+                    line(3, "int loopCount = " + loopCount(fm) + ";");
+                    switch (fm.container) {
+                        case ARRAY:
+                            line(3, childType + "[] rows = new " + childType + "[loopCount];");
+                            break;
+                        case LIST:
+                            line(3, "java.util.List<" + childType + "> rows = new java.util.ArrayList<" + childType + ">(loopCount);");
+                            break;
+                        case CUSTOM_LIST: {
+                            String listType = processor.typeName(fm.fieldType());
+                            line(3, listType + " rows = new " + listType + "();");
+                            break;
+                        }
+                    }
+                    line(3, "for (int i = 0; i < loopCount; i++) {");
+                    line(4, childType + " row = new " + childType + "();");
+                    if (fixed) {
+                        String rowPos = pos.expr() + " + i * " + fm.child.fixedLength;
+                        line(4, childCodec(fm) + ".decode(data, " + rowPos + ", end - (" + rowPos + "), charset, row);");
+                    } else
+                        line(4, "pos += " + childCodec(fm) + ".decode(data, pos, end - pos, charset, row);");
+                    line(4, (fm.container == MessageModel.Container.ARRAY) ? "rows[i] = row;" : "rows.add(row);");
+                    line(3, "}");
+                    set(3, fm, "rows");
+                    line(2, "}");
+                    if (fixed)
+                        pos.advance(fm.child.fixedLength * fm.loopCount);
+                    break;
+                }
+            }
+        }
+        line(2, "return " + pos.result() + ";");
+        line(1, "}");
+    }
+
+    /**
+     * 필드 직렬화 호출 (int, long, float, double NUMERIC 필드는 박싱하지 않음)
+     */
+    private String encodeCall(MessageModel.FieldModel fm, String position) {
+        TypeKind kind = primitiveKind(fm);
+        // getter 를 사용하면 getter 도 같은 기본형을 리턴해야 함
+        if (usesGetter(fm) && (fm.getterType == null || fm.getterType.getKind() != kind))
+            kind = TypeKind.NONE;
+
+        switch (kind) {
+            case INT:
+            case LONG:
+                return SUPPORT + ".encodeLong(" + get(fm) + ", buffer, " + position + ", " + fm.length + ")";
+            case FLOAT:
+                return SUPPORT + ".encodeFloat(" + get(fm) + ", buffer, " + position + ", " + fm.length + ", " + fm.scale + ")";
+            case DOUBLE:
+                return SUPPORT + ".encodeDouble(" + get(fm) + ", buffer, " + position + ", " + fm.length + ", " + fm.scale + ")";
+            default:
+                return SUPPORT + ".encode(" + get(fm) + ", buffer, " + position + ", " + fm.length + ", " + fm.scale +
+                        ", charset)";
+        }
+    }
+
+    /**
+     * 필드 역직렬화 호출 (int, long, float, double NUMERIC 필드는 박싱하지 않음)
+     */
+    private String decodeCall(MessageModel.FieldModel fm, String position, String length) {
+        String fieldName = literal(FlatStringUtil.shortClassName(
+                ((TypeElement) fm.element.getEnclosingElement()).getQualifiedName() + "." + fm.name));
+        String args = "(data, " + position + ", " + length + ", " + fm.scale + ", " + fieldName + ")";
+
+        switch (primitiveKind(fm)) {
+            case INT:
+                return SUPPORT + ".decodeInt" + args;
+            case LONG:
+                return SUPPORT + ".decodeLong" + args;
+            case FLOAT:
+                return SUPPORT + ".decodeFloat" + args;
+            case DOUBLE:
+                return SUPPORT + ".decodeDouble" + args;
+            default: {
+                String fieldType = processor.typeName(fm.fieldType());
+                return "(" + fieldType + ") " + SUPPORT + ".decode(data, " + position + ", " + length + ", " + DATA_TYPE +
+                        "." + fm.dataType + ", " + fm.scale + ", " + fieldType + ".class, " + fieldName + ", charset)";
+            }
+        }
+    }
+
+    /**
+     * int, long, float, double 타입의 NUMERIC 필드는 해당 기본형, 그 외 필드는 TypeKind.NONE
+     */
+    private static TypeKind primitiveKind(MessageModel.FieldModel fm) {
+        TypeKind kind = fm.fieldType().getKind();
+        if ("NUMERIC".equals(fm.dataType) &&
+                (kind == TypeKind.INT || kind == TypeKind.LONG || kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE))
+            return kind;
+        return TypeKind.NONE;
+    }
+
+    // ************************************************************
+    // common
+    // ************************************************************
+
+    /**
+     * CLASS 필드 값 (null이면 빈 객체 생성)
+     */
+    private void subObject(MessageModel.FieldModel fm) {
+        String childType = fm.child.type.getQualifiedName().toString();
+        line(3, childType + " sub = (" + childType + ") " + get(fm) + ";");
+        line(3, "if (sub == null)");
+        line(4, "sub = new " + childType + "();");
+    }
+
+    /**
+     * 테이블 행 반복 (필드에 정의된 데이터 건수만큼 처리하고 부족하면 빈 객체로 채움)
+     */
+    private void tableRows(MessageModel.FieldModel fm) {
+        String childType = fm.child.type.getQualifiedName().toString();
+
+        line(3, "int loopCount = " + loopCount(fm) + ";");
+        if (fm.container == MessageModel.Container.ARRAY) {
+            line(3, "Object[] rows = " + get(fm) + ";");
+            line(3, "int count = (rows == null) ? 0 : rows.length;");
+        } else {
+            line(3, "java.util.List<?> rows = " + get(fm) + ";");
+            line(3, "int count = (rows == null) ? 0 : rows.size();");
+        }
+        line(3, "for (int i = 0; i < loopCount; i++) {");
+        line(4, childType + " row = (i < count) ? (" + childType + ") " +
+                ((fm.container == MessageModel.Container.ARRAY) ? "rows[i]" : "rows.get(i)") + " : null;");
+        line(4, "if (row == null)");
+        line(5, "row = new " + childType + "();");
+    }
+
+    private String loopCount(MessageModel.FieldModel fm) {
+        if (fm.fixedTable)
+            return String.valueOf(fm.loopCount);
+
+        MessageModel.FieldModel lf = fm.loopField;
+        TypeMirror type = lf.fieldType();
+        String value;
+        if (type.getKind().isPrimitive())
+            value = "(int) " + get(lf);
+        else
+            value = "((java.lang.Number) " + get(lf) + ").intValue()";
+
+        return SUPPORT + ".checkLoopCount(" + value + ", " + literal(lf.fieldName()) + ")";
+    }
+
+    private String childCodec(MessageModel.FieldModel fm) {
+        return processor.codecName(fm.child.type) + ".INSTANCE";
+    }
+
+    /**
+     * public 필드는 직접 접근, 아니면 getter 우선
+     */
+    private String get(MessageModel.FieldModel fm) {
+        if (!usesGetter(fm))
+            return "object." + fm.fieldName();
+        return "object." + fm.getterName + "()";
+    }
+
+    private static boolean usesGetter(MessageModel.FieldModel fm) {
+        return !fm.element.getModifiers().contains(Modifier.PUBLIC) && fm.getterName != null;
+    }
+
+    /**
+     * public 필드는 직접 접근, 아니면 setter 우선
+     */
+    private void set(int indent, MessageModel.FieldModel fm, String value) {
+        boolean direct = (fm.element.getModifiers().contains(Modifier.PUBLIC) &&
+                !fm.element.getModifiers().contains(Modifier.FINAL)) || fm.setterName == null;
+
+        if (direct)
+            line(indent, "object." + fm.fieldName() + " = " + value + ";");
+        else
+            line(indent, "object." + fm.setterName + "(" + value + ");");
+    }
+
+    private void line(int indent, String text) {
+        for (int i = 0; i < indent; i++)
+            sb.append("    ");
+        sb.append(text).append('\n');
+    }
+
+    /**
+     * Java 문자열 리터럴 (비ASCII 문자는 유니코드 이스케이프)
+     */
+    private static String literal(String value) {
+        StringBuilder lit = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\')
+                lit.append('\\').append(c);
+            else if (c < 0x20 || c > 0x7e)
+                lit.append(String.format("\\u%04x", (int) c));
+            else
+                lit.append(c);
+        }
+        return lit.append('"').toString();
+    }
+
+    /**
+     * 현재 위치 (앞선 필드가 모두 고정 길이면 offset + 상수)
+     */
+    private final class Position {
+        private boolean fixed = true;
+        private int constant = 0;
+
+        String expr() {
+            if (!fixed)
+                return "pos";
+            return (constant == 0) ? "offset" : "offset + " + constant;
+        }
+
+        void advance(int length) {
+            if (fixed)
+                constant += length;
+            else
+                line(2, "pos += " + length + ";");
+        }
+
+        /**
+         * 가변 길이 필드부터 pos 변수 사용
+         */
+        void dynamic() {
+            if (fixed) {
+                line(2, "int pos = " + expr() + ";");
+                fixed = false;
+            }
+        }
+
+        String result() {
+            return fixed ? String.valueOf(constant) : "pos - offset";
+        }
+    }
+}
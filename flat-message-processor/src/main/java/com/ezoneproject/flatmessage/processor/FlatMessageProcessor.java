@@ -0,0 +1,761 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.processor;
+
+import com.ezoneproject.flatmessage.FlatCharSequence;
+import com.ezoneproject.flatmessage.FlatMessageFlyweight;
+import com.ezoneproject.flatmessage.FlatMessageGeneratedCodec;
+import com.ezoneproject.flatmessage.FlatMessageViewFactory;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.annotation.FlatMessageTable;
+import com.ezoneproject.flatmessage.annotation.FlatMessageView;
+import com.ezoneproject.flatmessage.annotation.FlatMessageViewField;
+import com.ezoneproject.flatmessage.annotation.TableType;
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 메시지 클래스별 코덱([클래스명]_FlatCodec)과 뷰 인터페이스별 뷰([인터페이스명]_FlatView)를 생성하는 어노테이션 프로세서
+ * <pre>
+ *     런타임에 AnnotationFields, FlatMessageViewFactory 가 점검하는 어노테이션 오류는 컴파일 오류로 보고한다.
+ *     private 필드에 getter/setter가 없는 등 생성된 코드에서 접근할 수 없는 클래스는 코덱을 생성하지 않으며,
+ *     런타임에 리플렉션 기반 플랜으로 처리된다.
+ * </pre>
+ */
+@SupportedAnnotationTypes({
+        "com.ezoneproject.flatmessage.annotation.FlatMessageField",
+        "com.ezoneproject.flatmessage.annotation.FlatMessageTable",
+        "com.ezoneproject.flatmessage.annotation.FlatMessageView",
+        "com.ezoneproject.flatmessage.annotation.FlatMessageViewField"
+})
+public final class FlatMessageProcessor extends AbstractProcessor {
+    private static final Set<String> NUMERIC_TYPES = new HashSet<>(Arrays.asList(
+            "int", "java.lang.Integer", "long", "java.lang.Long", "float", "java.lang.Float",
+            "double", "java.lang.Double", "java.math.BigDecimal", "java.math.BigInteger"));
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    /**
+     * 클래스별 필드 목록 (superclass 필드 목록 재사용)
+     */
+    private final Map<String, List<MessageModel.FieldModel>> fieldCache = new HashMap<>();
+    /**
+     * 클래스별 모델
+     */
+    private final Map<String, MessageModel> models = new HashMap<>();
+    /**
+     * 코덱을 생성한 클래스
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // 이번 라운드에서 컴파일하는 클래스 (중첩 클래스 포함)
+        Set<TypeElement> sourceTypes = new LinkedHashSet<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements()))
+            collectTypes(type, sourceTypes);
+
+        Set<TypeElement> messageTypes = new LinkedHashSet<>();
+        for (Element e : roundEnv.getElementsAnnotatedWith(FlatMessageField.class))
+            messageTypes.add((TypeElement) e.getEnclosingElement());
+        for (Element e : roundEnv.getElementsAnnotatedWith(FlatMessageTable.class))
+            messageTypes.add((TypeElement) e.getEnclosingElement());
+
+        for (TypeElement type : sourceTypes) {
+            if (!messageTypes.contains(type) && !hasMessageFields(type))
+                continue;
+
+            MessageModel model = model(type, new ArrayList<>());
+            if (model != null)
+                generate(model, sourceTypes);
+        }
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(FlatMessageView.class)))
+            generateView(type);
+
+        // 이 프로세서의 어노테이션이므로 다른 프로세서에 넘기지 않음
+        return true;
+    }
+
+    private static void collectTypes(TypeElement type, Set<TypeElement> result) {
+        result.add(type);
+        for (TypeElement inner : ElementFilter.typesIn(type.getEnclosedElements()))
+            collectTypes(inner, result);
+    }
+
+    /**
+     * superclass 에 어노테이션 필드가 있는 클래스
+     */
+    private boolean hasMessageFields(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS)
+            return false;
+
+        for (TypeElement t = type; t != null; t = superclass(t)) {
+            for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (field.getAnnotation(FlatMessageField.class) != null || field.getAnnotation(FlatMessageTable.class) != null)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror sup = type.getSuperclass();
+        if (sup.getKind() != TypeKind.DECLARED)
+            return null;
+        return (TypeElement) types.asElement(sup);
+    }
+
+    // ************************************************************
+    // 모델 생성 및 어노테이션 점검
+    // ************************************************************
+
+    /**
+     * 클래스 모델 생성 (어노테이션 오류가 있으면 null)
+     *
+     * @param stack 무한루프 체크를 위한 call stack
+     */
+    private MessageModel model(TypeElement type, List<String> stack) {
+        String className = type.getQualifiedName().toString();
+        if (models.containsKey(className))
+            return models.get(className);
+
+        List<MessageModel.FieldModel> fields = fields(type);
+        if (fields == null) {
+            models.put(className, null);
+            return null;
+        }
+
+        MessageModel model = new MessageModel(type);
+        model.fields.addAll(fields);
+
+        stack.add(className);
+        int offset = 0;
+        boolean valid = true;
+        for (MessageModel.FieldModel fm : model.fields) {
+            if (fm.kind == MessageModel.FieldKind.FIELD) {
+                offset = advance(offset, fm.length);
+                continue;
+            }
+
+            String childName = fm.childType.getQualifiedName().toString();
+            // 지금 호출되는 클래스가 클래스 트리에 있으면 크로스 호출이 되므로 차단
+            if (stack.contains(childName)) {
+                error(fm.element, "Cross reference detected: " + FlatStringUtil.shortClassName(childName) + "." + fm.fieldName());
+                valid = false;
+                continue;
+            }
+
+            fm.child = model(fm.childType, stack);
+            if (fm.child == null) {
+                valid = false;
+                continue;
+            }
+
+            if (fm.kind == MessageModel.FieldKind.CLASS)
+                offset = advance(offset, fm.child.fixedLength);
+            else if (fm.fixedTable && fm.child.fixedLength >= 0)
+                offset = advance(offset, fm.child.fixedLength * fm.loopCount);
+            else
+                offset = -1;
+        }
+        stack.remove(stack.size() - 1);
+
+        if (!valid) {
+            models.put(className, null);
+            return null;
+        }
+
+        model.fixedLength = offset;
+        model.skipReason = skipReason(model);
+        models.put(className, model);
+        return model;
+    }
+
+    private static int advance(int offset, int length) {
+        return (offset < 0 || length < 0) ? -1 : offset + length;
+    }
+
+    /**
+     * 클래스에서 필드 어노테이션을 목록으로 생성 (AnnotationFields.makeFlatFieldInfoList 와 같은 순서)
+     *
+     * @return 필드 목록, 어노테이션 오류가 있으면 null
+     */
+    private List<MessageModel.FieldModel> fields(TypeElement type) {
+        String className = type.getQualifiedName().toString();
+        if (fieldCache.containsKey(className))
+            return fieldCache.get(className);
+
+        List<MessageModel.FieldModel> result = new ArrayList<>();
+        boolean valid = true;
+
+        TypeElement sup = superclass(type);
+        if (sup != null) {
+            List<MessageModel.FieldModel> superFields = fields(sup);
+            if (superFields == null)
+                valid = false;
+            else
+                result.addAll(superFields);
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            MessageModel.FieldModel fm;
+            if (field.getAnnotation(FlatMessageField.class) != null)
+                fm = fieldProcess(field);
+            else if (field.getAnnotation(FlatMessageTable.class) != null)
+                fm = tableProcess(field, result);
+            else
+                continue;
+
+            if (fm == null) {
+                valid = false;
+                continue;
+            }
+
+            // public 이 아니면 getter/setter 메서드 확인
+            if (!field.getModifiers().contains(Modifier.PUBLIC))
+                findAccessors(type, fm);
+
+            result.add(fm);
+        }
+
+        // position 기준으로 정렬
+        result.sort(Comparator.comparingInt(a -> a.position));
+
+        if (!valid)
+            result = null;
+        fieldCache.put(className, result);
+        return result;
+    }
+
+    /**
+     * 필드 어노테이션 처리
+     */
+    private MessageModel.FieldModel fieldProcess(VariableElement field) {
+        FlatMessageField flatMsgField = field.getAnnotation(FlatMessageField.class);
+        String fieldType = typeName(field.asType());
+        String clsFldName = clsFldName(field);
+
+        MessageModel.FieldModel fm = new MessageModel.FieldModel(field,
+                (flatMsgField.type() == FieldDataType.CLASS) ? MessageModel.FieldKind.CLASS : MessageModel.FieldKind.FIELD);
+        fm.name = flatMsgField.value().isEmpty() ? fm.fieldName() : flatMsgField.value();
+        fm.position = flatMsgField.position();
+        fm.length = flatMsgField.length();
+        fm.scale = flatMsgField.scale();
+        fm.dataType = flatMsgField.type().name();
+
+        // length < 0인 경우는 필드 타입이 BLOCK 이어야 함
+        if (fm.length < 0 && flatMsgField.type() != FieldDataType.BLOCK)
+            return error(field, "@FlatMessageField(length < 0 allowed with type = BLOCK): " + clsFldName);
+
+        // 소수점 위치는 필드 길이보다는 작아야 함 (정수 1자리는 반드시 필요)
+        if (flatMsgField.type() == FieldDataType.NUMERIC && fm.length <= fm.scale)
+            return error(field, "@FlatMessageField(length <= scale): " + clsFldName);
+
+        switch (flatMsgField.type()) {
+            case BLOCK:
+                if (!fieldType.equals("byte[]"))
+                    return error(field, "@FlatMessageField(type = BLOCK) must byte[]: " + clsFldName);
+                break;
+            case NUMERIC:
+                if (!NUMERIC_TYPES.contains(fieldType))
+                    return error(field, "@FlatMessageField(type = NUMERIC) must number: " + clsFldName);
+                break;
+            case ALPHANUM:
+            case STRING:
+            case UTF8:
+                if (!fieldType.equals("java.lang.String"))
+                    return error(field, "@FlatMessageField(type = " + flatMsgField.type() + ") must String: " + clsFldName);
+                break;
+            case CLASS:
+                fm.childType = classValue(() -> flatMsgField.dataClass());
+                if (fm.childType == null || fm.childType.getQualifiedName().contentEquals("java.lang.Object"))
+                    return error(field, "@FlatMessageField(type = CLASS, dataClass?): " + clsFldName);
+                if (!types.isAssignable(types.erasure(fm.childType.asType()), types.erasure(field.asType())))
+                    return error(field, "@FlatMessageField(dataClass) is not assignable to field: " + clsFldName);
+                break;
+        }
+
+        return fm;
+    }
+
+    /**
+     * 테이블 어노테이션 처리
+     */
+    private MessageModel.FieldModel tableProcess(VariableElement field, List<MessageModel.FieldModel> resultFieldList) {
+        FlatMessageTable flatMsgTable = field.getAnnotation(FlatMessageTable.class);
+        String clsFldName = clsFldName(field);
+
+        MessageModel.FieldModel fm = new MessageModel.FieldModel(field, MessageModel.FieldKind.TABLE);
+        fm.name = flatMsgTable.value().isEmpty() ? fm.fieldName() : flatMsgTable.value();
+        fm.position = flatMsgTable.position();
+        fm.length = 0;
+        fm.scale = 0;
+        fm.dataType = FieldDataType.BLOCK.name();
+        fm.childType = classValue(flatMsgTable::tableClass);
+
+        // 테이블 어노테이션이 붙은 클래스는 array[] 타입이거나 List 또는 List를 상속해야 한다.
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() == TypeKind.ARRAY)
+            fm.container = MessageModel.Container.ARRAY;
+        else if (typeName(fieldType).equals("java.util.List"))
+            fm.container = MessageModel.Container.LIST;
+        else if (isInstantiableList(fieldType))
+            fm.container = MessageModel.Container.CUSTOM_LIST;
+        else
+            return error(field, "@FlatMessageTable() is not array or subclass of java.util.List: " + clsFldName);
+
+        // 항상 고정된 행 수를 가진 테이블
+        if (flatMsgTable.type() == TableType.TABLE_FIXED) {
+            fm.fixedTable = true;
+            fm.loopCount = flatMsgTable.loopCount();
+            if (fm.loopCount < 0)
+                return error(field, "@FlatMessageTable(loopCount < 0): " + clsFldName);
+        }
+        // 다른 필드에 행 수가 있는 가변형 테이블
+        else {
+            fm.fixedTable = false;
+
+            String loopFieldName = flatMsgTable.loopFieldName().trim();
+            if (loopFieldName.isEmpty())
+                return error(field, "@FlatMessageTable(loopFieldName?): " + clsFldName);
+
+            // 가변 반복 테이블은 반복 횟수를 참조할 필드가 반드시 현 테이블 이전 필드에 정의
+            for (MessageModel.FieldModel it : resultFieldList) {
+                if (it.fieldName().equals(loopFieldName)) {
+                    // 반복 횟수 필드는 숫자형 타입이어야 함
+                    if (!FieldDataType.NUMERIC.name().equals(it.dataType))
+                        return error(field, "@FlatMessageTable(loopFieldName) is not numeric: " + clsFldName);
+
+                    fm.loopField = it;
+                    break;
+                }
+            }
+            if (fm.loopField == null)
+                return error(field, "@FlatMessageTable(loopFieldName) is not defined: " + clsFldName);
+        }
+
+        if (fm.childType == null)
+            return error(field, "@FlatMessageTable(tableClass?): " + clsFldName);
+
+        // 테이블 필드 처리는 재귀 호출
+        if (fm.childType.equals(field.getEnclosingElement()))
+            return error(field, "@FlatMessageTable(tableClass=self reference deteced): " +
+                    FlatStringUtil.shortClassName(fm.childType.getQualifiedName().toString()) + "." + fm.fieldName());
+
+        // 테이블 선언하면 해당 클래스가 어노테이션을 하나 이상 포함해야 함
+        if (!hasMessageFields(fm.childType))
+            return error(field, "@FlatMessageTable(tableClass) is not flat message class: " + clsFldName);
+
+        return fm;
+    }
+
+    private boolean isInstantiableList(TypeMirror fieldType) {
+        if (fieldType.getKind() != TypeKind.DECLARED)
+            return false;
+
+        TypeElement listType = elements.getTypeElement("java.util.List");
+        if (!types.isAssignable(types.erasure(fieldType), types.erasure(listType.asType())))
+            return false;
+
+        TypeElement element = (TypeElement) ((DeclaredType) fieldType).asElement();
+        return element.getKind() == ElementKind.CLASS && !element.getModifiers().contains(Modifier.ABSTRACT)
+                && hasNoArgConstructor(element);
+    }
+
+    /**
+     * public getter/setter 메서드 검색 (superclass 포함)
+     */
+    private void findAccessors(TypeElement type, MessageModel.FieldModel fm) {
+        String methodName = fm.fieldName().substring(0, 1).toUpperCase() + fm.fieldName().substring(1);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC))
+                continue;
+
+            String name = method.getSimpleName().toString();
+            if (name.equals("get" + methodName) && method.getParameters().isEmpty()) {
+                fm.getterName = name;
+                fm.getterType = method.getReturnType();
+            }
+            else if (name.equals("set" + methodName) && method.getParameters().size() == 1 &&
+                    types.isSameType(method.getParameters().get(0).asType(), fm.fieldType()))
+                fm.setterName = name;
+        }
+    }
+
+    /**
+     * 생성된 코드에서 접근할 수 없으면 사유를 리턴
+     */
+    private String skipReason(MessageModel model) {
+        TypeElement type = model.type;
+
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT))
+            return "abstract class";
+        if (!type.getTypeParameters().isEmpty())
+            return "generic class";
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE))
+                return "private class";
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC))
+                return "inner class is not static";
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS)
+                return "local class";
+        }
+        if (!hasNoArgConstructor(type))
+            return "no-argument constructor is not exist";
+
+        String codecPackage = packageName(type);
+        for (MessageModel.FieldModel fm : model.fields) {
+            if (!canGet(fm, codecPackage) || !canSet(fm, codecPackage))
+                return "field is not accessible: " + fm.fieldName();
+
+            if (fm.child != null && fm.child.skipReason != null &&
+                    elements.getTypeElement(codecName(fm.child.type)) == null)
+                return "codec of " + fm.child.type.getSimpleName() + " is not generated";
+        }
+        return null;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 필드에 직접 접근 가능 여부 (public 또는 코덱과 같은 패키지의 private 이 아닌 필드)
+     */
+    boolean isDirect(MessageModel.FieldModel fm, String codecPackage) {
+        Set<Modifier> modifiers = fm.element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC))
+            return true;
+        return !modifiers.contains(Modifier.PRIVATE) &&
+                packageName((TypeElement) fm.element.getEnclosingElement()).equals(codecPackage);
+    }
+
+    private boolean canGet(MessageModel.FieldModel fm, String codecPackage) {
+        return fm.getterName != null || isDirect(fm, codecPackage);
+    }
+
+    private boolean canSet(MessageModel.FieldModel fm, String codecPackage) {
+        return fm.setterName != null || (isDirect(fm, codecPackage) && !fm.element.getModifiers().contains(Modifier.FINAL));
+    }
+
+    // ************************************************************
+    // 코덱 생성
+    // ************************************************************
+
+    private void generate(MessageModel model, Set<TypeElement> sourceTypes) {
+        String className = model.type.getQualifiedName().toString();
+        if (!sourceTypes.contains(model.type) || !generated.add(className))
+            return;
+
+        if (model.skipReason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "FlatMessage codec is not generated (" + model.skipReason +
+                    "): " + className, model.type);
+            return;
+        }
+
+        String codecName = codecName(model.type);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(codecName, model.type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new CodecWriter(this, model).write());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Can not write " + codecName + ": " + e.getMessage(), model.type);
+        }
+    }
+
+    /**
+     * 생성된 코덱 클래스명 (Outer.Inner -&gt; Outer_Inner_FlatCodec)
+     */
+    String codecName(TypeElement type) {
+        return generatedName(type, FlatMessageGeneratedCodec.CLASS_SUFFIX);
+    }
+
+    /**
+     * 생성된 뷰 클래스명 (Outer.Inner -&gt; Outer_Inner_FlatView)
+     */
+    String viewName(TypeElement type) {
+        return generatedName(type, FlatMessageViewFactory.CLASS_SUFFIX);
+    }
+
+    private String generatedName(TypeElement type, String suffix) {
+        String packageName = packageName(type);
+        String qualifiedName = type.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName.replace('.', '_') + suffix;
+    }
+
+    // ************************************************************
+    // 뷰 생성
+    // ************************************************************
+
+    /**
+     * 뷰 인터페이스의 getter 를 메시지 클래스 필드에 연결하고 뷰 클래스 생성
+     */
+    private void generateView(TypeElement type) {
+        String interfaceName = type.getQualifiedName().toString();
+        if (!generated.add(interfaceName))
+            return;
+
+        if (type.getKind() != ElementKind.INTERFACE) {
+            error(type, "View type is not interface: " + interfaceName);
+            return;
+        }
+
+        TypeElement messageType = classValue(() -> type.getAnnotation(FlatMessageView.class).value());
+        if (messageType == null) {
+            error(type, "@FlatMessageView(value?): " + interfaceName);
+            return;
+        }
+
+        // 메시지 클래스의 어노테이션 오류는 메시지 클래스에 보고됨
+        MessageModel model = model(messageType, new ArrayList<>());
+        if (model == null)
+            return;
+
+        List<ViewWriter.ViewGetter> getters = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.STATIC) ||
+                    ((TypeElement) method.getEnclosingElement()).getQualifiedName()
+                            .contentEquals(FlatMessageFlyweight.class.getCanonicalName()))
+                continue;
+
+            ViewWriter.ViewGetter getter = viewGetter(type, model, method);
+            if (getter == null)
+                valid = false;
+            else
+                getters.add(getter);
+        }
+        if (!valid)
+            return;
+
+        String skipReason = null;
+        if (!type.getTypeParameters().isEmpty())
+            skipReason = "generic interface";
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE))
+                skipReason = "private interface";
+        }
+        if (skipReason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "FlatMessage view is not generated (" + skipReason +
+                    "): " + interfaceName, type);
+            return;
+        }
+
+        String viewName = viewName(type);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(viewName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new ViewWriter(this, type, messageType, getters).write());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Can not write " + viewName + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * getter 메서드에 연결할 필드를 찾고 리턴 타입을 검증 (FlatMessageViewFactory.viewField 와 같은 규칙)
+     *
+     * @return getter, 오류가 있으면 null
+     */
+    private ViewWriter.ViewGetter viewGetter(TypeElement type, MessageModel model, ExecutableElement method) {
+        String methodName = FlatStringUtil.shortClassName(type.getQualifiedName().toString()) + "." + method.getSimpleName();
+        if (!method.getParameters().isEmpty()) {
+            error(method, "View method must have no parameter: " + methodName);
+            return null;
+        }
+
+        FlatMessageViewField annotation = method.getAnnotation(FlatMessageViewField.class);
+        String path = (annotation != null && !annotation.value().isEmpty()) ? annotation.value() :
+                propertyName(method.getSimpleName().toString());
+
+        // 경로를 따라 중첩 클래스의 절대 오프셋 계산 (테이블 행 안이나 가변 길이 항목 뒤는 -1)
+        MessageModel current = model;
+        MessageModel.FieldModel found = null;
+        int offset = 0;
+        String[] names = path.split("\\.", -1);
+        for (int i = 0; i < names.length; i++) {
+            found = null;
+            int fieldOffset = 0;
+            for (MessageModel.FieldModel fm : current.fields) {
+                if (fm.fieldName().equals(names[i])) {
+                    found = fm;
+                    break;
+                }
+                fieldOffset = advance(fieldOffset, fieldLength(fm));
+            }
+
+            boolean last = (i == names.length - 1);
+            if (found == null || found.kind == MessageModel.FieldKind.TABLE ||
+                    (found.kind == MessageModel.FieldKind.CLASS) == last) {
+                error(method, "View field is not defined(" + path + "): " + methodName);
+                return null;
+            }
+
+            offset = advance(offset, fieldOffset);
+            current = found.child;
+        }
+
+        if (offset < 0 || found.length < 0) {
+            error(method, "View field offset is not fixed(" + path + "): " + methodName);
+            return null;
+        }
+
+        String returnType = typeName(method.getReturnType());
+        boolean matches;
+        switch (FieldDataType.valueOf(found.dataType)) {
+            case NUMERIC:
+                matches = NUMERIC_TYPES.contains(returnType);
+                break;
+            case BLOCK:
+                matches = returnType.equals("byte[]") || returnType.equals("java.nio.ByteBuffer");
+                break;
+            default:
+                matches = returnType.equals("java.lang.String") || returnType.equals("java.lang.CharSequence") ||
+                        returnType.equals(FlatCharSequence.class.getCanonicalName());
+                break;
+        }
+        if (!matches) {
+            error(method, "View method return type does not match " + found.dataType + "(" + path + "): " + methodName);
+            return null;
+        }
+
+        return new ViewWriter.ViewGetter(method, found, offset, path);
+    }
+
+    /**
+     * 필드, 중첩 클래스, 테이블 전체 길이 (데이터에 따라 달라지면 -1)
+     */
+    private static int fieldLength(MessageModel.FieldModel fm) {
+        switch (fm.kind) {
+            case CLASS:
+                return fm.child.fixedLength;
+            case TABLE:
+                return (fm.fixedTable && fm.child.fixedLength >= 0) ? fm.child.fixedLength * fm.loopCount : -1;
+            default:
+                return fm.length;
+        }
+    }
+
+    /**
+     * getXxx, isXxx 메서드 이름의 필드명
+     */
+    private static String propertyName(String name) {
+        int prefix = (name.startsWith("get") && name.length() > 3) ? 3 :
+                (name.startsWith("is") && name.length() > 2) ? 2 : 0;
+        if (prefix == 0)
+            return name;
+
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    String packageName(TypeElement type) {
+        return elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    String typeName(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    // ************************************************************
+    // utilities
+    // ************************************************************
+
+    private interface ClassValueGetter {
+        Class<?> get();
+    }
+
+    /**
+     * 어노테이션의 Class 속성 (컴파일 시점에는 MirroredTypeException 으로 전달됨)
+     */
+    private TypeElement classValue(ClassValueGetter getter) {
+        try {
+            return elements.getTypeElement(getter.get().getCanonicalName());
+        } catch (MirroredTypeException e) {
+            TypeMirror mirror = e.getTypeMirror();
+            return (mirror.getKind() == TypeKind.DECLARED) ? (TypeElement) types.asElement(mirror) : null;
+        }
+    }
+
+    private MessageModel.FieldModel error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    private static String clsFldName(VariableElement field) {
+        return ((TypeElement) field.getEnclosingElement()).getQualifiedName() + "." + field.getSimpleName();
+    }
+}
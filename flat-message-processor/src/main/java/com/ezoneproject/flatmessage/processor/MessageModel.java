@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 빌드 시점에 읽은 메시지 클래스 구조 (런타임의 AnnotationFields 필드 목록에 해당)
+ */
+final class MessageModel {
+    /**
+     * 메시지 클래스
+     */
+    final TypeElement type;
+    /**
+     * position 기준으로 정렬한 필드 목록 (superclass 포함)
+     */
+    final List<FieldModel> fields = new ArrayList<>();
+    /**
+     * 전체 고정 길이 (데이터에 따라 길이가 달라지면 -1)
+     */
+    int fixedLength = -1;
+    /**
+     * 코덱을 생성할 수 없는 사유 (생성 가능하면 null)
+     */
+    String skipReason = null;
+
+    MessageModel(TypeElement type) {
+        this.type = type;
+    }
+
+    enum FieldKind {
+        FIELD,
+        CLASS,
+        TABLE
+    }
+
+    enum Container {
+        ARRAY,
+        LIST,
+        CUSTOM_LIST
+    }
+
+    /**
+     * 필드 정보 (런타임의 FlatFieldInfo 에 해당)
+     */
+    static final class FieldModel {
+        final VariableElement element;
+        final FieldKind kind;
+        /**
+         * 필드 설명 (미지정시 필드명)
+         */
+        String name;
+        int position;
+        int length;
+        int scale = -1;
+        /**
+         * FieldDataType 상수명
+         */
+        String dataType;
+
+        /**
+         * 고정 반복 테이블 여부
+         */
+        boolean fixedTable;
+        int loopCount;
+        FieldModel loopField;
+        Container container;
+
+        /**
+         * dataType 이 CLASS 인 경우 데이터 클래스, 테이블인 경우 테이블 클래스
+         */
+        TypeElement childType;
+        MessageModel child;
+
+        /**
+         * public getter/setter 메서드명 (없으면 null)
+         */
+        String getterName;
+        String setterName;
+        /**
+         * getter 메서드 리턴 타입 (getter 가 없으면 null)
+         */
+        TypeMirror getterType;
+
+        FieldModel(VariableElement element, FieldKind kind) {
+            this.element = element;
+            this.kind = kind;
+        }
+
+        String fieldName() {
+            return element.getSimpleName().toString();
+        }
+
+        TypeMirror fieldType() {
+            return element.asType();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.processor;
+
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import java.util.List;
+
+/**
+ * 뷰 인터페이스의 구현 클래스 소스를 생성
+ * <pre>
+ *     getter 는 레코드 시작 위치 + 상수 오프셋에서 필드를 읽으며,
+ *     int, long, float, double 리턴 타입의 NUMERIC 필드는 박싱하지 않는다.
+ *     CharSequence 리턴 타입은 getter 별 FlatCharSequence 필드를 재사용하고, ByteBuffer 리턴 타입은 필드 범위의 view 를 리턴한다.
+ * </pre>
+ */
+final class ViewWriter {
+    private static final String SUPPORT = "com.ezoneproject.flatmessage.internal.GeneratedCodecSupport";
+    private static final String DATA_TYPE = "com.ezoneproject.flatmessage.annotation.FieldDataType";
+    private static final String SEQUENCE = "com.ezoneproject.flatmessage.FlatCharSequence";
+
+    private final FlatMessageProcessor processor;
+    private final TypeElement type;
+    private final TypeElement messageType;
+    private final List<ViewGetter> getters;
+
+    private final StringBuilder sb = new StringBuilder();
+
+    ViewWriter(FlatMessageProcessor processor, TypeElement type, TypeElement messageType, List<ViewGetter> getters) {
+        this.processor = processor;
+        this.type = type;
+        this.messageType = messageType;
+        this.getters = getters;
+    }
+
+    String write() {
+        String viewName = processor.viewName(type);
+        String simpleName = viewName.substring(viewName.lastIndexOf('.') + 1);
+        String packageName = processor.packageName(type);
+        String interfaceName = type.getQualifiedName().toString();
+
+        line(0, "// Generated by com.ezoneproject.flatmessage.processor.FlatMessageProcessor. Do not edit.");
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        line(0, "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\"})");
+        line(0, "public final class " + simpleName + " implements " + interfaceName +
+                ", com.ezoneproject.flatmessage.FlatMessageFlyweight {");
+        line(1, "private final java.nio.charset.Charset charset;");
+        line(1, "private byte[] array = null;");
+        line(1, "private java.nio.ByteBuffer data = null;");
+        line(1, "private int offset = 0;");
+        for (ViewGetter getter : getters) {
+            if (isSequence(getter))
+                line(1, "private final " + SEQUENCE + " " + sequenceField(getter) + ";");
+        }
+        line(0, "");
+        line(1, "public " + simpleName + "(java.nio.charset.Charset charset) {");
+        line(2, "this.charset = charset;");
+        for (ViewGetter getter : getters) {
+            if (isSequence(getter))
+                line(2, "this." + sequenceField(getter) + " = new " + SEQUENCE + "(" + DATA_TYPE + "." +
+                        getter.field.dataType + ", charset);");
+        }
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public void wrap(byte[] data, int offset) {");
+        line(2, "if (data != array) {");
+        line(3, "this.array = data;");
+        line(3, "this.data = java.nio.ByteBuffer.wrap(data);");
+        line(2, "}");
+        line(2, "this.offset = offset;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public void wrap(java.nio.ByteBuffer data, int offset) {");
+        line(2, "this.array = null;");
+        line(2, "this.data = data;");
+        line(2, "this.offset = offset;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public int getViewOffset() {");
+        line(2, "return offset;");
+        line(1, "}");
+
+        for (ViewGetter getter : getters) {
+            line(0, "");
+            writeGetter(getter);
+        }
+
+        line(0, "");
+        line(1, "private java.nio.ByteBuffer data() {");
+        line(2, "if (data == null)");
+        line(3, "throw new IllegalStateException(" + literal("View is not wrapped: " + interfaceName) + ");");
+        line(2, "return data;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public String toString() {");
+        line(2, "return " + literal(FlatStringUtil.shortClassName(interfaceName) + "@") + " + offset;");
+        line(1, "}");
+        line(0, "}");
+
+        return sb.toString();
+    }
+
+    /**
+     * 필드를 읽는 getter (int, long, float, double 리턴 타입의 NUMERIC 필드는 박싱하지 않음)
+     */
+    private void writeGetter(ViewGetter getter) {
+        MessageModel.FieldModel fm = getter.field;
+        String returnType = processor.typeName(getter.method.getReturnType());
+        String fieldName = literal(FlatStringUtil.shortClassName(messageType.getQualifiedName().toString()) +
+                "." + getter.path);
+        String position = (getter.offset == 0) ? "offset" : "offset + " + getter.offset;
+        String args = "(data(), " + position + ", " + fm.length + ", " + fm.scale + ", " + fieldName + ")";
+
+        line(1, "@Override");
+        line(1, "public " + returnType + " " + getter.method.getSimpleName() + "() {");
+
+        if (isSequence(getter)) {
+            line(2, "return " + sequenceField(getter) + ".wrap(data(), " + position + ", " + fm.length + ");");
+            line(1, "}");
+            return;
+        }
+        if (returnType.equals("java.nio.ByteBuffer")) {
+            line(2, "return " + SUPPORT + ".slice(data(), " + position + ", " + fm.length + ");");
+            line(1, "}");
+            return;
+        }
+
+        TypeKind kind = "NUMERIC".equals(fm.dataType) ? getter.method.getReturnType().getKind() : TypeKind.NONE;
+        switch (kind) {
+            case INT:
+                line(2, "return " + SUPPORT + ".decodeInt" + args + ";");
+                break;
+            case LONG:
+                line(2, "return " + SUPPORT + ".decodeLong" + args + ";");
+                break;
+            case FLOAT:
+                line(2, "return " + SUPPORT + ".decodeFloat" + args + ";");
+                break;
+            case DOUBLE:
+                line(2, "return " + SUPPORT + ".decodeDouble" + args + ";");
+                break;
+            default:
+                line(2, "return (" + returnType + ") " + SUPPORT + ".decode(data(), " + position + ", " + fm.length +
+                        ", " + DATA_TYPE + "." + fm.dataType + ", " + fm.scale + ", " + returnType + ".class, " +
+                        fieldName + ", charset);");
+                break;
+        }
+        line(1, "}");
+    }
+
+    private boolean isSequence(ViewGetter getter) {
+        String returnType = processor.typeName(getter.method.getReturnType());
+        return returnType.equals("java.lang.CharSequence") || returnType.equals(SEQUENCE);
+    }
+
+    private static String sequenceField(ViewGetter getter) {
+        return getter.method.getSimpleName() + "Sequence";
+    }
+
+    private void line(int indent, String text) {
+        for (int i = 0; i < indent; i++)
+            sb.append("    ");
+        sb.append(text).append('\n');
+    }
+
+    /**
+     * Java 문자열 리터럴 (비ASCII 문자는 유니코드 이스케이프)
+     */
+    private static String literal(String value) {
+        StringBuilder lit = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\')
+                lit.append('\\').append(c);
+            else if (c < 0x20 || c > 0x7e)
+                lit.append(String.format("\\u%04x", (int) c));
+            else
+                lit.append(c);
+        }
+        return lit.append('"').toString();
+    }
+
+    /**
+     * getter 메서드와 연결한 필드
+     */
+    static final class ViewGetter {
+        final ExecutableElement method;
+        final MessageModel.FieldModel field;
+        /**
+         * 레코드 시작 위치 기준 오프셋
+         */
+        final int offset;
+        /**
+         * 최상위 클래스 기준 필드 경로
+         */
+        final String path;
+
+        ViewGetter(ExecutableElement method, MessageModel.FieldModel field, int offset, String path) {
+            this.method = method;
+            this.field = field;
+            this.offset = offset;
+            this.path = path;
+        }
+    }
+}
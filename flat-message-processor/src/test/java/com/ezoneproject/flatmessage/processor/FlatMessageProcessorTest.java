@@ -0,0 +1,222 @@
+package com.ezoneproject.flatmessage.processor;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 어노테이션 오류를 컴파일 오류로 보고하는지 확인
+ */
+class FlatMessageProcessorTest {
+    private static final String IMPORTS = "package test;\n" +
+            "import com.ezoneproject.flatmessage.annotation.*;\n" +
+            "import java.util.List;\n";
+
+    @Test
+    void crossReferenceTest() throws Exception {
+        Compilation result = compile(
+                source("test.TestParent", IMPORTS +
+                        "public class TestParent {\n" +
+                        "    @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                        "    public String code;\n" +
+                        "    @FlatMessageField(position = 2, length = 10, type = FieldDataType.CLASS, dataClass = TestChild.class)\n" +
+                        "    public TestChild child;\n" +
+                        "}\n"),
+                source("test.TestChild", IMPORTS +
+                        "public class TestChild {\n" +
+                        "    @FlatMessageField(position = 1, length = 2, type = FieldDataType.NUMERIC)\n" +
+                        "    public int count;\n" +
+                        "    @FlatMessageTable(position = 2, type = TableType.TABLE_VARIABLE, loopFieldName = \"count\", tableClass = TestParent.class)\n" +
+                        "    public List<TestParent> parents;\n" +
+                        "}\n"));
+
+        assertFalse(result.success);
+        assertTrue(result.hasError("Cross reference detected: "), result.toString());
+    }
+
+    @Test
+    void loopFieldTest() throws Exception {
+        // 반복횟수 필드가 없음
+        Compilation result = compile(source("test.TestMissingLoop", IMPORTS +
+                "public class TestMissingLoop {\n" +
+                "    @FlatMessageTable(position = 1, type = TableType.TABLE_VARIABLE, loopFieldName = \"count\", tableClass = TestItem.class)\n" +
+                "    public List<TestItem> items;\n" +
+                "    public static class TestItem {\n" +
+                "        @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                "        public String code;\n" +
+                "    }\n" +
+                "}\n"));
+        assertFalse(result.success);
+        assertTrue(result.hasError("@FlatMessageTable(loopFieldName) is not defined: test.TestMissingLoop.items"), result.toString());
+
+        // 반복횟수 필드가 숫자가 아님
+        result = compile(source("test.TestTextLoop", IMPORTS +
+                "public class TestTextLoop {\n" +
+                "    @FlatMessageField(position = 1, length = 2, type = FieldDataType.ALPHANUM)\n" +
+                "    public String count;\n" +
+                "    @FlatMessageTable(position = 2, type = TableType.TABLE_VARIABLE, loopFieldName = \"count\", tableClass = TestItem.class)\n" +
+                "    public TestItem[] items;\n" +
+                "    public static class TestItem {\n" +
+                "        @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                "        public String code;\n" +
+                "    }\n" +
+                "}\n"));
+        assertFalse(result.success);
+        assertTrue(result.hasError("@FlatMessageTable(loopFieldName) is not numeric: test.TestTextLoop.items"), result.toString());
+    }
+
+    @Test
+    void missingAccessorTest() throws Exception {
+        // private 필드에 getter/setter 가 없으면 오류 없이 코덱을 생성하지 않음 (런타임에 리플렉션 기반 플랜으로 처리)
+        Compilation result = compile(source("test.TestHidden", IMPORTS +
+                "public class TestHidden {\n" +
+                "    @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                "    private String code;\n" +
+                "    @FlatMessageField(position = 2, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                "    private String name;\n" +
+                "    public String getName() { return name; }\n" +
+                "    public void setName(String name) { this.name = name; }\n" +
+                "}\n"));
+
+        assertTrue(result.success, result.toString());
+        assertTrue(result.hasNote("FlatMessage codec is not generated (field is not accessible: code): test.TestHidden"),
+                result.toString());
+        assertTrue(result.generated.isEmpty(), result.generated.toString());
+
+        // getter/setter 가 있으면 생성
+        result = compile(source("test.TestAccessor", IMPORTS +
+                "public class TestAccessor {\n" +
+                "    @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                "    private String name;\n" +
+                "    public String getName() { return name; }\n" +
+                "    public void setName(String name) { this.name = name; }\n" +
+                "}\n"));
+
+        assertTrue(result.success, result.toString());
+        assertEquals(Collections.singletonList("test/TestAccessor_FlatCodec.java"), result.generated);
+    }
+
+    @Test
+    void claimedAnnotationTest() throws Exception {
+        // 프로세서가 읽는 어노테이션은 모두 처리한 것으로 표시 (-Xlint:processing 경고 없음)
+        Compilation result = compile(
+                source("test.TestCoded", IMPORTS +
+                        "public class TestCoded {\n" +
+                        "    @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)\n" +
+                        "    public String code;\n" +
+                        "}\n"),
+                source("test.TestCodedView", IMPORTS +
+                        "@FlatMessageView(TestCoded.class)\n" +
+                        "public interface TestCodedView {\n" +
+                        "    @FlatMessageViewField(\"code\")\n" +
+                        "    String getCodeText();\n" +
+                        "}\n"));
+
+        assertTrue(result.success, result.toString());
+        assertFalse(result.hasWarning("No processor claimed"), result.toString());
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * 프로세서만 실행 (-proc:only), 생성된 소스는 임시 디렉토리에 기록
+     */
+    private static Compilation compile(JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "JDK is required");
+
+        Path generatedDir = Files.createTempDirectory("flat-message-processor");
+        try {
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+                List<String> options = Arrays.asList("-proc:only", "-Xlint:processing", "-s", generatedDir.toString(),
+                        "-classpath", System.getProperty("java.class.path"));
+
+                JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options,
+                        null, Arrays.asList(sources));
+                task.setProcessors(Collections.singletonList(new FlatMessageProcessor()));
+                boolean success = task.call();
+
+                List<String> generated;
+                try (Stream<Path> files = Files.walk(generatedDir)) {
+                    generated = files.filter(Files::isRegularFile)
+                            .map(p -> generatedDir.relativize(p).toString().replace('\\', '/'))
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                return new Compilation(success, diagnostics.getDiagnostics(), generated);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(generatedDir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                    Files.delete(p);
+            }
+        }
+    }
+
+    private static final class Compilation {
+        final boolean success;
+        final List<String> errors = new ArrayList<>();
+        final List<String> warnings = new ArrayList<>();
+        final List<String> notes = new ArrayList<>();
+        final List<String> generated;
+
+        Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, List<String> generated) {
+            this.success = success;
+            this.generated = generated;
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics) {
+                if (d.getKind() == Diagnostic.Kind.ERROR)
+                    errors.add(d.getMessage(Locale.ROOT));
+                else if (d.getKind() == Diagnostic.Kind.WARNING || d.getKind() == Diagnostic.Kind.MANDATORY_WARNING)
+                    warnings.add(d.getMessage(Locale.ROOT));
+                else if (d.getKind() == Diagnostic.Kind.NOTE)
+                    notes.add(d.getMessage(Locale.ROOT));
+            }
+        }
+
+        boolean hasError(String message) {
+            return errors.stream().anyMatch(m -> m.contains(message));
+        }
+
+        boolean hasWarning(String message) {
+            return warnings.stream().anyMatch(m -> m.contains(message));
+        }
+
+        boolean hasNote(String message) {
+            return notes.stream().anyMatch(m -> m.contains(message));
+        }
+
+        @Override
+        public String toString() {
+            return "errors=" + errors + ", warnings=" + warnings + ", notes=" + notes;
+        }
+    }
+}
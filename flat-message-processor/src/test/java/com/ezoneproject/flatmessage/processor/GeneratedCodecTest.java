@@ -0,0 +1,189 @@
+package com.ezoneproject.flatmessage.processor;
+
+import com.ezoneproject.flatmessage.FlatCharSequence;
+import com.ezoneproject.flatmessage.FlatMessageDeserializer;
+import com.ezoneproject.flatmessage.FlatMessageFlyweight;
+import com.ezoneproject.flatmessage.FlatMessageGeneratedCodec;
+import com.ezoneproject.flatmessage.FlatMessageSerializer;
+import com.ezoneproject.flatmessage.FlatMessageViewFactory;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.annotation.FlatMessageTable;
+import com.ezoneproject.flatmessage.annotation.FlatMessageView;
+import com.ezoneproject.flatmessage.annotation.FlatMessageViewField;
+import com.ezoneproject.flatmessage.annotation.TableType;
+import com.ezoneproject.flatmessage.internal.FlatMessagePlan;
+import com.ezoneproject.flatmessage.internal.GeneratedCodecs;
+import com.ezoneproject.flatmessage.internal.PlanContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedCodecTest {
+    private static final Logger log = LoggerFactory.getLogger(GeneratedCodecTest.class);
+
+    @Test
+    void generatedCodecTest() {
+        assertNotNull(GeneratedCodecs.find(TestHeader.class));
+        assertNotNull(GeneratedCodecs.find(TestOrder.class));
+        assertNotNull(GeneratedCodecs.find(TestOrderItem.class));
+        // private 필드에 getter/setter가 없으면 생성하지 않음
+        assertNull(GeneratedCodecs.find(TestHiddenMessage.class));
+
+        TestOrder order = new TestOrder();
+        order.header.setCode("TX01");
+        order.header.amount = new BigDecimal("-12.5");
+        order.itemCount = 2;
+        order.items = new ArrayList<>();
+        order.items.add(new TestOrderItem("A0001", 10));
+        order.items.add(new TestOrderItem("상품B", 20));
+        order.rawData = "TAIL".getBytes();
+
+        // 리플렉션 기반 플랜과 결과가 같아야 함
+        byte[] planData = new byte[FlatMessagePlan.of(TestOrder.class).getLength(order, new PlanContext())];
+        FlatMessagePlan.of(TestOrder.class).encode(order, ByteBuffer.wrap(planData), 0, StandardCharsets.UTF_8, new PlanContext());
+
+        FlatMessageSerializer<TestOrder> serializer = new FlatMessageSerializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        byte[] serializedData = serializer.objectToBytes(order);
+        log.info("[" + new String(serializedData, StandardCharsets.UTF_8) + "]");
+
+        assertArrayEquals(planData, serializedData);
+
+        FlatMessageDeserializer<TestOrder> deserializer = new FlatMessageDeserializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        TestOrder deserialized = deserializer.bytesToObject(serializedData, 0);
+
+        assertEquals(serializedData.length, deserializer.getLength());
+        assertEquals("TX01", deserialized.header.getCode());
+        assertEquals(new BigDecimal("-12.50"), deserialized.header.amount);
+        assertEquals(2, deserialized.items.size());
+        assertEquals("상품B", deserialized.items.get(1).name);
+        assertEquals(20, deserialized.items.get(1).quantity);
+        assertEquals(5, deserialized.codes.length);
+        assertEquals("TAIL", new String(deserialized.rawData, StandardCharsets.UTF_8));
+
+        assertArrayEquals(serializedData, serializer.objectToBytes(deserialized));
+    }
+
+    @Test
+    void fixedLengthTest() {
+        FlatMessageGeneratedCodec<TestHeader> codec = GeneratedCodecs.find(TestHeader.class);
+        assertNotNull(codec);
+
+        assertEquals(16, codec.getLength(new TestHeader()));
+        assertEquals(FlatMessagePlan.of(TestHeader.class).getFixedLength(), codec.getLength(new TestHeader()));
+    }
+
+    @Test
+    void generatedViewTest() {
+        FlatMessageViewFactory<TestOrderView> factory = FlatMessageViewFactory.of(TestOrderView.class, StandardCharsets.UTF_8);
+        assertTrue(factory.isGenerated());
+
+        TestOrder order = new TestOrder();
+        order.header.setCode("TX02");
+        order.header.amount = new BigDecimal("7.25");
+        order.itemCount = 1;
+        order.items = new ArrayList<>();
+        order.items.add(new TestOrderItem("A0001", 10));
+        byte[] data = new FlatMessageSerializer<>(TestOrder.class, StandardCharsets.UTF_8).objectToBytes(order);
+
+        TestOrderView view = factory.newView();
+        assertTrue(view instanceof FlatMessageFlyweight);
+        assertThrows(IllegalStateException.class, view::getItemCount);
+
+        ((FlatMessageFlyweight) view).wrap(data, 0);
+        assertEquals("TX02", view.getCode());
+        assertEquals(new BigDecimal("7.25"), view.getAmount());
+        assertEquals(1, view.getItemCount());
+        assertEquals(1L, view.getItemCountAsLong());
+
+        CharSequence code = view.getCodeSequence();
+        assertSame(code, view.getCodeSequence());
+        assertEquals("TX02", code.toString());
+        assertTrue(((FlatCharSequence) code).contentEquals("TX02"));
+        assertEquals("TX02x1", view.getSummary());
+    }
+
+    @FlatMessageView(TestOrder.class)
+    public interface TestOrderView {
+        @FlatMessageViewField("header.code")
+        String getCode();
+
+        @FlatMessageViewField("header.amount")
+        BigDecimal getAmount();
+
+        int getItemCount();
+
+        @FlatMessageViewField("itemCount")
+        long getItemCountAsLong();
+
+        @FlatMessageViewField("header.code")
+        CharSequence getCodeSequence();
+
+        // 생성된 뷰가 상속하는 default 메서드
+        default String getSummary() {
+            return getCode() + "x" + getItemCount();
+        }
+    }
+
+    public static class TestHeader {
+        @FlatMessageField(position = 1, length = 6, type = FieldDataType.ALPHANUM)
+        private String code = null;
+
+        @FlatMessageField(position = 2, length = 10, type = FieldDataType.NUMERIC, scale = 2)
+        BigDecimal amount = BigDecimal.ZERO;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class TestOrder {
+        @FlatMessageField(position = 1, length = 0, type = FieldDataType.CLASS, dataClass = TestHeader.class)
+        public TestHeader header = new TestHeader();
+
+        @FlatMessageField(position = 2, length = 3, type = FieldDataType.NUMERIC)
+        public int itemCount = 0;
+
+        @FlatMessageTable(position = 3, type = TableType.TABLE_VARIABLE, loopFieldName = "itemCount", tableClass = TestOrderItem.class)
+        public List<TestOrderItem> items = null;
+
+        @FlatMessageTable(position = 4, type = TableType.TABLE_FIXED, loopCount = 5, tableClass = TestHeader.class)
+        public TestHeader[] codes = null;
+
+        @FlatMessageField(position = 5, length = -1, type = FieldDataType.BLOCK)
+        public byte[] rawData = null;
+    }
+
+    public static class TestOrderItem {
+        @FlatMessageField(position = 1, length = 10, type = FieldDataType.STRING)
+        public String name = null;
+
+        @FlatMessageField(position = 2, length = 4, type = FieldDataType.NUMERIC)
+        public int quantity = 0;
+
+        public TestOrderItem() {
+        }
+
+        TestOrderItem(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+
+    public static class TestHiddenMessage {
+        @FlatMessageField(position = 1, length = 4, type = FieldDataType.NUMERIC)
+        private int hidden = 0;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.internal.ByteBufferUtil;
+import com.ezoneproject.flatmessage.internal.ByteScanUtil;
+import com.ezoneproject.flatmessage.internal.CharsetUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 버퍼의 문자열 필드를 복사하지 않고 가리키는 재사용 CharSequence
+ * <pre>
+ *     wrap() 으로 필드 위치를 지정하면 오른쪽 공백(' ', ALPHANUM 이 아니면 '\0' 포함)을 제외한 범위를 가리키며,
+ *     역직렬화한 문자열(FlatStringUtil.rtrim)과 같은 내용이 된다.
+ *     ASCII 문자로만 구성된 내용은 byte 를 그대로 문자로 사용하므로 String 을 생성하지 않고,
+ *     비ASCII 문자가 있으면 처음 문자에 접근할 때 한 번 디코딩한다.
+ *     contentEquals 는 상수와 byte 단위로 비교하므로 디코딩하지 않는다.
+ *     subSequence 는 byte 단위로 처리하는 내용이면 같은 버퍼의 범위를 가리키는 FlatCharSequence 를 반환한다.
+ *     wrap() 하기 전에는 빈 문자열로 동작한다.
+ *
+ *     ALPHANUM 필드는 ASCII 가 아닌 byte 를 '?' 로 읽는다.
+ *     charset 은 ASCII 호환(UTF-8, CP949, ISO-8859-1 등)이어야 byte 단위 처리가 적용된다.
+ *     가리키는 버퍼의 내용이 바뀌면 내용도 바뀌며, 인스턴스는 여러 스레드에서 공유할 수 없다.
+ * </pre>
+ */
+public final class FlatCharSequence implements CharSequence {
+    private final boolean alphanum;
+    private final Charset charset;
+    /**
+     * charset 이 ASCII 호환이면 true
+     */
+    private final boolean asciiCompatible;
+
+    private ByteBuffer data = null;
+    private int offset = 0;
+    /**
+     * 오른쪽 공백을 제외한 byte 길이
+     */
+    private int length = 0;
+    /**
+     * 비ASCII 내용을 디코딩한 문자열 (ASCII 이면 null, 미확인이면 null)
+     */
+    private String decoded = null;
+    /**
+     * 내용이 ASCII 로만 구성되었는지 (-1 미확인, 0 아님, 1 ASCII)
+     */
+    private int ascii = -1;
+
+    /**
+     * @param dataType 필드 데이터 타입 (ALPHANUM, STRING, UTF8)
+     * @param charset  STRING 필드의 문자열 인코딩
+     */
+    public FlatCharSequence(final FieldDataType dataType, final Charset charset) {
+        this.alphanum = (dataType == FieldDataType.ALPHANUM);
+        this.charset = (dataType == FieldDataType.UTF8) ? StandardCharsets.UTF_8 : charset;
+        this.asciiCompatible = CharsetUtil.isAsciiCompatible(this.charset);
+    }
+
+    /**
+     * source 내용의 start ~ end 범위 (오른쪽 공백을 다시 제외하지 않음)
+     */
+    private FlatCharSequence(final FlatCharSequence source, final int start, final int end) {
+        this.alphanum = source.alphanum;
+        this.charset = source.charset;
+        this.asciiCompatible = source.asciiCompatible;
+        this.data = source.data;
+        this.offset = source.offset + start;
+        this.length = end - start;
+        this.ascii = source.ascii;
+    }
+
+    /**
+     * data 의 offset 위치(절대 위치)부터 length 길이의 필드를 가리키도록 변경한다.
+     *
+     * @return this
+     * @throws IndexOutOfBoundsException 필드가 data 의 limit 를 벗어남
+     */
+    public FlatCharSequence wrap(final ByteBuffer data, final int offset, final int length) {
+        if (offset < 0 || length < 0 || length > data.limit() - offset)
+            throw new IndexOutOfBoundsException("index: " + offset + ", length: " + length);
+
+        // ALPHANUM 은 '\0' 을 '?' 로 읽으므로 공백만 제외
+        int end = ByteScanUtil.trimEnd(data, offset, length, !alphanum);
+
+        this.data = data;
+        this.offset = offset;
+        this.length = end - offset;
+        this.decoded = null;
+        this.ascii = -1;
+        return this;
+    }
+
+    /**
+     * @return 가리키는 버퍼
+     */
+    public ByteBuffer getBuffer() {
+        return data;
+    }
+
+    /**
+     * @return 필드 시작 위치 (절대 위치)
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return 오른쪽 공백을 제외한 byte 길이
+     */
+    public int getByteLength() {
+        return length;
+    }
+
+    /**
+     * @return 오른쪽 공백을 제외한 범위의 view (position 0, 내용은 복사하지 않음)
+     */
+    public ByteBuffer asByteBuffer() {
+        if (data == null)
+            return ByteBuffer.allocate(0);
+        return ByteBufferUtil.slice(data, offset, length);
+    }
+
+    /**
+     * byte 단위 처리 가능 여부 (ALPHANUM 이거나 ASCII 호환 charset 의 ASCII 내용, wrap() 하기 전은 길이 0)
+     */
+    private boolean isByteChars() {
+        if (alphanum || data == null)
+            return true;
+        if (ascii < 0) {
+            ascii = (asciiCompatible && ByteScanUtil.isAscii(data, offset, length)) ? 1 : 0;
+        }
+        return ascii == 1;
+    }
+
+    private String decoded() {
+        if (decoded == null)
+            decoded = CharsetUtil.decodeTrimmed(data, offset, length, charset);
+        return decoded;
+    }
+
+    private char byteChar(final int index) {
+        byte b = data.get(offset + index);
+        // ALPHANUM 은 ASCII 문자만 허용, 비ASCII 문자는 ?으로 변환함
+        if (alphanum && b < 0x20)
+            return '?';
+        return (char) b;
+    }
+
+    @Override
+    public int length() {
+        return isByteChars() ? length : decoded().length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (!isByteChars())
+            return decoded().charAt(index);
+
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+        return byteChar(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (!isByteChars())
+            return decoded().subSequence(start, end);
+
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        return new FlatCharSequence(this, start, end);
+    }
+
+    /**
+     * 내용이 cs 와 같은지 비교 (ASCII 내용은 디코딩하지 않음)
+     */
+    public boolean contentEquals(final CharSequence cs) {
+        if (isByteChars()) {
+            if (cs.length() != length)
+                return false;
+            for (int i = 0; i < length; i++) {
+                if (byteChar(i) != cs.charAt(i))
+                    return false;
+            }
+            return true;
+        }
+
+        // 비ASCII 내용은 한 번 디코딩해서 비교
+        return decoded().contentEquals(cs);
+    }
+
+    /**
+     * 내용의 byte 가 bytes 와 같은지 비교 (오른쪽 공백을 제외한 범위)
+     */
+    public boolean contentEquals(final byte[] bytes) {
+        if (bytes.length != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (data.get(offset + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return 내용을 String 으로 변환 (역직렬화한 문자열과 같음)
+     */
+    @Override
+    public String toString() {
+        if (!isByteChars())
+            return decoded();
+
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+            chars[i] = byteChar(i);
+        return new String(chars);
+    }
+}
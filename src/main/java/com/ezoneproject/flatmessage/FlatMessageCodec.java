@@ -0,0 +1,457 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.internal.CodecMetrics;
+import com.ezoneproject.flatmessage.internal.FieldProjection;
+import com.ezoneproject.flatmessage.internal.FlatMessagePlan;
+import com.ezoneproject.flatmessage.internal.GeneratedCodecs;
+import com.ezoneproject.flatmessage.internal.PlanContext;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 상태가 없는 직렬화/역직렬화 코덱
+ * <pre>
+ *     (클래스, 캐릭터셋) 별로 한 번 생성해서 캐시하며, 여러 스레드에서 동시에 사용할 수 있다.
+ *     덤프 모드, 덤프 데이터, 절대위치 offset 은 호출할 때 FlatMessageContext 로 전달하고,
+ *     컨텍스트를 지정하지 않으면 스레드별 실행 상태를 사용한다.
+ *     역직렬화 결과는 객체와 처리한 길이를 함께 리턴한다.
+ *     FlatMessageMetrics 를 활성화하면 직렬화/역직렬화 건수, 길이, 처리 시간, 필드별 오류를 집계한다.
+ * </pre>
+ */
+public final class FlatMessageCodec<T> {
+    /**
+     * 클래스별 (캐릭터셋, 코덱) 캐시 (Class 에 보관하므로 클래스가 언로드되면 함께 해제)
+     */
+    private static final ClassValue<ConcurrentMap<Charset, FlatMessageCodec<?>>> codecCache =
+            new ClassValue<ConcurrentMap<Charset, FlatMessageCodec<?>>>() {
+                @Override
+                protected ConcurrentMap<Charset, FlatMessageCodec<?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * 컨텍스트를 지정하지 않은 호출의 스레드별 플랜 실행 상태
+     */
+    private static final ThreadLocal<PlanContext> threadContext = ThreadLocal.withInitial(PlanContext::new);
+
+    private final Class<T> jClass;
+    private final Charset charset;
+    /**
+     * 어노테이션 프로세서가 생성한 코덱 (없으면 null)
+     */
+    private final FlatMessageGeneratedCodec<T> generatedCodec;
+    /**
+     * 컴파일된 플랜 (생성된 코덱이 있으면 null, 덤프 모드에서 조회)
+     */
+    private final FlatMessagePlan plan;
+    /**
+     * 직렬화/역직렬화 메트릭 (메트릭을 활성화한 뒤 처음 호출할 때 조회)
+     */
+    private volatile CodecMetrics encodeMetrics = null;
+    private volatile CodecMetrics decodeMetrics = null;
+
+    private FlatMessageCodec(final Class<T> jClass, final Charset charset) {
+        this.jClass = jClass;
+        this.charset = charset;
+        this.generatedCodec = GeneratedCodecs.find(jClass);
+        this.plan = (generatedCodec == null) ? FlatMessagePlan.of(jClass) : null;
+    }
+
+    /**
+     * 클래스, 캐릭터셋의 코덱 (한 번 생성해서 캐시)
+     *
+     * @param jClass  메시지 클래스
+     * @param charset 문자열 인코딩
+     * @return 공유 코덱
+     * @throws AnnotationDefineException 어노테이션 정의 오류
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FlatMessageCodec<T> of(final Class<T> jClass, final Charset charset) {
+        ConcurrentMap<Charset, FlatMessageCodec<?>> charsetCodecs = codecCache.get(jClass);
+        FlatMessageCodec<?> codec = charsetCodecs.get(charset);
+        if (codec == null) {
+            codec = new FlatMessageCodec<>(jClass, charset);
+            FlatMessageCodec<?> prev = charsetCodecs.putIfAbsent(charset, codec);
+            if (prev != null)
+                codec = prev;
+        }
+        return (FlatMessageCodec<T>) codec;
+    }
+
+    /**
+     * @return 메시지 클래스
+     */
+    public Class<T> getTargetClass() {
+        return jClass;
+    }
+
+    /**
+     * @return 문자열 인코딩
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * @return 메시지 클래스의 정적 레이아웃
+     */
+    public FlatMessageLayout getLayout() {
+        return FlatMessageLayout.of(jClass);
+    }
+
+    /**
+     * 자료 길이를 리턴한다.
+     */
+    public int getLength(final T object) {
+        if (generatedCodec != null)
+            return generatedCodec.getLength(object);
+
+        return plan.getLength(object, threadContext());
+    }
+
+    /**
+     * 객체를 byte[]로 변환 (serialize)
+     */
+    public byte[] encode(final T object) {
+        return encode(object, null);
+    }
+
+    /**
+     * 객체를 byte[]로 변환 (serialize)
+     *
+     * @param context 호출 상태 (null 이면 스레드별 상태 사용)
+     */
+    public byte[] encode(final T object, final FlatMessageContext context) {
+        PlanContext ctx = planContext(context);
+        byte[] buffer = new byte[encodedLength(object, ctx)];
+        encodeObject(object, ByteBuffer.wrap(buffer), 0, ctx);
+        return buffer;
+    }
+
+    /**
+     * 객체를 dst 배열의 offset 위치부터 직렬화한다. (serialize)
+     *
+     * @return 직렬화한 길이
+     * @throws IndexOutOfBoundsException offset 이후 남은 배열 길이가 자료 길이보다 짧음
+     */
+    public int encodeTo(final T object, final byte[] dst, final int offset) {
+        return encodeTo(object, dst, offset, null);
+    }
+
+    /**
+     * 객체를 dst 배열의 offset 위치부터 직렬화한다. (serialize)
+     *
+     * @param object  직렬화할 객체
+     * @param dst     기록할 배열
+     * @param offset  시작 offset
+     * @param context 호출 상태 (null 이면 스레드별 상태 사용)
+     * @return 직렬화한 길이
+     * @throws IndexOutOfBoundsException offset 이후 남은 배열 길이가 자료 길이보다 짧음
+     */
+    public int encodeTo(final T object, final byte[] dst, final int offset, final FlatMessageContext context) {
+        PlanContext ctx = planContext(context);
+        int length = encodedLength(object, ctx);
+        if (offset < 0 || length > (dst.length - offset))
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+
+        return encodeObject(object, ByteBuffer.wrap(dst), offset, ctx);
+    }
+
+    /**
+     * 객체를 dst 버퍼의 현재 position 부터 직렬화하고, position 을 직렬화한 길이만큼 이동한다. (serialize)
+     *
+     * @return 직렬화한 길이
+     * @throws BufferOverflowException 버퍼의 남은 길이(remaining)가 자료 길이보다 짧음
+     */
+    public int encodeTo(final T object, final ByteBuffer dst) {
+        return encodeTo(object, dst, null);
+    }
+
+    /**
+     * 객체를 dst 버퍼의 현재 position 부터 직렬화하고, position 을 직렬화한 길이만큼 이동한다. (serialize)
+     * heap, direct buffer 모두 사용할 수 있다.
+     *
+     * @param object  직렬화할 객체
+     * @param dst     기록할 버퍼
+     * @param context 호출 상태 (null 이면 스레드별 상태 사용)
+     * @return 직렬화한 길이
+     * @throws BufferOverflowException 버퍼의 남은 길이(remaining)가 자료 길이보다 짧음
+     */
+    public int encodeTo(final T object, final ByteBuffer dst, final FlatMessageContext context) {
+        PlanContext ctx = planContext(context);
+        int length = encodedLength(object, ctx);
+        if (length > dst.remaining())
+            throw new BufferOverflowException();
+
+        int position = dst.position();
+        int written = encodeObject(object, dst, position, ctx);
+        dst.position(position + written);
+        return written;
+    }
+
+    /**
+     * bytes[]를 객체로 역직렬화한다.
+     *
+     * @return 데이터가 입력된 객체와 처리한 길이
+     */
+    public Result<T> decode(final byte[] data, final int offset) {
+        return decode(data, offset, data.length - offset);
+    }
+
+    /**
+     * bytes[]를 객체로 역직렬화한다.
+     *
+     * @param limit 최대 bytes, 최대 bytes를 초과하면 DataTooShortException 발생
+     * @return 데이터가 입력된 객체와 처리한 길이
+     */
+    public Result<T> decode(final byte[] data, final int offset, final int limit) {
+        return decode(ByteBuffer.wrap(data), offset, limit, null);
+    }
+
+    /**
+     * ByteBuffer의 offset 위치(절대 위치)부터 객체로 역직렬화한다.
+     *
+     * @return 데이터가 입력된 객체와 처리한 길이
+     */
+    public Result<T> decode(final ByteBuffer data, final int offset, final int limit) {
+        return decode(data, offset, limit, null);
+    }
+
+    /**
+     * ByteBuffer의 offset 위치(절대 위치)부터 객체로 역직렬화한다.
+     * buffer의 position, limit 는 변경하지 않는다.
+     *
+     * @param data    데이터
+     * @param offset  시작 offset (절대 위치)
+     * @param limit   최대 bytes, 최대 bytes를 초과하면 DataTooShortException 발생
+     * @param context 호출 상태 (null 이면 스레드별 상태 사용)
+     * @return 데이터가 입력된 객체와 처리한 길이
+     * @throws InstanceCreateException  클래스 생성 실패
+     * @throws DataTooShortException    데이터 길이가 짧음
+     * @throws FieldDataAccessException 필드 데이터 접근 오류
+     * @throws DataConversionException  데이터 컨버전 오류
+     */
+    public Result<T> decode(final ByteBuffer data, final int offset, final int limit, final FlatMessageContext context) {
+        PlanContext ctx = planContext(context);
+        T object = decodeObject(data, offset, limit, ctx);
+        return new Result<>(object, ctx.length);
+    }
+
+    /**
+     * ByteBuffer의 현재 position 부터 객체로 역직렬화하고, position 을 처리한 길이만큼 이동한다.
+     *
+     * @return 데이터가 입력된 객체
+     */
+    public T decodeFrom(final ByteBuffer data) {
+        return decodeFrom(data, null);
+    }
+
+    /**
+     * ByteBuffer의 현재 position 부터 객체로 역직렬화하고, position 을 처리한 길이만큼 이동한다.
+     *
+     * @param data    데이터 (position 부터 limit 까지 사용)
+     * @param context 호출 상태 (null 이면 스레드별 상태 사용)
+     * @return 데이터가 입력된 객체
+     */
+    public T decodeFrom(final ByteBuffer data, final FlatMessageContext context) {
+        PlanContext ctx = planContext(context);
+        int position = data.position();
+        T object = decodeObject(data, position, data.limit() - position, ctx);
+        data.position(position + ctx.length);
+        return object;
+    }
+
+    /**
+     * 직렬화할 자료 길이, 직렬화 메트릭은 길이 계산부터 encodeObject 까지 집계한다.
+     */
+    int encodedLength(final T object, final PlanContext ctx) {
+        if (!FlatMessageMetrics.isEnabled()) {
+            ctx.encodeStart = 0;
+            return lengthDirect(object, ctx);
+        }
+
+        CodecMetrics metrics = encodeMetrics();
+        ctx.errorField = null;
+        ctx.encodeStart = System.nanoTime();
+        try {
+            return lengthDirect(object, ctx);
+        } catch (RuntimeException e) {
+            metrics.failed(e, ctx.errorField);
+            ctx.errorField = null;
+            throw e;
+        }
+    }
+
+    private int lengthDirect(final T object, final PlanContext ctx) {
+        if (generatedCodec != null)
+            return generatedCodec.getLength(object);
+
+        return plan.getLength(object, ctx);
+    }
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 직렬화, 길이는 호출하는 쪽에서 encodedLength 로 확인해야 한다.
+     */
+    int encodeObject(final T object, final ByteBuffer buffer, final int offset, final PlanContext ctx) {
+        if (!FlatMessageMetrics.isEnabled())
+            return encodeDirect(object, buffer, offset, ctx);
+
+        CodecMetrics metrics = encodeMetrics();
+        ctx.errorField = null;
+        // encodedLength 를 메트릭 비활성화 상태에서 호출했으면 직렬화부터 집계
+        long start = (ctx.encodeStart != 0) ? ctx.encodeStart : System.nanoTime();
+        ctx.encodeStart = 0;
+        try {
+            int written = encodeDirect(object, buffer, offset, ctx);
+            metrics.record(written, System.nanoTime() - start);
+            return written;
+        } catch (RuntimeException e) {
+            metrics.failed(e, ctx.errorField);
+            ctx.errorField = null;
+            throw e;
+        }
+    }
+
+    private CodecMetrics encodeMetrics() {
+        CodecMetrics metrics = encodeMetrics;
+        if (metrics == null)
+            encodeMetrics = metrics = CodecMetrics.of(jClass, FlatMessageMetrics.Direction.ENCODE);
+        return metrics;
+    }
+
+    private int encodeDirect(final T object, final ByteBuffer buffer, final int offset, final PlanContext ctx) {
+        // 덤프 모드는 생성된 코덱을 사용하지 않음
+        if (generatedCodec != null && !ctx.isDumping()) {
+            ctx.fieldsDump.clear();
+            int written = generatedCodec.encode(object, buffer, offset, charset);
+            ctx.absoluteOffset += written;
+            return written;
+        }
+
+        return plan().encode(object, buffer, offset, charset, ctx);
+    }
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 역직렬화, 처리한 길이는 ctx.length
+     */
+    T decodeObject(final ByteBuffer data, final int offset, final int limit, final PlanContext ctx) {
+        if (!FlatMessageMetrics.isEnabled())
+            return decodeDirect(data, offset, limit, ctx);
+
+        CodecMetrics metrics = decodeMetrics;
+        if (metrics == null)
+            decodeMetrics = metrics = CodecMetrics.of(jClass, FlatMessageMetrics.Direction.DECODE);
+
+        ctx.errorField = null;
+        long start = System.nanoTime();
+        try {
+            T object = decodeDirect(data, offset, limit, ctx);
+            metrics.record(ctx.length, System.nanoTime() - start);
+            return object;
+        } catch (RuntimeException e) {
+            metrics.failed(e, ctx.errorField);
+            ctx.errorField = null;
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decodeDirect(final ByteBuffer data, final int offset, final int limit, final PlanContext ctx) {
+        // 덤프 모드, 필드 선택은 생성된 코덱을 사용하지 않음
+        if (generatedCodec != null && !ctx.isDumping() && ctx.projection == null) {
+            ctx.fieldsDump.clear();
+            ctx.length = 0;
+
+            T object = generatedCodec.newInstance();
+            ctx.length = generatedCodec.decode(data, offset, limit, charset, object);
+            return object;
+        }
+
+        return (T) plan().decode(data, offset, limit, charset, ctx);
+    }
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 시작하는 레코드의 길이 (반복횟수 필드만 읽음)
+     *
+     * @param context 반복횟수 값을 보관할 컨텍스트 (호출간 재사용, null 이면 스레드별 컨텍스트)
+     * @return 레코드 길이, 반복횟수 필드가 available 밖에 있으면 -(계속 계산하는데 필요한 최소 길이)
+     */
+    int measure(final ByteBuffer data, final int offset, final int available, final FlatMessageContext context) {
+        return plan().measure(data, offset, available, planContext(context));
+    }
+
+    /**
+     * 역직렬화할 필드 선택 생성 (null 이거나 비어 있으면 모든 필드)
+     */
+    FieldProjection projection(final Collection<String> fieldPaths) {
+        if (fieldPaths == null || fieldPaths.isEmpty())
+            return null;
+        return plan().projection(fieldPaths);
+    }
+
+    private FlatMessagePlan plan() {
+        return (plan != null) ? plan : FlatMessagePlan.of(jClass);
+    }
+
+    private static PlanContext planContext(final FlatMessageContext context) {
+        return (context != null) ? context.planContext : threadContext();
+    }
+
+    /**
+     * 스레드별 플랜 실행 상태 (getter/setter 에서 다시 호출해서 사용중이면 새로 생성)
+     */
+    private static PlanContext threadContext() {
+        PlanContext ctx = threadContext.get();
+        return ctx.isInUse() ? new PlanContext() : ctx;
+    }
+
+    /**
+     * 역직렬화 결과
+     */
+    public static final class Result<T> {
+        private final T object;
+        private final int length;
+
+        Result(final T object, final int length) {
+            this.object = object;
+            this.length = length;
+        }
+
+        /**
+         * @return 데이터가 입력된 객체
+         */
+        public T getObject() {
+            return object;
+        }
+
+        /**
+         * @return 처리한 길이
+         */
+        public int getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.debug.FlatMessageDump;
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpListener;
+import com.ezoneproject.flatmessage.internal.PlanContext;
+
+import java.util.List;
+
+/**
+ * FlatMessageCodec 호출 상태 (덤프 모드, 덤프 데이터 목록, 절대위치 offset, 역직렬화 처리 길이)
+ * <pre>
+ *     FlatMessageCodec 은 상태가 없으므로 여러 스레드에서 공유하고, 호출별 상태는 컨텍스트에 보관한다.
+ *     하나의 컨텍스트는 동시에 하나의 호출에서만 사용할 수 있으며, 같은 스레드에서는 재사용할 수 있다.
+ * </pre>
+ */
+public final class FlatMessageContext {
+    /**
+     * 플랜 실행 상태
+     */
+    final PlanContext planContext = new PlanContext();
+
+    public FlatMessageContext() {
+    }
+
+    /**
+     * @param dumpMode 데이터 덤프(디버깅용) 셋팅여부
+     */
+    public FlatMessageContext(final boolean dumpMode) {
+        planContext.dumpMode = dumpMode;
+    }
+
+    public boolean isDumpMode() {
+        return planContext.dumpMode;
+    }
+
+    /**
+     * @param dumpMode 데이터 덤프(디버깅용) 셋팅여부, 호출 전에 셋팅해야 한다
+     */
+    public void setDumpMode(final boolean dumpMode) {
+        planContext.dumpMode = dumpMode;
+    }
+
+    public FlatMessageDumpListener getDumpListener() {
+        return planContext.dumpListener;
+    }
+
+    /**
+     * @param dumpListener 필드를 처리할 때마다 호출할 덤프 리스너 (지정하면 덤프 목록은 기록하지 않음, null 이면 해제)
+     */
+    public void setDumpListener(final FlatMessageDumpListener dumpListener) {
+        planContext.dumpListener = dumpListener;
+    }
+
+    /**
+     * @return dumpMode가 활성화되어 있으면 마지막 호출에 대한 필드 덤프 목록
+     */
+    public List<FlatMessageDump> getFieldsDump() {
+        return planContext.fieldsDump;
+    }
+
+    /**
+     * @return 최종 절대위치 offset (직렬화한 길이만큼 증가)
+     */
+    public int getAbsoluteOffset() {
+        return planContext.absoluteOffset;
+    }
+
+    /**
+     * @param absoluteOffset 직렬화 필드 덤프시 사용할 절대위치
+     */
+    public void setAbsoluteOffset(final int absoluteOffset) {
+        planContext.absoluteOffset = absoluteOffset;
+    }
+
+    /**
+     * @return 마지막 역직렬화에서 처리한 길이
+     */
+    public int getLength() {
+        return planContext.length;
+    }
+}
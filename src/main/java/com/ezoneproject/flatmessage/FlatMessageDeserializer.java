@@ -16,55 +16,52 @@
 
 package com.ezoneproject.flatmessage;
 
-import com.ezoneproject.flatmessage.annotation.FieldDataType;
 import com.ezoneproject.flatmessage.debug.FlatMessageDump;
-import com.ezoneproject.flatmessage.debug.FlatStringUtil;
-import com.ezoneproject.flatmessage.internal.AnnotationFields;
-import com.ezoneproject.flatmessage.internal.ConversionUtil;
-import com.ezoneproject.flatmessage.internal.FlatFieldInfo;
-import com.ezoneproject.flatmessage.internal.ReflectionAccess;
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpListener;
+import com.ezoneproject.flatmessage.internal.ParallelBatch;
+import com.ezoneproject.flatmessage.internal.PlanContext;
 
-import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * byte[]를 메시지 객체로 변환한다.
+ * byte[] 또는 ByteBuffer를 메시지 객체로 변환한다.
  * <pre>
  *     Class는 인자가 없는 빈 생성자가 있어야 한다.
  *     Class의 데이터 필드에 어노테이션이 선언되어야 한다. (메서드에 선언하면 안 됨)
- *     데이터 필드가 public이 아니면 getter/setter가 선언되어야 한다.
+ *     데이터 필드가 public이 아니면 getter/setter를 사용하고, getter/setter가 없으면 필드에 직접 접근한다.
  *
  *     bytes 배열은 클래스의 데이터 필드 크기보다 같거나 커야 한다.
  *     bytes 배열이 클래스의 데이터 필드 크기보다 작으면 DataTooShortException이 발생한다.
  *     이것은 의도된 동작으로 부족한 데이터는 포맷 오류로 보기 때문이다.
  *     연속된 데이터를 처리하기 위해 데이터가 클래스의 필드 크기보다 더 큰 경우는 허용된다.
+ *
+ *     setProjection 으로 필드를 선택하면 선택하지 않은 필드는 변환하지 않고 건너뛴다. (객체의 필드는 초기값 유지)
+ *
+ *     처리 길이와 덤프 정보를 인스턴스에 보관하므로 하나의 인스턴스를 여러 스레드에서 공유할 수 없다.
+ *     여러 스레드에서 공유하려면 FlatMessageCodec 을 사용한다.
  * </pre>
  */
 public final class FlatMessageDeserializer<T> {
     //private final Logger log = LoggerFactory.getLogger(FlatMessageDeserializer.class);
 
-    private final Class<?> jClass;
-    private final Charset charset;
-    private final List<FlatFieldInfo> fieldsList;
-
-    private int length = 0;
+    // 공유 코덱
+    private final FlatMessageCodec<T> codec;
 
     // ************************************************************
     // 내부에서 특정 logger를 사용하지 않기 때문에 디버깅 정보를 별도로 보관한다.
     // ************************************************************
 
-    // 덤프(디버깅) 모드
-    private boolean dumpMode = false;
-    // 덤프(디버깅) 데이터 목록
-    private final List<FlatMessageDump> fieldsDump = new ArrayList<>();
-    // 덤프(디버깅) 테이블 레벨
-    protected int tableLevel = 0;
-    // 덤프(디버깅) 테이블명 (테이블 레벨 > 0)
-    protected String tableName = "";
-    // 덤프(디버깅) 테이블 행번호 (테이블 레벨 > 0)
-    protected int tableRow = 0;
+    // 호출 상태 (덤프 모드, 덤프 데이터 목록, 처리 길이)
+    private final FlatMessageContext context = new FlatMessageContext();
+
+    // 일괄 처리(decodeAll)에 사용할 pool
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
 
     /**
      * 역직렬화 클래스 생성
@@ -72,10 +69,9 @@ public final class FlatMessageDeserializer<T> {
      * @param jClass  역직렬화 대상 class
      * @param charset 기본 캐릭터셋
      */
+    @SuppressWarnings("unchecked")
     public FlatMessageDeserializer(final Class<?> jClass, final Charset charset) {
-        this.jClass = jClass;
-        this.charset = charset;
-        fieldsList = AnnotationFields.getInstance().getFlatFieldInfoList(jClass);
+        codec = FlatMessageCodec.of((Class<T>) jClass, charset);
     }
 
     /**
@@ -86,17 +82,42 @@ public final class FlatMessageDeserializer<T> {
      * @param dumpMode 디버깅 모드
      */
     public FlatMessageDeserializer(final Class<?> jClass, final Charset charset, final boolean dumpMode) {
-        this.jClass = jClass;
-        this.charset = charset;
-        fieldsList = AnnotationFields.getInstance().getFlatFieldInfoList(jClass);
-        this.dumpMode = dumpMode;
+        this(jClass, charset);
+        context.setDumpMode(dumpMode);
+    }
+
+    /**
+     * 역직렬화할 필드를 선택한다.
+     * <pre>
+     *     필드 경로는 FlatMessageLayout 의 경로 형식(예: header.code, items[].amount)이며,
+     *     중첩 클래스나 테이블을 지정하면 하위 필드 전체를 처리한다.
+     *     가변 테이블의 반복횟수 필드는 위치 계산에 필요하므로 항상 처리한다.
+     *     선택하지 않은 필드는 길이만큼 건너뛰고 객체에 입력하지 않으므로 초기값을 유지한다.
+     * </pre>
+     *
+     * @param fieldPaths 필드 경로, 지정하지 않으면 모든 필드 처리
+     * @throws IllegalArgumentException 정의되지 않은 필드 경로
+     */
+    public void setProjection(final String... fieldPaths) {
+        setProjection(Arrays.asList(fieldPaths));
+    }
+
+    /**
+     * 역직렬화할 필드를 선택한다.
+     *
+     * @param fieldPaths 필드 경로, null 이거나 비어 있으면 모든 필드 처리
+     * @throws IllegalArgumentException 정의되지 않은 필드 경로
+     * @see #setProjection(String...)
+     */
+    public void setProjection(final Collection<String> fieldPaths) {
+        context.planContext.projection = codec.projection(fieldPaths);
     }
 
     /**
      * @return bytesToObject 수행 후 처리한 길이 (반드시 bytesToObject 수행 후 호출)
      */
     public int getLength() {
-        return length;
+        return context.getLength();
     }
 
     /**
@@ -122,200 +143,141 @@ public final class FlatMessageDeserializer<T> {
      * @throws FieldDataAccessException 필드 데이터 접근 오류 (필드에 억세스할 수 없거나 적절한 파라마터를 가지는 getter/setter가 없음)
      * @throws DataConversionException  데이터 컨버전 오류
      */
-    @SuppressWarnings("unchecked")
     public T bytesToObject(final byte[] data, final int offset, final int limit) {
-        length = 0;
-        fieldsDump.clear();
-        int currentOffset = offset;
-
-        // limit가 data의 길이보다 크면 오류
-        if (limit < 0 || limit > (data.length - currentOffset))
-            throw new DataTooShortException("limit: " + limit);
-
-        final T object;
-        try {
-            object = (T) jClass.newInstance();
-        } catch (Exception e) {
-            // Bean 클래스는 인자가 없는 빈 public 생성자가 있어야 한다.
-            throw new InstanceCreateException(jClass.getCanonicalName(), e);
-        }
-
-        // 각 필드별 처리
-        for (FlatFieldInfo it : fieldsList) {
-            final String clsName = FlatStringUtil.shortClassName(it.field.getDeclaringClass().getCanonicalName() + "." + it.name);
-            final Object targetData;
-
-            if (it.itemType == FlatFieldInfo.FieldTableType.FIELD) {
-                // inner class 처리
-                if (it.dataType == FieldDataType.CLASS) {
-                    FlatMessageDeserializer<?> subClass = new FlatMessageDeserializer<>(it.dataClass, charset);
-
-                    // 덤프(디버깅) 모드 셋팅
-                    subClass.dumpMode = dumpMode;
-                    subClass.tableLevel = tableLevel + 1;
-                    subClass.tableName = it.dataClass.getSimpleName();
-
-                    Object subObject = subClass.bytesToObject(data, currentOffset, limit - length);
-
-                    currentOffset += subClass.getLength();
-                    length += subClass.getLength();
-                    if (length > limit)
-                        throw new DataTooShortException(it.name + " (" + (length - limit) + " bytes short)");
-
-                    ReflectionAccess.setField(it, object, subObject);
-
-                    // 디버깅 데이터 처리
-                    if (dumpMode) {
-                        fieldsDump.addAll(subClass.getFieldsDump());
-                    }
-                    continue;
-                }
-
-                int itemLength = it.length;
-                // item length가 미지정(-1)인 경우 limit만큼 끝까지 처리
-                // 미지정 필드는 필드 목록의 마지막에 있어야 하며, 이후 필드가 존재하면 데이터 길이 부족으로 오류가 발생하므로 유의
-                if (itemLength < 0) {
-                    // length가 더 커서 오버런인 경우
-                    if (limit < length)
-                        throw new DataTooShortException(it.name + " (" + (length - limit) + " bytes short)");
-
-                    itemLength = limit - length;
-                }
-
-                byte[] fieldData = new byte[itemLength];
-                // 필드 길이보다 데이터 길이가 짧으면 오류
-                // 오류는 의도한 동작이므로 라이브러리 수정 금지
-                try {
-                    System.arraycopy(data, currentOffset, fieldData, 0, fieldData.length);
-                } catch (ArrayIndexOutOfBoundsException ae) {
-                    // 필요한 데이터 bytes: itemLength, 남은 데이터 bytes: (data.length - offset)
-                    throw new DataTooShortException(it.name + " (" + (fieldData.length - (data.length - currentOffset)) + " bytes short)", ae);
-                }
-
-                targetData = ConversionUtil.toObject(fieldData, it, charset);
-
-                // 디버깅 데이터 생성
-                if (dumpMode) {
-                    String dumpData;
-                    if (it.dataType == FieldDataType.BLOCK)
-                        dumpData = new String(fieldData, charset);
-                    else if (targetData instanceof String)
-                        dumpData = (String) targetData;
-                    else
-                        dumpData = targetData.toString();
-
-                    fieldsDump.add(new FlatMessageDump(it.field.getName(), it.name, length, currentOffset,
-                            itemLength, dumpData, tableLevel, tableName, tableRow));
-                }
-
-                currentOffset += itemLength;
-                length += itemLength;
-
-            } else if (it.itemType == FlatFieldInfo.FieldTableType.TABLE_FIXED ||
-                    it.itemType == FlatFieldInfo.FieldTableType.TABLE_VARIABLE) {
-                int loopCount = ReflectionAccess.getTableLoopCount(it, object, jClass);
-
-                try {
-                    // 반복횟수만큼 생성
-                    FlatMessageDeserializer<?> tableProcess = new FlatMessageDeserializer<>(it.tableClass, charset);
-
-                    // 덤프(디버깅) 모드 셋팅
-                    tableProcess.dumpMode = dumpMode;
-                    tableProcess.tableLevel = tableLevel + 1;
-                    tableProcess.tableName = it.tableClass.getSimpleName();
-
-                    // array[] 인 경우
-                    if (it.field.getType().isArray()) {
-                        // array 생성
-                        Object[] objArray = (Object[]) Array.newInstance(it.tableClass, loopCount);
-
-                        for (int i = 0; i < loopCount; i++) {
-                            tableProcess.tableRow++;
-                            objArray[i] = it.tableClass.cast(tableProcess.bytesToObject(data, currentOffset, limit - length));
-
-                            currentOffset += tableProcess.getLength();
-                            length += tableProcess.getLength();
-
-                            // 디버깅데이터
-                            if (dumpMode) {
-                                fieldsDump.addAll(tableProcess.getFieldsDump());
-                            }
-                        }
-                        targetData = Array.newInstance(it.tableClass, 0).getClass().cast(objArray);
-                    }
-                    // List object인 경우
-                    else {
-                        List<Object> oList;
-
-                        // List 인터페이스로 선언된 경우 ArrayList를 생성해서 처리
-                        if (it.field.getType() == List.class) {
-                            oList = new ArrayList<>();
-                            for (int i = 0; i < loopCount; i++) {
-                                tableProcess.tableRow++;
-                                oList.add(it.tableClass.cast(tableProcess.bytesToObject(data, currentOffset, limit - length)));
-
-                                currentOffset += tableProcess.getLength();
-                                length += tableProcess.getLength();
-
-                                // 디버깅데이터
-                                if (dumpMode) {
-                                    fieldsDump.addAll(tableProcess.getFieldsDump());
-                                }
-                            }
-                        }
-                        // List 상속한 클래스인 경우 해당 클래스로 생성
-                        else {
-                            // list.class 상속하지 않았으면 여기서 ClassCastException 발생함
-                            oList = (List<Object>) it.field.getType().newInstance();
-                            for (int i = 0; i < loopCount; i++) {
-                                tableProcess.tableRow++;
-                                oList.add(tableProcess.bytesToObject(data, currentOffset, limit - length));
+        return bytesToObject(ByteBuffer.wrap(data), offset, limit);
+    }
 
-                                currentOffset += tableProcess.getLength();
-                                length += tableProcess.getLength();
+    /**
+     * ByteBuffer의 현재 position 부터 객체로 역직렬화하고, position 을 처리한 길이만큼 이동한다.
+     *
+     * @param data 데이터 (position 부터 limit 까지 사용)
+     * @return 데이터가 입력된 Object
+     * @see #bytesToObject(ByteBuffer, int, int)
+     */
+    public T bytesToObject(final ByteBuffer data) {
+        return codec.decodeFrom(data, context);
+    }
 
-                                // 디버깅데이터
-                                if (dumpMode) {
-                                    fieldsDump.addAll(tableProcess.getFieldsDump());
-                                }
-                            }
-                        }
+    /**
+     * ByteBuffer를 객체로 역직렬화한다.
+     * <pre>
+     *     heap, direct, memory-mapped buffer 모두 사용할 수 있으며, 필드 데이터를 복사하지 않고 buffer에서 직접 읽는다.
+     *     offset 은 buffer의 position 과 관계없는 절대 위치이며, buffer의 position, limit 는 변경하지 않는다.
+     * </pre>
+     *
+     * @param data   데이터
+     * @param offset 시작 offset (절대 위치)
+     * @param limit  최대 bytes, 최대 bytes를 초과하면 DataTooShortException 발생
+     * @return 데이터가 입력된 Object
+     * @throws InstanceCreateException  클래스 생성 실패
+     * @throws DataTooShortException    데이터 길이가 짧음
+     * @throws FieldDataAccessException 필드 데이터 접근 오류 (필드에 억세스할 수 없거나 적절한 파라마터를 가지는 getter/setter가 없음)
+     * @throws DataConversionException  데이터 컨버전 오류
+     */
+    public T bytesToObject(final ByteBuffer data, final int offset, final int limit) {
+        return codec.decodeObject(data, offset, limit, context.planContext);
+    }
 
-                        targetData = oList;
-                    }
+    /**
+     * data 의 처음부터 연속된 count 건의 레코드를 역직렬화한다.
+     * <pre>
+     *     레이아웃의 길이가 고정이면 레코드 위치를 미리 계산해서 pool 에서 병렬로 처리하고,
+     *     가변 길이이면 앞 레코드를 처리해야 다음 레코드 위치를 알 수 있으므로 순서대로 처리한다.
+     *     덤프 모드는 적용하지 않으며, 처리한 전체 길이는 getLength()로 조회한다.
+     * </pre>
+     *
+     * @param data  데이터
+     * @param count 레코드 건수
+     * @return 데이터 순서대로 역직렬화한 객체 목록
+     * @throws DataTooShortException 데이터 길이가 짧음
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> decodeAll(final byte[] data, final int count) {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final int recordLength = codec.getLayout().getFixedLength();
+
+        if (recordLength < 0) {
+            PlanContext ctx = batchContext();
+            List<T> result = new ArrayList<>(count);
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                result.add(codec.decodeObject(buffer, offset, data.length - offset, ctx));
+                offset += ctx.length;
+            }
+            context.planContext.length = offset;
+            return result;
+        }
 
-                } catch (Exception e) {
-                    throw new DataConversionException(FlatStringUtil.shortClassName(jClass.getCanonicalName()) +
-                            "." + it.field.getName() + ": " + e.getMessage(), e);
-                }
+        if ((long) recordLength * count > data.length)
+            throw new DataTooShortException("record " + count + " x " + recordLength + " (" +
+                    ((long) recordLength * count - data.length) + " bytes short)");
+
+        final Object[] result = new Object[count];
+        ParallelBatch.forEachRange(pool, count, (from, to) -> {
+            PlanContext ctx = batchContext();
+            for (int i = from; i < to; i++)
+                result[i] = codec.decodeObject(buffer, i * recordLength, recordLength, ctx);
+        });
+        context.planContext.length = recordLength * count;
+        return (List<T>) Arrays.asList(result);
+    }
 
-            } else {
-                throw new AnnotationDefineException("@FlatMessageTable(type = undefined): " +
-                        FlatStringUtil.shortClassName(jClass.getCanonicalName()) + "." + it.field.getName());
+    /**
+     * 레코드별 byte[] 를 pool 에서 병렬로 역직렬화한다. (덤프 모드는 적용하지 않음)
+     *
+     * @param records 레코드 목록 (각 배열의 처음부터 한 건)
+     * @return 입력 순서대로 역직렬화한 객체 목록
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> decodeAll(final List<byte[]> records) {
+        final Object[] result = new Object[records.size()];
+        ParallelBatch.forEachRange(pool, result.length, (from, to) -> {
+            PlanContext ctx = batchContext();
+            for (int i = from; i < to; i++) {
+                byte[] record = records.get(i);
+                result[i] = codec.decodeObject(ByteBuffer.wrap(record), 0, record.length, ctx);
             }
+        });
+        return (List<T>) Arrays.asList(result);
+    }
 
-            if (length > limit)
-                throw new DataTooShortException(it.name + " (" + (length - limit) + " bytes short)");
-
-            // set data
-            ReflectionAccess.setField(it, object, targetData);
-        }
+    /**
+     * 일괄 처리 범위별 실행 상태 (필드 선택만 적용하고 덤프 모드는 적용하지 않음)
+     */
+    private PlanContext batchContext() {
+        PlanContext ctx = new PlanContext();
+        ctx.projection = context.planContext.projection;
+        return ctx;
+    }
 
-        return object;
+    /**
+     * @param pool 일괄 처리(decodeAll)에 사용할 ForkJoinPool (기본 commonPool)
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
      * @param dumpMode 데이터 덤프(디버깅용) 셋팅여부, bytesToObject 호출 전에 셋팅해야 한다
      */
     public void setDumpMode(boolean dumpMode) {
-        this.dumpMode = dumpMode;
+        context.setDumpMode(dumpMode);
+    }
+
+    /**
+     * 필드를 처리할 때마다 리스너를 호출한다. 리스너를 지정하면 덤프 목록은 기록하지 않으며, 일괄 처리에는 적용하지 않는다.
+     *
+     * @param dumpListener 덤프 리스너 (null 이면 해제), bytesToObject 호출 전에 셋팅해야 한다
+     */
+    public void setDumpListener(FlatMessageDumpListener dumpListener) {
+        context.setDumpListener(dumpListener);
     }
 
     /**
      * @return dumpMode가 활성화되어 있으면 마지막 bytesToObject에 대한 필드 덤프 목록
      */
     public List<FlatMessageDump> getFieldsDump() {
-        return fieldsDump;
+        return context.getFieldsDump();
     }
 
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 고정 길이 레코드 파일을 메모리 매핑해서 병렬로 역직렬화
+ * <pre>
+ *     파일을 레코드 경계에 맞춘 세그먼트 단위로 FileChannel.map 하므로 2GB 보다 큰 파일도 처리할 수 있다.
+ *     세그먼트는 다시 청크(연속된 레코드 범위)로 나누어 ForkJoinPool 에서 처리하며,
+ *     각 청크는 매핑된 버퍼를 복사하지 않는 view(duplicate)에서 공유 코덱으로 역직렬화한다.
+ *     consumer 는 process 호출마다 작업 스레드별로 하나씩 consumerFactory 로 생성해서 그 스레드가 처리하는 청크에 재사용하고,
+ *     청크 안의 레코드는 파일 순서대로 전달한다. (청크 사이의 순서는 보장하지 않음)
+ *     레이아웃의 길이가 고정이어야 한다.
+ * </pre>
+ */
+public final class FlatMessageFileProcessor<T> {
+    /**
+     * 기본 세그먼트(한 번에 매핑하는) 크기
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+    /**
+     * 기본 청크(하나의 작업에서 처리하는) 크기
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final FlatMessageCodec<T> codec;
+    /**
+     * 레코드 고정 길이
+     */
+    private final int recordLength;
+
+    private int recordSeparatorLength = 0;
+    private long segmentSize = DEFAULT_SEGMENT_SIZE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public FlatMessageFileProcessor(final Class<T> jClass, final Charset charset) {
+        this(FlatMessageCodec.of(jClass, charset));
+    }
+
+    /**
+     * @param codec 역직렬화 코덱
+     * @throws IllegalArgumentException 레이아웃의 길이가 고정이 아님
+     */
+    public FlatMessageFileProcessor(final FlatMessageCodec<T> codec) {
+        int length = codec.getLayout().getFixedLength();
+        if (length <= 0)
+            throw new IllegalArgumentException("Not fixed length layout: " + codec.getTargetClass().getName());
+
+        this.codec = codec;
+        this.recordLength = length;
+    }
+
+    /**
+     * @param recordSeparatorLength 레코드 사이의 구분자 길이 (예: CR LF 는 2, 마지막 레코드는 구분자가 없어도 됨)
+     */
+    public void setRecordSeparatorLength(final int recordSeparatorLength) {
+        if (recordSeparatorLength < 0)
+            throw new IllegalArgumentException("recordSeparatorLength: " + recordSeparatorLength);
+        this.recordSeparatorLength = recordSeparatorLength;
+    }
+
+    /**
+     * @param segmentSize 한 번에 매핑할 최대 크기 (레코드 단위로 내림, 최소 1 레코드)
+     */
+    public void setSegmentSize(final long segmentSize) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("segmentSize: " + segmentSize);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * @param chunkSize 하나의 작업에서 처리할 최대 크기 (레코드 단위로 내림, 최소 1 레코드)
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param pool 작업을 실행할 ForkJoinPool (기본 commonPool)
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 파일의 모든 레코드를 병렬로 역직렬화해서 작업 스레드별 consumer 에 전달한다.
+     * <pre>
+     *     consumer 는 한 스레드에서만 호출되므로 동기화 없이 스레드별 집계 등을 할 수 있다.
+     *     pool 의 작업 스레드가 아닌 스레드(호출 스레드 제외)가 청크를 처리하면 그 청크만을 위한 consumer 를 생성한다.
+     * </pre>
+     *
+     * @param path            고정 길이 레코드 파일
+     * @param consumerFactory 작업 스레드마다 처음 청크를 처리할 때 호출해서 consumer 생성 (여러 스레드에서 동시에 호출됨)
+     * @return 처리한 레코드 수
+     * @throws IOException              파일 읽기 오류
+     * @throws DataTooShortException    파일 길이가 레코드 길이의 배수가 아님
+     * @throws DataConversionException  데이터 컨버전 오류
+     * @throws FieldDataAccessException 필드 데이터 접근 오류
+     */
+    public long process(final Path path, final Supplier<? extends Consumer<? super T>> consumerFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int stride = recordLength + recordSeparatorLength;
+            final long recordCount = recordCount(size, stride);
+
+            final long segmentRecords = Math.max(1, segmentSize / stride);
+            final int chunkRecords = Math.max(1, chunkSize / stride);
+
+            final ConsumerSlots consumers = new ConsumerSlots(pool, consumerFactory);
+            final List<SegmentTask> tasks = new ArrayList<>();
+            for (long first = 0; first < recordCount; first += segmentRecords) {
+                tasks.add(new SegmentTask(channel, size, stride, first, Math.min(segmentRecords, recordCount - first),
+                        chunkRecords, consumers));
+            }
+
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+            return recordCount;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 구분자를 포함한 레코드 간격으로 레코드 수를 계산 (마지막 레코드의 구분자는 생략 가능)
+     */
+    private long recordCount(final long size, final int stride) {
+        long remainder = size % stride;
+        if (remainder == 0)
+            return size / stride;
+        if (remainder == recordLength)
+            return size / stride + 1;
+
+        throw new DataTooShortException("file length " + size + " is not multiple of record length " + stride);
+    }
+
+    /**
+     * 세그먼트를 매핑하고 청크 작업으로 나눔
+     */
+    private final class SegmentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long fileSize;
+        private final int stride;
+        private final long firstRecord;
+        private final long records;
+        private final int chunkRecords;
+        private final transient ConsumerSlots consumers;
+
+        SegmentTask(FileChannel channel, long fileSize, int stride, long firstRecord, long records, int chunkRecords,
+                    ConsumerSlots consumers) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.stride = stride;
+            this.firstRecord = firstRecord;
+            this.records = records;
+            this.chunkRecords = chunkRecords;
+            this.consumers = consumers;
+        }
+
+        @Override
+        protected void compute() {
+            long start = firstRecord * stride;
+            MappedByteBuffer segment;
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(records * stride, fileSize - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<ChunkTask> chunks = new ArrayList<>();
+            for (long first = 0; first < records; first += chunkRecords)
+                chunks.add(new ChunkTask(segment, stride, (int) first, (int) Math.min(chunkRecords, records - first),
+                        consumers));
+            invokeAll(chunks);
+        }
+    }
+
+    /**
+     * 청크의 레코드를 순서대로 역직렬화해서 consumer 에 전달
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer segment;
+        private final int stride;
+        private final int firstRecord;
+        private final int records;
+        private final transient ConsumerSlots consumers;
+
+        ChunkTask(ByteBuffer segment, int stride, int firstRecord, int records, ConsumerSlots consumers) {
+            this.segment = segment;
+            this.stride = stride;
+            this.firstRecord = firstRecord;
+            this.records = records;
+            this.consumers = consumers;
+        }
+
+        @Override
+        protected void compute() {
+            // 복사하지 않는 view, 절대 위치로만 읽음
+            ByteBuffer view = segment.duplicate();
+            FlatMessageContext context = new FlatMessageContext();
+            Consumer<? super T> consumer = consumers.current();
+
+            int pos = firstRecord * stride;
+            for (int i = 0; i < records; i++, pos += stride)
+                consumer.accept(codec.decodeObject(view, pos, recordLength, context.planContext));
+        }
+    }
+
+    /**
+     * process 호출 하나에서 작업 스레드별로 재사용하는 consumer
+     * <pre>
+     *     pool 의 작업 스레드는 getPoolIndex 위치, process 를 호출한 스레드(invoke 중 작업을 도울 수 있음)는 마지막 위치를 사용한다.
+     *     각 위치는 한 스레드만 사용하므로 consumer 는 동시에 호출되지 않는다.
+     *     보상(compensation) 스레드처럼 범위를 벗어나는 스레드는 청크마다 consumer 를 생성한다.
+     * </pre>
+     */
+    private final class ConsumerSlots {
+        private final ForkJoinPool pool;
+        private final Thread caller = Thread.currentThread();
+        private final Supplier<? extends Consumer<? super T>> consumerFactory;
+        private final AtomicReferenceArray<Consumer<? super T>> slots;
+
+        ConsumerSlots(ForkJoinPool pool, Supplier<? extends Consumer<? super T>> consumerFactory) {
+            this.pool = pool;
+            this.consumerFactory = consumerFactory;
+            this.slots = new AtomicReferenceArray<>(pool.getParallelism() + 1);
+        }
+
+        Consumer<? super T> current() {
+            int index = slotIndex(Thread.currentThread());
+            if (index < 0)
+                return consumerFactory.get();
+
+            Consumer<? super T> consumer = slots.get(index);
+            if (consumer == null) {
+                consumer = consumerFactory.get();
+                slots.set(index, consumer);
+            }
+            return consumer;
+        }
+
+        private int slotIndex(Thread thread) {
+            if (thread == caller)
+                return slots.length() - 1;
+            if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool) {
+                int index = ((ForkJoinWorkerThread) thread).getPoolIndex();
+                if (index < slots.length() - 1)
+                    return index;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * FlatMessageViewFactory 로 생성한 뷰의 공통 인터페이스
+ * <pre>
+ *     뷰 인터페이스가 이 인터페이스를 상속하지 않아도 생성된 뷰는 항상 구현하므로 형변환해서 사용할 수 있다.
+ * </pre>
+ */
+public interface FlatMessageFlyweight {
+    /**
+     * 뷰가 data 의 offset 위치부터 시작하는 레코드를 읽도록 변경한다. (같은 배열이면 새로 할당하지 않음)
+     */
+    void wrap(byte[] data, int offset);
+
+    /**
+     * 뷰가 data 의 offset 위치(절대 위치)부터 시작하는 레코드를 읽도록 변경한다.
+     */
+    void wrap(ByteBuffer data, int offset);
+
+    /**
+     * @return 레코드 시작 위치
+     */
+    int getViewOffset();
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * 어노테이션 프로세서(flat-message-processor)가 빌드 시점에 생성하는 코덱
+ * <pre>
+ *     생성된 코덱은 메시지 클래스와 같은 패키지에 [클래스명]_FlatCodec 이름으로 만들어진다.
+ *     중첩 클래스는 바깥 클래스명과 '_'로 연결한다. (Outer.Inner -&gt; Outer_Inner_FlatCodec)
+ *     FlatMessageSerializer/FlatMessageDeserializer는 생성된 코덱이 있으면 자동으로 사용하고,
+ *     없거나 덤프 모드인 경우 리플렉션 기반 플랜으로 처리한다.
+ * </pre>
+ */
+public interface FlatMessageGeneratedCodec<T> {
+    /**
+     * 생성된 코덱 클래스명 접미사
+     */
+    String CLASS_SUFFIX = "_FlatCodec";
+
+    /**
+     * @return 메시지 클래스
+     */
+    Class<T> getTargetClass();
+
+    /**
+     * @return 빈 메시지 객체
+     */
+    T newInstance();
+
+    /**
+     * @return 자료 길이
+     */
+    int getLength(T object);
+
+    /**
+     * 객체를 buffer의 offset 위치(절대 위치)부터 직렬화한다.
+     *
+     * @param object  직렬화할 객체
+     * @param buffer  기록할 buffer (position, limit 는 변경하지 않음)
+     * @param offset  시작 offset
+     * @param charset 문자열 인코딩
+     * @return 직렬화한 길이
+     */
+    int encode(T object, ByteBuffer buffer, int offset, Charset charset);
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 객체에 역직렬화한다.
+     *
+     * @param data    데이터 (position, limit 는 변경하지 않음)
+     * @param offset  시작 offset
+     * @param limit   최대 bytes, 최대 bytes를 초과하면 DataTooShortException 발생
+     * @param charset 문자열 인코딩
+     * @param object  데이터를 입력할 객체
+     * @return 처리한 길이
+     */
+    int decode(ByteBuffer data, int offset, int limit, Charset charset, T object);
+}
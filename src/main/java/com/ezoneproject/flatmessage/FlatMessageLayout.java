@@ -0,0 +1,321 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.internal.FlatFieldInfo;
+import com.ezoneproject.flatmessage.internal.FlatMessagePlan;
+import com.ezoneproject.flatmessage.internal.PlanStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메시지 클래스의 정적 레이아웃 (읽기 전용)
+ * <pre>
+ *     클래스별로 한 번 분석해서 캐시하며, 필드/중첩 클래스/테이블의 오프셋과 길이, 전체 고정 길이를 제공한다.
+ *     데이터에 따라 길이가 달라지는 항목은 길이(또는 오프셋)가 -1 이고,
+ *     길이를 결정하는 항목(가변 테이블 반복횟수 필드, 길이 미지정 BLOCK)은 getLengthDependencies() 로 조회한다.
+ * </pre>
+ */
+public final class FlatMessageLayout {
+    /**
+     * 클래스별 레이아웃 캐시 (Class 에 보관하므로 클래스가 언로드되면 함께 해제)
+     */
+    private static final ClassValue<FlatMessageLayout> layoutCache = new ClassValue<FlatMessageLayout>() {
+        @Override
+        protected FlatMessageLayout computeValue(Class<?> type) {
+            return new FlatMessageLayout(type);
+        }
+    };
+
+    private final Class<?> jClass;
+    private final int fixedLength;
+    private final List<Entry> entries;
+    private final List<Entry> lengthDependencies;
+
+    private FlatMessageLayout(final Class<?> jClass) {
+        FlatMessagePlan plan = FlatMessagePlan.of(jClass);
+        PlanStep[] steps = plan.getSteps();
+
+        List<Entry> entryList = new ArrayList<>();
+        List<Entry> dependencyList = new ArrayList<>();
+        // 반복횟수 필드는 같은 클래스의 테이블보다 앞에 있으므로 마지막으로 등록한 항목을 참조
+        Map<FlatFieldInfo, Entry> lastEntry = new IdentityHashMap<>();
+        // 레벨별 소속 클래스의 절대 시작위치 (테이블 행 안이거나 가변이면 -1)
+        int[] base = new int[steps.length + 1];
+        String[] path = new String[steps.length + 1];
+        base[0] = 0;
+        path[0] = "";
+
+        for (PlanStep step : steps) {
+            if (step.type == PlanStep.StepType.CLASS_END || step.type == PlanStep.StepType.TABLE_END)
+                continue;
+
+            FlatFieldInfo it = step.fieldInfo;
+            int level = step.level;
+            int absoluteOffset = (base[level] >= 0 && step.getOffset() >= 0) ? base[level] + step.getOffset() : -1;
+            String name = it.field.getName();
+
+            Entry entry;
+            if (step.type == PlanStep.StepType.CLASS_BEGIN) {
+                entry = new Entry(EntryType.CLASS, name, it.name, path[level] + name, level, it.dataType,
+                        it.field.getType(), step.getOffset(), absoluteOffset, step.getLength(), 0, 0, null);
+                base[level + 1] = absoluteOffset;
+                path[level + 1] = entry.path + ".";
+            } else if (step.type == PlanStep.StepType.TABLE_BEGIN) {
+                Entry loopEntry = null;
+                if (it.itemType == FlatFieldInfo.FieldTableType.TABLE_VARIABLE) {
+                    loopEntry = lastEntry.get(it.tableLoopField);
+                    if (loopEntry != null && !dependencyList.contains(loopEntry))
+                        dependencyList.add(loopEntry);
+                }
+
+                entry = new Entry(EntryType.TABLE, name, it.name, path[level] + name, level, it.dataType,
+                        it.field.getType(), step.getOffset(), absoluteOffset, step.getLength(), 0, it.tableLoopCount,
+                        (loopEntry != null) ? loopEntry.path : null);
+                base[level + 1] = -1;
+                path[level + 1] = entry.path + "[].";
+            } else {
+                entry = new Entry(EntryType.FIELD, name, it.name, path[level] + name, level, it.dataType,
+                        it.field.getType(), step.getOffset(), absoluteOffset, step.getLength(), it.scale, 0, null);
+                if (step.getLength() < 0)
+                    dependencyList.add(entry);
+            }
+
+            entryList.add(entry);
+            lastEntry.put(it, entry);
+        }
+
+        this.jClass = jClass;
+        this.fixedLength = plan.getFixedLength();
+        this.entries = Collections.unmodifiableList(entryList);
+        this.lengthDependencies = Collections.unmodifiableList(dependencyList);
+    }
+
+    /**
+     * 클래스의 레이아웃 (한 번 분석해서 캐시)
+     *
+     * @param jClass 메시지 클래스
+     * @return 레이아웃
+     * @throws AnnotationDefineException 어노테이션 정의 오류
+     */
+    public static FlatMessageLayout of(final Class<?> jClass) {
+        return layoutCache.get(jClass);
+    }
+
+    /**
+     * @return 메시지 클래스
+     */
+    public Class<?> getTargetClass() {
+        return jClass;
+    }
+
+    /**
+     * @return 전체 고정 길이, 데이터에 따라 길이가 달라지면 -1
+     */
+    public int getFixedLength() {
+        return fixedLength;
+    }
+
+    /**
+     * @return 데이터와 관계없이 길이가 일정하면 true
+     */
+    public boolean isFixedLength() {
+        return fixedLength >= 0;
+    }
+
+    /**
+     * @return 필드, 중첩 클래스, 테이블 항목 (선언 순서, 하위 항목은 상위 항목 바로 다음에 위치)
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return 값에 따라 전체 길이가 달라지는 필드 (가변 테이블 반복횟수 필드, 길이 미지정 BLOCK)
+     */
+    public List<Entry> getLengthDependencies() {
+        return lengthDependencies;
+    }
+
+    @Override
+    public String toString() {
+        return "FlatMessageLayout{" +
+                "class=" + jClass.getName() +
+                ", fixedLength=" + fixedLength +
+                ", entries=" + entries +
+                '}';
+    }
+
+    /**
+     * 레이아웃 항목 종류
+     */
+    public enum EntryType {
+        /**
+         * 데이터 필드
+         */
+        FIELD,
+        /**
+         * 중첩 클래스 (type = CLASS)
+         */
+        CLASS,
+        /**
+         * 테이블
+         */
+        TABLE
+    }
+
+    /**
+     * 레이아웃 항목
+     */
+    public static final class Entry {
+        private final EntryType type;
+        private final String name;
+        private final String description;
+        private final String path;
+        private final int level;
+        private final FieldDataType dataType;
+        private final Class<?> javaType;
+        private final int offset;
+        private final int absoluteOffset;
+        private final int length;
+        private final int scale;
+        private final int loopCount;
+        private final String loopFieldPath;
+
+        Entry(final EntryType type, final String name, final String description, final String path, final int level,
+              final FieldDataType dataType, final Class<?> javaType, final int offset, final int absoluteOffset, final int length,
+              final int scale, final int loopCount, final String loopFieldPath) {
+            this.type = type;
+            this.name = name;
+            this.description = description;
+            this.path = path;
+            this.level = level;
+            this.dataType = dataType;
+            this.javaType = javaType;
+            this.offset = offset;
+            this.absoluteOffset = absoluteOffset;
+            this.length = length;
+            this.scale = scale;
+            this.loopCount = loopCount;
+            this.loopFieldPath = loopFieldPath;
+        }
+
+        public EntryType getType() {
+            return type;
+        }
+
+        /**
+         * @return 필드명
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return 필드설명 (어노테이션 value)
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return 최상위 클래스 기준 필드 경로 (예: header.code, items[].amount)
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return 중첩 레벨 (최상위 클래스 0)
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * @return 필드 데이터 타입 (테이블은 BLOCK)
+         */
+        public FieldDataType getDataType() {
+            return dataType;
+        }
+
+        /**
+         * @return 클래스 필드의 타입
+         */
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+
+        /**
+         * @return 소속 클래스(테이블은 행) 시작 위치 기준 상대 오프셋, 앞선 항목의 길이가 가변이면 -1
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return 메시지 시작 위치 기준 오프셋, 테이블 행 안의 항목이거나 앞선 항목의 길이가 가변이면 -1
+         */
+        public int getAbsoluteOffset() {
+            return absoluteOffset;
+        }
+
+        /**
+         * @return 필드 길이, 클래스 전체 길이, 테이블 한 행의 길이 (데이터에 따라 달라지면 -1)
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return 소수점 자리수 (NUMERIC 필드)
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * @return 고정 테이블 반복횟수 (가변 테이블이나 테이블이 아니면 0)
+         */
+        public int getLoopCount() {
+            return loopCount;
+        }
+
+        /**
+         * @return 가변 테이블 반복횟수 필드 경로 (고정 테이블이나 테이블이 아니면 null)
+         */
+        public String getLoopFieldPath() {
+            return loopFieldPath;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "type=" + type +
+                    ", path='" + path + '\'' +
+                    ", offset=" + offset +
+                    ", absoluteOffset=" + absoluteOffset +
+                    ", length=" + length +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+import com.ezoneproject.flatmessage.internal.ConversionUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 직렬화된 메시지의 일부 필드만 다시 기록
+ * <pre>
+ *     필드 경로(예: header.responseCode, items[3].amount)를 행번호를 제외한 경로(items[].amount)별로
+ *     레이아웃의 오프셋, 테이블 행 길이, 반복횟수 필드 위치를 한 번 계산해서 캐시하고,
+ *     호출할 때 행번호로 오프셋(행 시작 + 행번호 x 행 길이)을 계산해서 해당 필드의 byte 만 직렬화와 같은 변환 규칙으로 덮어쓴다.
+ *     캐시는 레이아웃의 필드 수를 넘지 않는다.
+ *     테이블 행은 [행번호](0부터 시작)로 지정하며, 가변 테이블은 데이터의 반복횟수 필드로 행번호를 점검한다.
+ *
+ *     필드 위치가 데이터와 관계없이 계산되어야 한다.
+ *     (앞선 항목이 모두 고정 길이이고, 경로의 테이블은 행 길이가 고정이어야 함)
+ *     인스턴스는 상태가 없으므로 여러 스레드에서 공유할 수 있다.
+ * </pre>
+ */
+public final class FlatMessagePatcher {
+    private static final int[] NO_ROWS = new int[0];
+
+    private final FlatMessageLayout layout;
+    private final Charset charset;
+    /**
+     * 행번호를 제외한 필드 경로별 기록 위치
+     */
+    private final ConcurrentMap<String, Template> templateCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param jClass  메시지 클래스
+     * @param charset 문자열 인코딩
+     */
+    public FlatMessagePatcher(final Class<?> jClass, final Charset charset) {
+        this.layout = FlatMessageLayout.of(jClass);
+        this.charset = charset;
+    }
+
+    /**
+     * @return 메시지 시작 위치 기준 필드 오프셋
+     * @throws IllegalArgumentException  정의되지 않은 필드이거나 위치가 고정이 아님
+     * @throws IndexOutOfBoundsException 고정 테이블 행번호가 반복횟수를 초과함
+     */
+    public int getOffset(final String path) {
+        return target(path).offset;
+    }
+
+    /**
+     * data 의 offset 위치부터 시작하는 메시지의 필드 하나를 value 로 다시 기록한다.
+     *
+     * @param data   직렬화된 데이터
+     * @param offset 메시지 시작 offset
+     * @param path   필드 경로 (예: header.code, items[3].amount)
+     * @param value  기록할 값 (null 이면 공백)
+     * @throws IllegalArgumentException  정의되지 않은 필드이거나 위치가 고정이 아님
+     * @throws IndexOutOfBoundsException 테이블 행번호가 반복횟수를 초과함
+     * @throws DataTooShortException     데이터 길이가 짧음
+     * @throws DataConversionException   값의 타입이 필드와 맞지 않거나 길이를 초과함
+     */
+    public void patch(final byte[] data, final int offset, final String path, final Object value) {
+        patch(ByteBuffer.wrap(data), offset, path, value);
+    }
+
+    /**
+     * data 의 offset 위치(절대 위치)부터 시작하는 메시지의 필드 하나를 value 로 다시 기록한다.
+     * buffer의 position, limit 는 변경하지 않는다.
+     *
+     * @see #patch(byte[], int, String, Object)
+     */
+    public void patch(final ByteBuffer data, final int offset, final String path, final Object value) {
+        Target target = target(path);
+        check(target, data, offset, value);
+        write(target, data, offset, value);
+    }
+
+    /**
+     * data 의 offset 위치부터 시작하는 메시지의 필드 여러 개를 다시 기록한다.
+     * 모든 필드의 위치와 값의 타입을 점검한 후 기록하며, 값이 길이를 초과하면 앞선 필드는 이미 기록된 상태로 오류가 발생한다.
+     *
+     * @param values 필드 경로별 기록할 값
+     * @see #patch(byte[], int, String, Object)
+     */
+    public void patch(final byte[] data, final int offset, final Map<String, ?> values) {
+        patch(ByteBuffer.wrap(data), offset, values);
+    }
+
+    /**
+     * data 의 offset 위치(절대 위치)부터 시작하는 메시지의 필드 여러 개를 다시 기록한다.
+     *
+     * @see #patch(byte[], int, Map)
+     */
+    public void patch(final ByteBuffer data, final int offset, final Map<String, ?> values) {
+        List<Target> targets = new ArrayList<>(values.size());
+        List<Object> targetValues = new ArrayList<>(values.size());
+        for (Map.Entry<String, ?> it : values.entrySet()) {
+            Target target = target(it.getKey());
+            check(target, data, offset, it.getValue());
+            targets.add(target);
+            targetValues.add(it.getValue());
+        }
+
+        for (int i = 0; i < targets.size(); i++)
+            write(targets.get(i), data, offset, targetValues.get(i));
+    }
+
+    private void write(final Target target, final ByteBuffer data, final int offset, final Object value) {
+        Template template = target.template;
+        ConversionUtil.write(value, data, offset + target.offset, template.length, template.scale, charset);
+    }
+
+    /**
+     * 데이터 길이, 가변 테이블 행번호, 값의 타입 점검
+     */
+    private void check(final Target target, final ByteBuffer data, final int offset, final Object value) {
+        if (offset < 0)
+            throw new IndexOutOfBoundsException("offset: " + offset);
+
+        // 행번호는 데이터 길이보다 먼저 점검 (반복횟수를 초과한 행은 데이터가 없음)
+        Template template = target.template;
+        int rowBase = 0;
+        for (int i = 0; i < template.tables.length; i++) {
+            Table table = template.tables[i];
+            if (table.loopFieldPath != null) {
+                int loopOffset = offset + table.loopOffset + rowBase;
+                checkLimit(data, loopOffset + table.loopLength, table.loopFieldPath);
+                int loopCount = ConversionUtil.readInt(data, loopOffset, table.loopLength, table.loopScale,
+                        fieldName(table.loopFieldPath));
+                if (target.rows[i] >= loopCount)
+                    throw new IndexOutOfBoundsException(target.path + ": row " + target.rows[i] + ", loop count " + loopCount);
+            }
+            rowBase += target.rows[i] * table.rowLength;
+        }
+        checkLimit(data, offset + target.offset + template.length, target.path);
+
+        if (value != null && !valueMatches(template.dataType, value))
+            throw new DataConversionException(fieldName(target.path) + ": " + template.dataType + " can not be " +
+                    value.getClass().getName());
+    }
+
+    private void checkLimit(final ByteBuffer data, final int end, final String path) {
+        if (end > data.limit())
+            throw new DataTooShortException(fieldName(path) + " (" + (end - data.limit()) + " bytes short)");
+    }
+
+    private static boolean valueMatches(final FieldDataType dataType, final Object value) {
+        switch (dataType) {
+            case NUMERIC:
+                return value instanceof Number;
+            case BLOCK:
+                return value instanceof byte[];
+            default:
+                return value instanceof String;
+        }
+    }
+
+    /**
+     * 필드 경로의 기록 위치 (행번호를 제외한 경로의 기록 위치를 캐시하고, 행번호별 오프셋을 더함)
+     */
+    private Target target(final String path) {
+        int[] rows = NO_ROWS;
+        String templatePath = path;
+
+        // 행번호를 분리 (예: items[3].amount -> items[].amount, 3)
+        if (path.indexOf('[') >= 0) {
+            int count = 0;
+            for (int i = 0; i < path.length(); i++) {
+                if (path.charAt(i) == '[')
+                    count++;
+            }
+
+            rows = new int[count];
+            StringBuilder sb = new StringBuilder(path.length());
+            int row = 0;
+            int pos = 0;
+            for (int open; (open = path.indexOf('[', pos)) >= 0; ) {
+                int close = path.indexOf(']', open);
+                if (close < 0)
+                    break;
+                try {
+                    rows[row++] = Integer.parseInt(path.substring(open + 1, close));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid table row: " + path);
+                }
+                sb.append(path, pos, open + 1);
+                pos = close;
+            }
+            templatePath = sb.append(path, pos, path.length()).toString();
+        }
+
+        Template template = templateCache.get(templatePath);
+        if (template == null) {
+            template = resolve(templatePath, path);
+            Template prev = templateCache.putIfAbsent(templatePath, template);
+            if (prev != null)
+                template = prev;
+        }
+
+        int offset = template.offset;
+        for (int i = 0; i < template.tables.length; i++) {
+            Table table = template.tables[i];
+            if (rows[i] < 0 || (table.loopFieldPath == null && rows[i] >= table.loopCount))
+                throw new IndexOutOfBoundsException(path + ": row " + rows[i] + ", loop count " + table.loopCount);
+            offset += rows[i] * table.rowLength;
+        }
+        return new Target(path, template, rows, offset);
+    }
+
+    /**
+     * 행번호를 제외한 필드 경로를 레이아웃 항목을 따라 오프셋으로 계산 (모든 행번호가 0인 위치)
+     *
+     * @param templatePath 행번호를 제외한 필드 경로 (예: items[].amount)
+     * @param path         호출한 필드 경로 (오류 메시지용)
+     */
+    private Template resolve(final String templatePath, final String path) {
+        List<Table> tables = new ArrayList<>();
+        // 상위 레이아웃 경로 (예: items[].)
+        String prefix = "";
+        // 현재 클래스(테이블은 첫번째 행)의 시작 위치
+        int base = 0;
+        FlatMessageLayout.Entry entry = null;
+
+        for (String segment : templatePath.split("\\.", -1)) {
+            if (entry != null && entry.getType() == FlatMessageLayout.EntryType.FIELD)
+                throw new IllegalArgumentException("Field is not defined: " + path);
+
+            int bracket = segment.indexOf('[');
+            String layoutPath = prefix + ((bracket < 0) ? segment : segment.substring(0, bracket));
+
+            entry = entry(layoutPath, path);
+            if (entry.getOffset() < 0)
+                throw new IllegalArgumentException("Field offset is not fixed: " + path);
+            base += entry.getOffset();
+
+            if (entry.getType() != FlatMessageLayout.EntryType.TABLE) {
+                if (bracket >= 0)
+                    throw new IllegalArgumentException("Field is not table: " + path);
+                prefix = layoutPath + ".";
+                continue;
+            }
+
+            if (bracket < 0 || bracket != segment.length() - 2 || !segment.endsWith("[]"))
+                throw new IllegalArgumentException("Table row is not specified: " + path);
+            if (entry.getLength() < 0)
+                throw new IllegalArgumentException("Table row length is not fixed: " + path);
+
+            // 가변 테이블의 반복횟수 필드는 같은 클래스에서 테이블보다 앞에 있음
+            if (entry.getLoopFieldPath() != null) {
+                FlatMessageLayout.Entry loopEntry = entry(entry.getLoopFieldPath(), path);
+                tables.add(new Table(entry, base - entry.getOffset() + loopEntry.getOffset(), loopEntry));
+            } else
+                tables.add(new Table(entry, -1, null));
+
+            prefix = layoutPath + "[].";
+        }
+
+        if (entry.getType() != FlatMessageLayout.EntryType.FIELD)
+            throw new IllegalArgumentException("Field is not data field: " + path);
+        if (entry.getLength() < 0)
+            throw new IllegalArgumentException("Field length is not fixed: " + path);
+
+        return new Template(base, entry, tables);
+    }
+
+    private FlatMessageLayout.Entry entry(final String layoutPath, final String path) {
+        for (FlatMessageLayout.Entry it : layout.getEntries()) {
+            if (it.getPath().equals(layoutPath))
+                return it;
+        }
+        throw new IllegalArgumentException("Field is not defined: " + path);
+    }
+
+    private String fieldName(final String path) {
+        return FlatStringUtil.shortClassName(layout.getTargetClass().getCanonicalName()) + "." + path;
+    }
+
+    /**
+     * 행번호를 제외한 필드 경로의 기록 위치
+     */
+    private static final class Template {
+        /**
+         * 모든 행번호가 0일 때 메시지 시작 위치 기준 오프셋
+         */
+        final int offset;
+        final int length;
+        final int scale;
+        final FieldDataType dataType;
+        /**
+         * 경로의 테이블 (바깥 테이블부터)
+         */
+        final Table[] tables;
+
+        Template(int offset, FlatMessageLayout.Entry entry, List<Table> tables) {
+            this.offset = offset;
+            this.length = entry.getLength();
+            this.scale = entry.getScale();
+            this.dataType = entry.getDataType();
+            this.tables = tables.toArray(new Table[0]);
+        }
+    }
+
+    /**
+     * 경로의 테이블 행 길이와 반복횟수
+     */
+    private static final class Table {
+        final int rowLength;
+        /**
+         * 고정 테이블 반복횟수
+         */
+        final int loopCount;
+        /**
+         * 가변 테이블 반복횟수 필드 (고정 테이블은 null)
+         */
+        final String loopFieldPath;
+        /**
+         * 바깥 테이블 행번호가 모두 0일 때 메시지 시작 위치 기준 반복횟수 필드 오프셋
+         */
+        final int loopOffset;
+        final int loopLength;
+        final int loopScale;
+
+        Table(FlatMessageLayout.Entry entry, int loopOffset, FlatMessageLayout.Entry loopEntry) {
+            this.rowLength = entry.getLength();
+            this.loopCount = entry.getLoopCount();
+            this.loopFieldPath = entry.getLoopFieldPath();
+            this.loopOffset = loopOffset;
+            this.loopLength = (loopEntry == null) ? 0 : loopEntry.getLength();
+            this.loopScale = (loopEntry == null) ? 0 : loopEntry.getScale();
+        }
+    }
+
+    /**
+     * 호출한 필드 경로의 기록 위치
+     */
+    private static final class Target {
+        final String path;
+        final Template template;
+        /**
+         * 경로의 테이블별 행번호
+         */
+        final int[] rows;
+        /**
+         * 메시지 시작 위치 기준 오프셋
+         */
+        final int offset;
+
+        Target(String path, Template template, int[] rows, int offset) {
+            this.path = path;
+            this.template = template;
+            this.rows = rows;
+            this.offset = offset;
+        }
+    }
+}
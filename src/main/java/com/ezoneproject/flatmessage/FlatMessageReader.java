@@ -0,0 +1,279 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * InputStream, ReadableByteChannel 에서 연속된 레코드를 순서대로 역직렬화
+ * <pre>
+ *     재사용하는 버퍼에 데이터를 채워서 레코드 단위로 역직렬화하며, 파일 전체를 메모리에 올리지 않는다.
+ *     고정 길이 레이아웃은 레코드 길이만큼 채운 후 역직렬화하고,
+ *     가변 길이 레이아웃은 가변 테이블의 반복횟수 필드만 읽어서 레코드 길이를 계산하고 레코드 길이만큼 채운 후 한 번 역직렬화한다.
+ *     버퍼는 한 레코드를 담을 수 없는 경우에만 늘어나므로 버퍼 크기는 가장 긴 레코드 길이를 넘지 않는다.
+ *     길이 미지정 BLOCK 필드가 있는 레이아웃은 레코드 길이를 알 수 없으므로 사용할 수 없다.
+ *     채널은 blocking 모드여야 하며, 스레드간에 공유할 수 없다.
+ * </pre>
+ */
+public final class FlatMessageReader<T> implements Iterable<T>, Closeable {
+    /**
+     * 기본 버퍼 크기
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final FlatMessageCodec<T> codec;
+    private final ReadableByteChannel channel;
+    private final FlatMessageContext context = new FlatMessageContext();
+    /**
+     * 레코드 고정 길이 (가변 길이이면 -1)
+     */
+    private final int fixedLength;
+
+    /**
+     * 읽기 모드 버퍼, position 부터 limit 까지 처리하지 않은 데이터
+     */
+    private ByteBuffer buffer;
+    private boolean eof = false;
+    private boolean skipLineSeparator = false;
+    /**
+     * 스트림 시작 기준 처리한 길이
+     */
+    private long position = 0;
+    private long recordCount = 0;
+
+    public FlatMessageReader(final Class<T> jClass, final Charset charset, final InputStream in) {
+        this(FlatMessageCodec.of(jClass, charset), Channels.newChannel(in), DEFAULT_BUFFER_SIZE);
+    }
+
+    public FlatMessageReader(final Class<T> jClass, final Charset charset, final ReadableByteChannel channel) {
+        this(FlatMessageCodec.of(jClass, charset), channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param codec      역직렬화 코덱
+     * @param channel    데이터 채널
+     * @param bufferSize 초기 버퍼 크기 (고정 길이 레코드보다 작으면 레코드 길이로 생성)
+     * @throws IllegalArgumentException 길이 미지정 BLOCK 필드가 있는 레이아웃
+     */
+    public FlatMessageReader(final FlatMessageCodec<T> codec, final ReadableByteChannel channel, final int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+
+        FlatMessageLayout layout = codec.getLayout();
+        for (FlatMessageLayout.Entry entry : layout.getLengthDependencies()) {
+            if (entry.getType() == FlatMessageLayout.EntryType.FIELD && entry.getLength() < 0)
+                throw new IllegalArgumentException("Unsized BLOCK field: " + codec.getTargetClass().getName() +
+                        "." + entry.getPath());
+        }
+
+        this.codec = codec;
+        this.channel = channel;
+        this.fixedLength = layout.getFixedLength();
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, fixedLength));
+        this.buffer.flip();
+    }
+
+    /**
+     * @param skipLineSeparator 레코드 사이의 CR, LF 를 건너뛸지 여부
+     */
+    public void setSkipLineSeparator(final boolean skipLineSeparator) {
+        this.skipLineSeparator = skipLineSeparator;
+    }
+
+    public boolean isSkipLineSeparator() {
+        return skipLineSeparator;
+    }
+
+    /**
+     * @return 지금까지 읽은 레코드 수
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return 스트림 시작 기준 처리한 길이 (건너뛴 CR, LF 포함)
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * 다음 레코드를 역직렬화한다.
+     *
+     * @return 데이터가 입력된 객체, 더 이상 레코드가 없으면 null
+     * @throws IOException              읽기 오류
+     * @throws DataTooShortException    스트림이 레코드 중간에 끝남
+     * @throws DataConversionException  데이터 컨버전 오류
+     * @throws FieldDataAccessException 필드 데이터 접근 오류
+     */
+    public T read() throws IOException {
+        if (!nextRecord())
+            return null;
+
+        if (fixedLength >= 0) {
+            require(fixedLength);
+            return decode(fixedLength);
+        }
+
+        // 가변 길이는 반복횟수 필드를 읽을 수 있을 만큼 채우면서 레코드 길이를 계산
+        int length;
+        while ((length = codec.measure(buffer, buffer.position(), buffer.remaining(), context)) < 0)
+            require(-length);
+
+        require(length);
+        return decode(length);
+    }
+
+    /**
+     * 남은 레코드를 순서대로 리턴하는 Iterator, 읽기 오류는 UncheckedIOException 으로 전달
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private T next = null;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = read();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * 남은 레코드의 순차 Stream, Stream 을 close 하면 reader 도 close 한다.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 다음 레코드 시작 위치로 이동 (CR, LF 건너뜀)
+     *
+     * @return 남은 데이터가 있으면 true
+     */
+    private boolean nextRecord() throws IOException {
+        while (true) {
+            if (skipLineSeparator) {
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get(buffer.position());
+                    if (b != '\r' && b != '\n')
+                        break;
+                    buffer.position(buffer.position() + 1);
+                    position++;
+                }
+            }
+
+            if (buffer.hasRemaining())
+                return true;
+            if (eof)
+                return false;
+            fill();
+        }
+    }
+
+    /**
+     * 버퍼의 position 부터 length 이상 남도록 채움
+     *
+     * @throws DataTooShortException 스트림이 레코드 중간에 끝남
+     */
+    private void require(final int length) throws IOException {
+        while (buffer.remaining() < length && !eof)
+            fill();
+        if (buffer.remaining() < length)
+            throw new DataTooShortException("record " + (recordCount + 1) + " (" +
+                    (length - buffer.remaining()) + " bytes short)");
+    }
+
+    /**
+     * 버퍼의 position 부터 limit 길이 안에서 레코드 하나를 역직렬화하고 position 이동
+     */
+    private T decode(final int limit) {
+        int start = buffer.position();
+        FlatMessageCodec.Result<T> result = codec.decode(buffer, start, limit, context);
+
+        buffer.position(start + result.getLength());
+        position += result.getLength();
+        recordCount++;
+        return result.getObject();
+    }
+
+    /**
+     * 처리한 데이터를 버리고 남은 공간을 채움 (남은 공간이 없으면 버퍼를 2배로 늘림)
+     */
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0 && buffer.hasRemaining());
+
+        if (read < 0)
+            eof = true;
+        buffer.flip();
+    }
+}
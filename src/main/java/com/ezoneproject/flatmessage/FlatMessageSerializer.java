@@ -16,53 +16,41 @@
 
 package com.ezoneproject.flatmessage;
 
-import com.ezoneproject.flatmessage.annotation.FieldDataType;
 import com.ezoneproject.flatmessage.debug.FlatMessageDump;
-import com.ezoneproject.flatmessage.debug.FlatStringUtil;
-import com.ezoneproject.flatmessage.internal.AnnotationFields;
-import com.ezoneproject.flatmessage.internal.ConversionUtil;
-import com.ezoneproject.flatmessage.internal.FlatFieldInfo;
-import com.ezoneproject.flatmessage.internal.ReflectionAccess;
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpListener;
+import com.ezoneproject.flatmessage.internal.ParallelBatch;
 
-import java.lang.reflect.Array;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 메시지 객체를 byte[] 로 변환
+ * <pre>
+ *     덤프 정보와 절대위치 offset 을 인스턴스에 보관하므로 하나의 인스턴스를 여러 스레드에서 공유할 수 없다.
+ *     여러 스레드에서 공유하려면 FlatMessageCodec 을 사용한다.
+ * </pre>
  */
 public final class FlatMessageSerializer<T> {
     //private final Logger log = LoggerFactory.getLogger(FlatMessageSerializer.class);
 
     /**
-     * 플랫메시지 저장할 클래스 모델
+     * 공유 코덱
      */
-    private final Class<?> jClass;
-    /**
-     * 문자열 인코딩
-     */
-    private final Charset charset;
-    /**
-     * 필드 목록
-     */
-    private final List<FlatFieldInfo> fieldsList;
+    private final FlatMessageCodec<T> codec;
 
     // ************************************************************
     // 내부에서 특정 logger를 사용하지 않기 때문에 디버깅 정보를 별도로 보관한다.
     // ************************************************************
 
-    // 덤프(디버깅) 모드
-    private boolean dumpMode = false;
-    // 덤프(디버깅) 데이터 목록
-    private final List<FlatMessageDump> fieldsDump = new ArrayList<>();
-    // 덤프(디버깅) 테이블 레벨
-    protected int tableLevel = 0;
-    // 덤프(디버깅) 테이블명 (테이블 레벨 > 0)
-    protected String tableName = "";
-    // 덤프(디버깅) 테이블 행번호 (테이블 레벨 > 0)
-    protected int tableRow = 0;
-    private int absoluteOffset = 0;
+    // 호출 상태 (덤프 모드, 덤프 데이터 목록, 절대위치 offset)
+    private final FlatMessageContext context = new FlatMessageContext();
+
+    // 일괄 처리(encodeAll)에 사용할 pool
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
 
     /**
      * 플랫 메시지를 byte 배열로 변환한다.
@@ -70,219 +58,109 @@ public final class FlatMessageSerializer<T> {
      * @param jClass  class 모형
      * @param charset 문자열 인코딩
      */
+    @SuppressWarnings("unchecked")
     public FlatMessageSerializer(final Class<?> jClass, final Charset charset) {
-        this.jClass = jClass;
-        this.charset = charset;
-        fieldsList = AnnotationFields.getInstance().getFlatFieldInfoList(jClass);
+        codec = FlatMessageCodec.of((Class<T>) jClass, charset);
     }
 
     public FlatMessageSerializer(final Class<?> jClass, final Charset charset, final boolean dumpMode) {
-        this.jClass = jClass;
-        this.charset = charset;
-        fieldsList = AnnotationFields.getInstance().getFlatFieldInfoList(jClass);
-        this.dumpMode = dumpMode;
+        this(jClass, charset);
+        context.setDumpMode(dumpMode);
     }
 
     /**
      * 자료 길이를 리턴한다.
      */
-    @SuppressWarnings("unckecked")
     public int getLength(final T object) {
-        int length = 0;
-
-        for (FlatFieldInfo it : fieldsList) {
-            if (it.itemType == FlatFieldInfo.FieldTableType.FIELD) {
-                // class 처리
-                if (it.dataType == FieldDataType.CLASS) {
-                    FlatMessageSerializer<? super Object> subSerializer = new FlatMessageSerializer<>(it.dataClass, charset);
-                    Object subObject = ReflectionAccess.getField(it, object);
-                    if (subObject == null) {
-                        try {
-                            subObject = it.dataClass.newInstance();
-                        } catch (Exception e) {
-                            // Bean 클래스는 인자가 없는 빈 public 생성자가 있어야 한다.
-                            throw new InstanceCreateException(it.dataClass.getCanonicalName(), e);
-                        }
-                    }
-
-                    length += subSerializer.getLength(subObject);
-                    continue;
-                }
-
-                if (it.length >= 0)
-                    length += it.length;
-                else if (it.dataType == FieldDataType.BLOCK) {
-                    // it.length < 0 이고, 데이터 타입이 BLOCK 이면 길이 계산 없이 주어진 byte를 끝까지 더한다.
-                    Object data = ReflectionAccess.getField(it, object);
-
-                    // BLOCK으로 선언되어 있으면 항상 byte[] (어노테이션 점검시 검증함)
-                    if (data != null) {
-                        byte[] dataByte = (byte[]) data;
-                        length += dataByte.length;
-                    }
-                } else
-                    throw new FieldDataAccessException("Can not calculate data length: " +
-                            FlatStringUtil.shortClassName(it.field.getDeclaringClass().getCanonicalName()) + "." + it.field.getName());
-
-            } else if (it.itemType == FlatFieldInfo.FieldTableType.TABLE_FIXED ||
-                    it.itemType == FlatFieldInfo.FieldTableType.TABLE_VARIABLE) {
-                int loopCount = ReflectionAccess.getTableLoopCount(it, object, jClass);
-
-                int tableLen;
-                try {
-                    FlatMessageSerializer<? super Object> tableProcess = new FlatMessageSerializer<>(it.tableClass, charset);
-
-                    tableLen = tableProcess.getLength(it.tableClass.newInstance());
-                } catch (Exception e) {
-                    throw new FieldDataAccessException("Can not calculate table:" +
-                            FlatStringUtil.shortClassName(it.tableClass.getCanonicalName()), e);
-                }
-
-                length += (tableLen * loopCount);
-            }
-        }
-
-        return length;
+        return codec.getLength(object);
     }
 
     /**
      * 객체를 byte[]로 변환 (serialize)
      */
     public byte[] objectToBytes(final T object) {
-        byte[] buffer = new byte[getLength(object)];
-        int offset = 0;
-        fieldsDump.clear();
-
-        for (FlatFieldInfo it : fieldsList) {
-            if (it.itemType == FlatFieldInfo.FieldTableType.FIELD) {
-                Object valueObject = ReflectionAccess.getField(it, object);
-
-                byte[] value;
-                // class 처리
-                if (it.dataType == FieldDataType.CLASS) {
-                    FlatMessageSerializer<? super Object> subSerializer = new FlatMessageSerializer<>(it.dataClass, charset);
-                    if (valueObject == null) {
-                        try {
-                            valueObject = it.dataClass.newInstance();
-                        } catch (Exception e) {
-                            // Bean 클래스는 인자가 없는 빈 public 생성자가 있어야 한다.
-                            throw new InstanceCreateException(it.dataClass.getCanonicalName(), e);
-                        }
-                    }
-
-                    // 덤프(디버깅) 모드 셋팅
-                    subSerializer.dumpMode = dumpMode;
-                    subSerializer.tableLevel = tableLevel + 1;
-                    subSerializer.tableName = it.dataClass.getSimpleName();
-                    subSerializer.absoluteOffset = absoluteOffset;
-
-                    value = subSerializer.objectToBytes(valueObject);
-
-                    // 디버깅 데이터 처리
-                    if (dumpMode) {
-                        fieldsDump.addAll(subSerializer.getFieldsDump());
-                    }
-                } else {
-                    value = ConversionUtil.toBytes(valueObject, it.length, it.scale, charset);
-
-                    // 디버깅 데이터 생성
-                    if (dumpMode) {
-                        fieldsDump.add(new FlatMessageDump(it.field.getName(), it.name, offset, absoluteOffset,
-                                value.length, new String(value, charset), tableLevel, tableName, tableRow));
-                    }
-                }
-
-                System.arraycopy(value, 0, buffer, offset, value.length);
-                offset += value.length;
-                absoluteOffset += value.length;
-            } else if (it.itemType == FlatFieldInfo.FieldTableType.TABLE_FIXED ||
-                    it.itemType == FlatFieldInfo.FieldTableType.TABLE_VARIABLE) {
-                // 필드에 정의된 데이터 건수
-                int loopCount = ReflectionAccess.getTableLoopCount(it, object, jClass);
-                // 실제 데이터 건수
-                int arrayCount;
-                boolean isArray = it.field.getType().isArray();
-                Object target = ReflectionAccess.getField(it, object);
-                List<?> listObject = null;
-
-                if (target == null)
-                    arrayCount = 0;
-                else if (isArray)
-                    arrayCount = Array.getLength(target);
-                else {
-                    listObject = (List<?>) target;
-                    arrayCount = listObject.size();
-                }
-
-                FlatMessageSerializer<? super Object> tableProcess = new FlatMessageSerializer<>(it.tableClass, charset);
-
-                // 덤프(디버깅) 모드 셋팅
-                tableProcess.dumpMode = dumpMode;
-                tableProcess.tableLevel = tableLevel + 1;
-                tableProcess.tableName = it.tableClass.getSimpleName();
-                tableProcess.absoluteOffset = absoluteOffset;
-
-                // 필드에 정의한 데이터 수만큼 처리하고 데이터가 더 많으면 나머지는 버림
-                for (int i = 0; i < loopCount; i++) {
-                    Object tableClassObj;
-                    if (i < arrayCount) {
-                        // 실제 데이터 처리
-                        if (isArray)
-                            tableClassObj = Array.get(target, i);
-                        else
-                            tableClassObj = listObject.get(i);
-                    } else {
-                        // 선언한 데이터 건수보다 실제 데이터가 적은 경우 빈 데이터를 생성해서 채움
-                        try {
-                            tableClassObj = it.tableClass.newInstance();
-                        } catch (Exception e) {
-                            throw new AnnotationDefineException("Can not create instance: " + it.tableClass.getCanonicalName());
-                        }
-                    }
+        return codec.encode(object, context);
+    }
 
-                    tableProcess.tableRow++;
-                    byte[] value = tableProcess.objectToBytes(tableClassObj);
+    /**
+     * 객체를 dst 배열의 offset 위치부터 직렬화한다. (serialize)
+     *
+     * @param object 직렬화할 객체
+     * @param dst    기록할 배열
+     * @param offset 시작 offset
+     * @return 직렬화한 길이
+     * @throws IndexOutOfBoundsException offset 이후 남은 배열 길이가 자료 길이보다 짧음
+     */
+    public int serializeTo(final T object, final byte[] dst, final int offset) {
+        return codec.encodeTo(object, dst, offset, context);
+    }
 
-                    // 디버깅데이터
-                    if (dumpMode) {
-                        fieldsDump.addAll(tableProcess.getFieldsDump());
-                    }
+    /**
+     * 객체를 dst 버퍼의 현재 position 부터 직렬화하고, position 을 직렬화한 길이만큼 이동한다. (serialize)
+     * heap, direct buffer 모두 사용할 수 있다.
+     *
+     * @param object 직렬화할 객체
+     * @param dst    기록할 버퍼
+     * @return 직렬화한 길이
+     * @throws BufferOverflowException 버퍼의 남은 길이(remaining)가 자료 길이보다 짧음
+     */
+    public int serializeTo(final T object, final ByteBuffer dst) {
+        return codec.encodeTo(object, dst, context);
+    }
 
-                    System.arraycopy(value, 0, buffer, offset, value.length);
-                    offset += value.length;
-                    absoluteOffset += value.length;
-                }
-            }
-        } // end for
+    /**
+     * 객체 목록을 pool 에서 병렬로 직렬화한다. (덤프 모드는 적용하지 않음)
+     *
+     * @param objects 직렬화할 객체 목록
+     * @return 입력 순서대로 직렬화한 byte[] 목록
+     */
+    public List<byte[]> encodeAll(final List<? extends T> objects) {
+        final byte[][] result = new byte[objects.size()][];
+        ParallelBatch.forEach(pool, result.length, i -> result[i] = codec.encode(objects.get(i)));
+        return Arrays.asList(result);
+    }
 
-        return buffer;
+    /**
+     * @param pool 일괄 처리(encodeAll)에 사용할 ForkJoinPool (기본 commonPool)
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
      * @param dumpMode 데이터 덤프(디버깅용) 셋팅여부, objectToBytes 호출 전에 셋팅해야 한다
      */
     public void setDumpMode(boolean dumpMode) {
-        this.dumpMode = dumpMode;
+        context.setDumpMode(dumpMode);
+    }
+
+    /**
+     * 필드를 처리할 때마다 리스너를 호출한다. 리스너를 지정하면 덤프 목록은 기록하지 않으며, 일괄 처리에는 적용하지 않는다.
+     *
+     * @param dumpListener 덤프 리스너 (null 이면 해제), objectToBytes 호출 전에 셋팅해야 한다
+     */
+    public void setDumpListener(FlatMessageDumpListener dumpListener) {
+        context.setDumpListener(dumpListener);
     }
 
     /**
      * @return dumpMode가 활성화되어 있으면 마지막 objectToBytes 에 대한 필드 덤프 목록
      */
     public List<FlatMessageDump> getFieldsDump() {
-        return fieldsDump;
+        return context.getFieldsDump();
     }
 
     /**
      * @return 최종 절대위치 offset
      */
     public int getAbsoluteOffset() {
-        return absoluteOffset;
+        return context.getAbsoluteOffset();
     }
 
     /**
      * @param absoluteOffset dumpMode 활성화되어 있고 objectToBytes 호출 전에 필드 덤프시 사용할 절대위치 셋팅
      */
     public void setAbsoluteOffset(int absoluteOffset) {
-        this.absoluteOffset = absoluteOffset;
+        context.setAbsoluteOffset(absoluteOffset);
     }
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageView;
+import com.ezoneproject.flatmessage.annotation.FlatMessageViewField;
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+import com.ezoneproject.flatmessage.internal.ByteBufferUtil;
+import com.ezoneproject.flatmessage.internal.ConversionUtil;
+import com.ezoneproject.flatmessage.internal.GeneratedCodecs;
+import com.ezoneproject.flatmessage.internal.PrivateLookup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 버퍼에서 필드를 직접 읽는 flyweight 뷰 생성
+ * <pre>
+ *     {@literal @}FlatMessageView 로 메시지 클래스를 지정한 뷰 인터페이스의 getter 를 메시지 클래스의 필드에 연결하고,
+ *     레이아웃의 절대 오프셋으로 필드를 읽는다.
+ *     객체 전체를 역직렬화하지 않고 getter 를 호출할 때 해당 필드만 변환하며,
+ *     뷰는 FlatMessageFlyweight 를 구현하므로 wrap() 으로 다음 레코드를 가리키도록 변경할 수 있어 레코드마다 뷰를 생성하지 않는다.
+ *
+ *     어노테이션 프로세서가 생성한 [인터페이스명]_FlatView 클래스가 있으면 사용하고(기본형 리턴값도 박싱 없음),
+ *     없으면 java.lang.reflect.Proxy 로 구현한다(기본형 리턴값은 박싱됨).
+ *
+ *     getter 는 인자가 없어야 하고, 필드 위치가 고정(테이블 행 안이나 가변 길이 항목 뒤가 아님)이어야 한다.
+ *     리턴 타입은 NUMERIC 필드는 int, long, float, double(박싱 타입 포함), BigDecimal, BigInteger,
+ *     문자열 필드는 String 또는 CharSequence(FlatCharSequence), BLOCK 필드는 byte[] 또는 ByteBuffer 이어야 한다.
+ *     CharSequence 는 getter 별로 하나의 FlatCharSequence 를 재사용해서 버퍼를 복사하지 않고 가리키며(다음 호출에서 변경됨),
+ *     ByteBuffer 는 필드 범위를 가리키는 view 를 리턴한다.
+ *     default 메서드는 필드와 연결하지 않고 인터페이스의 구현을 그대로 호출한다.
+ *     팩토리는 여러 스레드에서 공유할 수 있고, 뷰 인스턴스는 공유할 수 없다.
+ * </pre>
+ */
+public final class FlatMessageViewFactory<V> {
+    /**
+     * 어노테이션 프로세서가 생성하는 뷰 클래스명 접미사
+     */
+    public static final String CLASS_SUFFIX = "_FlatView";
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<V> viewInterface;
+    private final Class<?> messageClass;
+    private final Charset charset;
+    /**
+     * getter 메서드별 필드
+     */
+    private final Map<Method, ViewField> fields = new HashMap<>();
+    /**
+     * default 메서드별 인터페이스 구현 (Proxy 로 구현하는 경우, (Object proxy, Object[] args)Object 형태)
+     */
+    private final Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+    /**
+     * 생성된 뷰 클래스의 (Charset) 생성자, 없으면 null
+     */
+    private final Constructor<? extends V> generatedConstructor;
+
+    private FlatMessageViewFactory(final Class<V> viewInterface, final Charset charset) {
+        if (!viewInterface.isInterface())
+            throw new AnnotationDefineException("View type is not interface: " + viewInterface.getName());
+
+        FlatMessageView annotation = viewInterface.getAnnotation(FlatMessageView.class);
+        if (annotation == null)
+            throw new AnnotationDefineException("@FlatMessageView is not defined: " + viewInterface.getName());
+
+        this.viewInterface = viewInterface;
+        this.messageClass = annotation.value();
+        this.charset = charset;
+
+        FlatMessageLayout layout = FlatMessageLayout.of(messageClass);
+        for (Method method : viewInterface.getMethods()) {
+            if (method.getDeclaringClass() == FlatMessageFlyweight.class || method.isDefault() ||
+                    Modifier.isStatic(method.getModifiers()))
+                continue;
+
+            fields.put(method, viewField(layout, method, fields.size()));
+        }
+
+        this.generatedConstructor = findGenerated(viewInterface);
+
+        // 생성된 뷰는 default 메서드를 상속하므로 Proxy 만 인터페이스의 구현을 연결
+        if (generatedConstructor == null) {
+            for (Method method : viewInterface.getMethods()) {
+                if (method.isDefault())
+                    defaultMethods.put(method, defaultMethod(method));
+            }
+        }
+    }
+
+    /**
+     * 뷰 인터페이스에 지정한 메시지 클래스와 연결한 팩토리 생성
+     *
+     * @param viewInterface {@literal @}FlatMessageView 를 지정하고 getter 메서드로 구성된 뷰 인터페이스
+     * @param charset       문자열 인코딩
+     * @throws AnnotationDefineException 어노테이션이 없거나 getter 와 필드를 연결할 수 없음
+     */
+    public static <V> FlatMessageViewFactory<V> of(final Class<V> viewInterface, final Charset charset) {
+        return new FlatMessageViewFactory<>(viewInterface, charset);
+    }
+
+    /**
+     * default 메서드의 인터페이스 구현
+     * <pre>
+     *     호출할 때마다 bindTo/invokeWithArguments 로 핸들을 만들지 않도록
+     *     (Object proxy, Object[] args)Object 형태로 미리 변환해서 invokeExact 로 호출한다.
+     * </pre>
+     *
+     * @throws AnnotationDefineException 인터페이스에 접근할 수 없음
+     */
+    private static MethodHandle defaultMethod(final Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            return PrivateLookup.in(declaringClass).unreflectSpecial(method, declaringClass)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new AnnotationDefineException("Can not access default method: " + method, e);
+        }
+    }
+
+    /**
+     * 어노테이션 프로세서가 생성한 뷰 클래스 검색
+     */
+    private static <V> Constructor<? extends V> findGenerated(final Class<V> viewInterface) {
+        if (!GeneratedCodecs.isEnabled())
+            return null;
+
+        try {
+            Class<?> viewClass = Class.forName(GeneratedCodecs.generatedClassName(viewInterface, CLASS_SUFFIX),
+                    true, viewInterface.getClassLoader());
+            if (!viewInterface.isAssignableFrom(viewClass) || !FlatMessageFlyweight.class.isAssignableFrom(viewClass))
+                return null;
+
+            return viewClass.asSubclass(viewInterface).getConstructor(Charset.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 메시지 클래스
+     */
+    public Class<?> getMessageClass() {
+        return messageClass;
+    }
+
+    /**
+     * @return 생성된 뷰 클래스를 사용하면 true
+     */
+    public boolean isGenerated() {
+        return generatedConstructor != null;
+    }
+
+    /**
+     * @return 아직 레코드를 가리키지 않는 뷰 (wrap 후 사용)
+     */
+    public V newView() {
+        if (generatedConstructor != null) {
+            try {
+                return generatedConstructor.newInstance(charset);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new InstanceCreateException(e.getMessage(), e);
+            }
+        }
+
+        return viewInterface.cast(Proxy.newProxyInstance(viewInterface.getClassLoader(),
+                new Class<?>[]{viewInterface, FlatMessageFlyweight.class}, new ViewHandler()));
+    }
+
+    /**
+     * @return data 의 offset 위치부터 시작하는 레코드를 읽는 뷰
+     */
+    public V view(final byte[] data, final int offset) {
+        V view = newView();
+        ((FlatMessageFlyweight) view).wrap(data, offset);
+        return view;
+    }
+
+    /**
+     * @return data 의 offset 위치(절대 위치)부터 시작하는 레코드를 읽는 뷰
+     */
+    public V view(final ByteBuffer data, final int offset) {
+        V view = newView();
+        ((FlatMessageFlyweight) view).wrap(data, offset);
+        return view;
+    }
+
+    /**
+     * getter 메서드에 연결할 필드를 레이아웃에서 찾고 리턴 타입을 검증
+     */
+    private ViewField viewField(final FlatMessageLayout layout, final Method method, final int index) {
+        String methodName = FlatStringUtil.shortClassName(viewInterface.getName()) + "." + method.getName();
+        if (method.getParameterCount() != 0)
+            throw new AnnotationDefineException("View method must have no parameter: " + methodName);
+
+        FlatMessageViewField annotation = method.getAnnotation(FlatMessageViewField.class);
+        String path = (annotation != null && annotation.value().length() > 0) ? annotation.value() : propertyName(method);
+
+        FlatMessageLayout.Entry entry = null;
+        for (FlatMessageLayout.Entry it : layout.getEntries()) {
+            if (it.getType() == FlatMessageLayout.EntryType.FIELD && it.getPath().equals(path)) {
+                entry = it;
+                break;
+            }
+        }
+
+        if (entry == null)
+            throw new AnnotationDefineException("View field is not defined(" + path + "): " + methodName);
+        if (entry.getAbsoluteOffset() < 0 || entry.getLength() < 0)
+            throw new AnnotationDefineException("View field offset is not fixed(" + path + "): " + methodName);
+        if (!returnTypeMatches(entry.getDataType(), method.getReturnType()))
+            throw new AnnotationDefineException("View method return type does not match " + entry.getDataType() +
+                    "(" + path + "): " + methodName);
+
+        return new ViewField(entry, method.getReturnType(),
+                FlatStringUtil.shortClassName(messageClass.getCanonicalName()) + "." + path, index);
+    }
+
+    /**
+     * getXxx, isXxx 메서드 이름의 필드명
+     */
+    private static String propertyName(final Method method) {
+        String name = method.getName();
+        int prefix = (name.startsWith("get") && name.length() > 3) ? 3 :
+                (name.startsWith("is") && name.length() > 2) ? 2 : 0;
+        if (prefix == 0)
+            return name;
+
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static boolean returnTypeMatches(final FieldDataType dataType, final Class<?> type) {
+        switch (dataType) {
+            case NUMERIC:
+                return type == int.class || type == Integer.class || type == long.class || type == Long.class ||
+                        type == float.class || type == Float.class || type == double.class || type == Double.class ||
+                        type == BigDecimal.class || type == BigInteger.class;
+            case BLOCK:
+                return type == byte[].class || type == ByteBuffer.class;
+            case ALPHANUM:
+            case STRING:
+            case UTF8:
+                return type == String.class || type == CharSequence.class || type == FlatCharSequence.class;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * getter 에 연결한 필드 (위치, 길이, 변환 정보)
+     */
+    private static final class ViewField {
+        final FieldDataType dataType;
+        final int offset;
+        final int length;
+        final int scale;
+        final Class<?> type;
+        final String fieldName;
+        /**
+         * getter 순번 (FlatCharSequence 재사용 위치)
+         */
+        final int index;
+
+        ViewField(FlatMessageLayout.Entry entry, Class<?> type, String fieldName, int index) {
+            this.dataType = entry.getDataType();
+            this.offset = entry.getAbsoluteOffset();
+            this.length = entry.getLength();
+            this.scale = entry.getScale();
+            this.type = type;
+            this.fieldName = fieldName;
+            this.index = index;
+        }
+    }
+
+    /**
+     * 뷰 인스턴스의 상태 (가리키는 버퍼와 레코드 시작 위치)
+     */
+    private final class ViewHandler implements InvocationHandler {
+        private byte[] array = null;
+        private ByteBuffer buffer = null;
+        private int offset = 0;
+        /**
+         * getter 별 재사용 CharSequence
+         */
+        private final FlatCharSequence[] sequences = new FlatCharSequence[fields.size()];
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodHandle defaultMethod = defaultMethods.get(method);
+            if (defaultMethod != null) {
+                Object[] arguments = (args == null) ? NO_ARGS : args;
+                return (Object) defaultMethod.invokeExact(proxy, arguments);
+            }
+
+            ViewField field = fields.get(method);
+            if (field != null) {
+                if (buffer == null)
+                    throw new IllegalStateException("View is not wrapped: " + viewInterface.getName());
+
+                if (field.type == CharSequence.class || field.type == FlatCharSequence.class) {
+                    FlatCharSequence sequence = sequences[field.index];
+                    if (sequence == null)
+                        sequence = sequences[field.index] = new FlatCharSequence(field.dataType, charset);
+                    return sequence.wrap(buffer, offset + field.offset, field.length);
+                }
+                if (field.type == ByteBuffer.class)
+                    return ByteBufferUtil.slice(buffer, offset + field.offset, field.length);
+
+                return ConversionUtil.read(buffer, offset + field.offset, field.length, field.dataType, field.scale,
+                        field.type, field.fieldName, charset);
+            }
+
+            switch (method.getName()) {
+                case "wrap":
+                    if (args[0] instanceof byte[]) {
+                        byte[] data = (byte[]) args[0];
+                        if (data != array) {
+                            array = data;
+                            buffer = ByteBuffer.wrap(data);
+                        }
+                    } else {
+                        array = null;
+                        buffer = (ByteBuffer) args[0];
+                    }
+                    offset = (Integer) args[1];
+                    return null;
+                case "getViewOffset":
+                    return offset;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return FlatStringUtil.shortClassName(viewInterface.getName()) + "@" + offset;
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * 연속된 객체를 직렬화해서 OutputStream, WritableByteChannel 에 기록
+ * <pre>
+ *     레코드를 재사용하는 버퍼에 바로 직렬화하고, 버퍼가 차면 한 번에 기록한다.
+ *     레코드별 byte[] 생성이나 작은 write 호출이 없으며, 버퍼는 한 레코드를 담을 수 없는 경우에만 늘어난다.
+ *     close 또는 flush 를 호출해야 버퍼에 남은 데이터가 기록된다.
+ *     채널은 blocking 모드여야 하며, 스레드간에 공유할 수 없다.
+ * </pre>
+ */
+public final class FlatMessageWriter<T> implements Closeable, Flushable {
+    /**
+     * 기본 버퍼 크기
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final FlatMessageCodec<T> codec;
+    private final WritableByteChannel channel;
+    /**
+     * OutputStream 으로 생성한 경우 flush 대상 (채널로 생성하면 null)
+     */
+    private final OutputStream out;
+    private final FlatMessageContext context = new FlatMessageContext();
+
+    /**
+     * 쓰기 모드 버퍼, 0 부터 position 까지 기록하지 않은 데이터
+     */
+    private ByteBuffer buffer;
+    private byte[] recordSeparator = new byte[0];
+    /**
+     * 기록한 길이 (구분자 포함, 버퍼에 남은 데이터 포함)
+     */
+    private long position = 0;
+    private long recordCount = 0;
+
+    public FlatMessageWriter(final Class<T> jClass, final Charset charset, final OutputStream out) {
+        this(FlatMessageCodec.of(jClass, charset), Channels.newChannel(out), out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FlatMessageWriter(final Class<T> jClass, final Charset charset, final WritableByteChannel channel) {
+        this(FlatMessageCodec.of(jClass, charset), channel, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param codec      직렬화 코덱
+     * @param channel    기록할 채널
+     * @param bufferSize 초기 버퍼 크기
+     */
+    public FlatMessageWriter(final FlatMessageCodec<T> codec, final WritableByteChannel channel, final int bufferSize) {
+        this(codec, channel, null, bufferSize);
+    }
+
+    private FlatMessageWriter(final FlatMessageCodec<T> codec, final WritableByteChannel channel,
+                              final OutputStream out, final int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+
+        this.codec = codec;
+        this.channel = channel;
+        this.out = out;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * @param recordSeparator 레코드마다 뒤에 기록할 구분자 (예: CR LF), null 이면 구분자 없음
+     */
+    public void setRecordSeparator(final byte[] recordSeparator) {
+        this.recordSeparator = (recordSeparator == null) ? new byte[0] : recordSeparator.clone();
+    }
+
+    public byte[] getRecordSeparator() {
+        return recordSeparator.clone();
+    }
+
+    /**
+     * @return 지금까지 기록한 레코드 수
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return 지금까지 기록한 길이 (구분자와 버퍼에 남은 데이터 포함)
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * 객체를 버퍼에 직렬화한다. 버퍼가 부족하면 버퍼의 데이터를 먼저 기록한다.
+     *
+     * @throws IOException              쓰기 오류
+     * @throws FieldDataAccessException 필드 데이터 접근 오류
+     * @throws DataConversionException  데이터 컨버전 오류
+     */
+    public void write(final T object) throws IOException {
+        int length = codec.encodedLength(object, context.planContext) + recordSeparator.length;
+        if (buffer.remaining() < length) {
+            drain();
+            if (buffer.capacity() < length)
+                buffer = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+        }
+
+        // 길이는 위에서 확인했으므로 다시 계산하지 않고 기록
+        int written = codec.encodeObject(object, buffer, buffer.position(), context.planContext);
+        buffer.position(buffer.position() + written);
+        buffer.put(recordSeparator);
+
+        position += length;
+        recordCount++;
+    }
+
+    /**
+     * 객체를 순서대로 버퍼에 직렬화한다.
+     */
+    public void writeAll(final Iterable<? extends T> objects) throws IOException {
+        for (T object : objects)
+            write(object);
+    }
+
+    /**
+     * 버퍼의 데이터를 기록하고, OutputStream 으로 생성한 경우 OutputStream 도 flush 한다.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (out != null)
+            out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * 버퍼의 데이터를 채널에 기록하고 버퍼를 비움
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 메시지 클래스의 필드를 버퍼에서 직접 읽는 뷰 인터페이스를 정의하는 어노테이션
+ * <pre>
+ *     인터페이스의 getter 메서드는 메시지 클래스의 같은 이름 필드(또는 FlatMessageViewField 로 지정한 경로)를 읽는다.
+ *     flat-message-processor 를 사용하면 빌드 시점에 [인터페이스명]_FlatView 구현 클래스가 생성된다.
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface FlatMessageView {
+    /**
+     * 메시지 클래스
+     */
+    Class<?> value();
+}
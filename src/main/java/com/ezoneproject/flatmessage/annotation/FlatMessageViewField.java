@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 뷰 인터페이스의 getter 메서드가 읽을 메시지 필드를 지정하는 어노테이션
+ * <pre>
+ *     어노테이션이 없으면 getter 이름(getXxx, isXxx)에서 필드명을 찾는다.
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface FlatMessageViewField {
+    /**
+     * 메시지 클래스 기준 필드 경로 (예: amount, header.code), 생략하면 getter 이름의 필드명
+     */
+    String value() default "";
+}
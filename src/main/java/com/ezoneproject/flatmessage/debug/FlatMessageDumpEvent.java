@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.debug;
+
+/**
+ * 리스너에 전달하는 필드 덤프 정보 (FlatMessageDump 와 같은 항목)
+ * <pre>
+ *     데이터 문자열은 getData() 를 호출할 때 만든다.
+ * </pre>
+ */
+public interface FlatMessageDumpEvent {
+    /**
+     * @return 필드명
+     */
+    String getName();
+
+    /**
+     * @return 필드 설명 (없으면 필드명)
+     */
+    String getDescription();
+
+    /**
+     * @return 오프셋
+     */
+    int getOffset();
+
+    /**
+     * @return 절대오프셋
+     */
+    int getAbsoluteOffset();
+
+    /**
+     * @return 필드 길이
+     */
+    int getLength();
+
+    /**
+     * @return 필드 데이터
+     */
+    String getData();
+
+    /**
+     * @return 테이블 중첩 레벨
+     */
+    int getTableLevel();
+
+    /**
+     * @return 테이블명
+     */
+    String getTableName();
+
+    /**
+     * @return 테이블 row 인덱스
+     */
+    int getTableRow();
+
+    /**
+     * @return 현재 정보를 복사한 덤프 데이터
+     */
+    FlatMessageDump toDump();
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.debug;
+
+/**
+ * 필드 덤프 리스너
+ * <pre>
+ *     직렬화/역직렬화할 때 필드를 처리할 때마다 호출되며, 리스너를 지정하면 덤프 목록은 기록하지 않는다.
+ *     이벤트 객체는 호출간 재사용하므로 보관하려면 toDump() 로 복사해야 한다.
+ *     리스너에서 발생한 예외는 직렬화/역직렬화를 중단하고 그대로 전달된다.
+ * </pre>
+ */
+@FunctionalInterface
+public interface FlatMessageDumpListener {
+    /**
+     * @param event 처리한 필드 정보 (호출이 끝나면 다른 필드로 변경됨)
+     */
+    void onField(FlatMessageDumpEvent event);
+}
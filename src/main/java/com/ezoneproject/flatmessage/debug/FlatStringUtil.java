@@ -83,14 +83,10 @@ public final class FlatStringUtil {
         if (str == null)
             return "";
 
-        char[] chars = str.toCharArray();
-        for (int i = chars.length - 1; i >= 0; i--) {
-            if (chars[i] != ' ' && chars[i] != '\u0000')
-                return new String(chars, 0, i + 1);
-            if (i == 0)
-                return "";
-        }
-        return str;
+        int end = str.length();
+        while (end > 0 && (str.charAt(end - 1) == ' ' || str.charAt(end - 1) == '\u0000'))
+            end--;
+        return (end == str.length()) ? str : str.substring(0, end);
     }
 
     /**
@@ -34,7 +34,20 @@ public final class AnnotationFields {
 
     private static final AnnotationFields instance = new AnnotationFields();
 
-    private final Map<String, List<FlatFieldInfo>> flatFieldInfoCache = new HashMap<>();
+    /**
+     * 클래스별 필드 목록 캐시
+     * <pre>
+     *     Class 자체에 값을 보관하므로 조회는 잠금 없이 처리하고, 클래스로더가 다르면 이름이 같아도 별도로 보관하며,
+     *     클래스가 언로드되면 함께 해제된다.
+     *     최초 조회가 동시에 발생하면 목록을 중복 생성할 수 있지만 먼저 등록된 목록만 사용한다.
+     * </pre>
+     */
+    private final ClassValue<List<FlatFieldInfo>> flatFieldInfoCache = new ClassValue<List<FlatFieldInfo>>() {
+        @Override
+        protected List<FlatFieldInfo> computeValue(Class<?> type) {
+            return makeFlatFieldInfoList(type);
+        }
+    };
 
     private AnnotationFields() {
     }
@@ -47,17 +60,7 @@ public final class AnnotationFields {
      * 필드 어노테이션을 목록으로 생성하고 캐시
      */
     public <T> List<FlatFieldInfo> getFlatFieldInfoList(Class<T> jClass) {
-        String className = jClass.getCanonicalName();
-
-        List<FlatFieldInfo> result;
-        synchronized (flatFieldInfoCache) {
-            result = flatFieldInfoCache.get(className);
-            if (result == null) {
-                result = makeFlatFieldInfoList(jClass);
-                flatFieldInfoCache.put(className, result);
-            }
-        }
-        return result;
+        return flatFieldInfoCache.get(jClass);
     }
 
     /**
@@ -90,27 +93,28 @@ public final class AnnotationFields {
             if (Modifier.isPublic(field.getModifiers())) {
                 fieldInfo.isPublic = true;
             }
-            // public 이 아니면 필드 getter와 setter가 있어야 함
+            // public 이 아니면 getter/setter 메서드를 사용하고, 메서드가 없으면 필드에 직접 억세스함
             else {
                 fieldInfo.isPublic = false;
 
-                String clsFldName = jClass.getCanonicalName() + "." + field.getName();
                 String methodName = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
 
                 // getter method
                 try {
                     fieldInfo.getterMethod = jClass.getMethod("get" + methodName);
                 } catch (NoSuchMethodException e) {
-                    throw new AnnotationDefineException("@FlatMessageTable() getter() method is not exist: " + clsFldName);
+                    fieldInfo.getterMethod = null;
                 }
                 // setter method
                 try {
                     fieldInfo.setterMethod = jClass.getMethod("set" + methodName, field.getType());
                 } catch (NoSuchMethodException e) {
-                    throw new AnnotationDefineException("@FlatMessageTable() setter(" + field.getType() + ") method is not exist: " + clsFldName);
+                    fieldInfo.setterMethod = null;
                 }
             }
 
+            fieldInfo.accessor = FieldAccessor.of(fieldInfo);
+
             resultFieldList.add(fieldInfo);
         } // end for
 
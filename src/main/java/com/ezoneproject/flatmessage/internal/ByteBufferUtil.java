@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * ByteBuffer 절대 위치(index) 기반 bulk 처리
+ * <pre>
+ *     heap buffer는 내부 배열에 직접 접근하고, direct buffer는 byte 단위로 처리한다.
+ *     buffer의 position, limit는 변경하지 않는다.
+ * </pre>
+ */
+public final class ByteBufferUtil {
+    private ByteBufferUtil() {
+    }
+
+    /**
+     * src[off ~ off+len]을 dst[pos]부터 기록
+     */
+    public static void put(final ByteBuffer dst, final int pos, final byte[] src, final int off, final int len) {
+        if (dst.hasArray()) {
+            if (pos < 0 || len > dst.limit() - pos)
+                throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+            System.arraycopy(src, off, dst.array(), dst.arrayOffset() + pos, len);
+        } else {
+            for (int i = 0; i < len; i++)
+                dst.put(pos + i, src[off + i]);
+        }
+    }
+
+    /**
+     * dst[pos]부터 len만큼 value로 채움
+     */
+    public static void fill(final ByteBuffer dst, final int pos, final int len, final byte value) {
+        if (len <= 0)
+            return;
+
+        if (dst.hasArray()) {
+            if (pos < 0 || len > dst.limit() - pos)
+                throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+            int start = dst.arrayOffset() + pos;
+            Arrays.fill(dst.array(), start, start + len, value);
+        } else {
+            for (int i = 0; i < len; i++)
+                dst.put(pos + i, value);
+        }
+    }
+
+    /**
+     * src[pos]부터 len만큼 복사
+     */
+    public static byte[] copy(final ByteBuffer src, final int pos, final int len) {
+        byte[] target = new byte[len];
+        if (src.hasArray()) {
+            if (pos < 0 || len > src.limit() - pos)
+                throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+            System.arraycopy(src.array(), src.arrayOffset() + pos, target, 0, len);
+        } else {
+            for (int i = 0; i < len; i++)
+                target[i] = src.get(pos + i);
+        }
+        return target;
+    }
+
+    /**
+     * src[pos]부터 len만큼을 가리키는 view (position 0, limit len, 내용은 복사하지 않음)
+     */
+    public static ByteBuffer slice(final ByteBuffer src, final int pos, final int len) {
+        if (pos < 0 || len < 0 || len > src.limit() - pos)
+            throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+
+        ByteBuffer view = src.duplicate();
+        view.limit(pos + len);
+        view.position(pos);
+        return view.slice();
+    }
+
+    /**
+     * src[pos]부터 len만큼 문자열로 변환
+     */
+    public static String toString(final ByteBuffer src, final int pos, final int len, final Charset charset) {
+        if (src.hasArray()) {
+            if (pos < 0 || len > src.limit() - pos)
+                throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+            return new String(src.array(), src.arrayOffset() + pos, len, charset);
+        }
+        return new String(copy(src, pos, len), charset);
+    }
+}
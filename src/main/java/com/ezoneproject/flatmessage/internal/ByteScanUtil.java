@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 필드 byte 범위 검사 (8 byte 단위 SWAR)
+ * <pre>
+ *     8 byte 를 long 하나로 읽어서 byte 별 조건을 한 번에 검사하고, 남는 byte 는 하나씩 검사한다.
+ *     공백/NUL 패딩이 긴 필드의 오른쪽 공백 제외, ALPHANUM 문자 범위, NUMERIC 숫자 검사에 사용한다.
+ *     buffer의 position, limit, byte order 는 변경하지 않는다.
+ * </pre>
+ */
+public final class ByteScanUtil {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long SPACES = 0x2020202020202020L;
+    private static final long ZEROS = 0x3030303030303030L;
+
+    private ByteScanUtil() {
+    }
+
+    /**
+     * 오른쪽 공백을 제외한 끝 위치
+     *
+     * @param nul true 이면 '\0' 도 공백으로 처리
+     * @return 오른쪽 공백을 제외한 끝 위치 (절대 위치, 모두 공백이면 pos)
+     */
+    public static int trimEnd(final ByteBuffer src, final int pos, final int len, final boolean nul) {
+        int end = pos + len;
+        // ' ' 는 0x20, '\0' 은 0x00 이므로 0x20 비트를 지우면 0
+        final long mask = nul ? ~SPACES : -1L;
+        final long pad = nul ? 0L : SPACES;
+        while (end - pos >= Long.BYTES && (src.getLong(end - Long.BYTES) & mask) == pad)
+            end -= Long.BYTES;
+
+        while (end > pos) {
+            byte b = src.get(end - 1);
+            if (b != ' ' && (b != 0 || !nul))
+                break;
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * 모든 byte 가 ASCII(0x00~0x7F)인지 여부
+     */
+    public static boolean isAscii(final ByteBuffer src, final int pos, final int len) {
+        final int end = pos + len;
+        int p = pos;
+        for (; end - p >= Long.BYTES; p += Long.BYTES) {
+            if ((src.getLong(p) & HIGH_BITS) != 0)
+                return false;
+        }
+        for (; p < end; p++) {
+            if (src.get(p) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 모든 byte 가 ALPHANUM 허용 범위(0x20~0x7F)인지 여부
+     */
+    public static boolean isPrintableAscii(final ByteBuffer src, final int pos, final int len) {
+        final int end = pos + len;
+        int p = pos;
+        for (; end - p >= Long.BYTES; p += Long.BYTES) {
+            final long word = src.getLong(p);
+            // 최상위 비트가 없는 byte 중 0x20 보다 작은 byte 가 있으면 뺄셈에서 최상위 비트가 생김
+            if ((word & HIGH_BITS) != 0 || ((word - SPACES) & HIGH_BITS) != 0)
+                return false;
+        }
+        for (; p < end; p++) {
+            if (src.get(p) < 0x20)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * src[pos]부터 8 byte 를 앞 byte 가 상위 byte 가 되도록 읽음 (buffer 의 byte order 와 관계없음)
+     */
+    static long getWord(final ByteBuffer src, final int pos) {
+        final long word = src.getLong(pos);
+        return (src.order() == ByteOrder.BIG_ENDIAN) ? word : Long.reverseBytes(word);
+    }
+
+    /**
+     * 8 byte 가 모두 숫자('0'~'9')인지 여부
+     */
+    static boolean isDigits(final long word) {
+        // 상위 4비트가 모두 3이고, 6을 더해도 자리올림이 없으면 0~9
+        return (word & 0xF0F0F0F0F0F0F0F0L) == ZEROS && ((word + 6 * ONES) & 0xF0F0F0F0F0F0F0F0L) == ZEROS;
+    }
+
+    /**
+     * 8 byte 가 모두 '0' 인지 여부
+     */
+    static boolean isZeros(final long word) {
+        return word == ZEROS;
+    }
+
+    /**
+     * 숫자 8 자리 값 (getWord 로 읽고 isDigits 를 확인한 word)
+     */
+    static long digitsValue(final long word) {
+        long value = word - ZEROS;
+        // 2자리, 4자리, 8자리 순으로 합침 (앞 자리가 상위 byte)
+        value = ((value >>> 8) & 0x00FF00FF00FF00FFL) * 10 + (value & 0x00FF00FF00FF00FFL);
+        value = ((value >>> 16) & 0x0000FFFF0000FFFFL) * 100 + (value & 0x0000FFFF0000FFFFL);
+        return (value >>> 32) * 10_000 + (value & 0x00000000FFFFFFFFL);
+    }
+}
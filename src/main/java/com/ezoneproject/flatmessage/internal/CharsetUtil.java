@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 문자열 필드 인코딩/디코딩
+ * <pre>
+ *     ASCII 호환 charset(UTF-8, CP949, EUC-KR, ISO-8859-1 등)은 ASCII 로만 구성된 내용을 byte 그대로 복사하고,
+ *     비ASCII 내용은 스레드별로 캐시한 CharsetEncoder/CharsetDecoder 로 대상 buffer 에 직접 변환한다.
+ *     인코딩 결과가 필드 길이를 초과하면 문자 단위로 자른다. (문자의 일부 byte 만 기록하지 않음)
+ *     변환할 수 없는 문자는 String.getBytes, new String 과 같이 대체 문자로 변환한다.
+ * </pre>
+ */
+public final class CharsetUtil {
+    /**
+     * charset 별 ASCII 호환 여부
+     */
+    private static final ConcurrentMap<Charset, Boolean> asciiCompatibleCache = new ConcurrentHashMap<>();
+    /**
+     * 스레드별 charset 인코더/디코더
+     */
+    private static final ThreadLocal<Map<Charset, Coder>> coders = ThreadLocal.withInitial(HashMap::new);
+
+    private CharsetUtil() {
+    }
+
+    /**
+     * 0x00~0x7F 문자가 같은 값의 1 byte 로 인코딩/디코딩되는 charset 여부
+     */
+    public static boolean isAsciiCompatible(final Charset charset) {
+        Boolean compatible = asciiCompatibleCache.get(charset);
+        if (compatible == null) {
+            compatible = checkAsciiCompatible(charset);
+            Boolean prev = asciiCompatibleCache.putIfAbsent(charset, compatible);
+            if (prev != null)
+                compatible = prev;
+        }
+        return compatible;
+    }
+
+    private static boolean checkAsciiCompatible(final Charset charset) {
+        if (!charset.canEncode())
+            return false;
+
+        char[] chars = new char[0x80];
+        byte[] bytes = new byte[0x80];
+        for (int i = 0; i < 0x80; i++) {
+            chars[i] = (char) i;
+            bytes[i] = (byte) i;
+        }
+        String ascii = new String(chars);
+        return new String(bytes, charset).equals(ascii) &&
+                Arrays.equals(ascii.getBytes(charset), bytes);
+    }
+
+    /**
+     * str 을 dst[pos]부터 len 이내로 인코딩 (남는 자리는 채우지 않음)
+     *
+     * @return 기록한 길이
+     */
+    public static int encode(final String str, final ByteBuffer dst, final int pos, final int len, final Charset charset) {
+        if (pos < 0 || len < 0 || len > dst.limit() - pos)
+            throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+
+        if (isAsciiCompatible(charset) && isAscii(str)) {
+            int copyLen = Math.min(str.length(), len);
+            if (dst.hasArray()) {
+                byte[] array = dst.array();
+                int start = dst.arrayOffset() + pos;
+                for (int i = 0; i < copyLen; i++)
+                    array[start + i] = (byte) str.charAt(i);
+            } else {
+                for (int i = 0; i < copyLen; i++)
+                    dst.put(pos + i, (byte) str.charAt(i));
+            }
+            return copyLen;
+        }
+
+        // 인코더를 지원하지 않는 charset
+        if (!charset.canEncode()) {
+            byte[] source = str.getBytes(charset);
+            int copyLen = Math.min(source.length, len);
+            ByteBufferUtil.put(dst, pos, source, 0, copyLen);
+            return copyLen;
+        }
+
+        ByteBuffer out = dst.duplicate();
+        out.limit(pos + len);
+        out.position(pos);
+
+        // 공간이 부족하면(OVERFLOW) 마지막으로 인코딩한 문자까지만 기록됨
+        CharsetEncoder encoder = coder(charset).encoder();
+        encoder.encode(CharBuffer.wrap(str), out, true);
+        encoder.flush(out);
+        return out.position() - pos;
+    }
+
+    /**
+     * src[pos]부터 len 만큼을 오른쪽 공백(' ', '\0')을 제외한 문자열로 변환 (FlatStringUtil.rtrim 과 같은 결과)
+     */
+    public static String decodeTrimmed(final ByteBuffer src, final int pos, final int len, final Charset charset) {
+        if (pos < 0 || len < 0 || len > src.limit() - pos)
+            throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
+
+        if (!isAsciiCompatible(charset))
+            return FlatStringUtil.rtrim(decode(src, pos, len, charset));
+
+        // ASCII 호환 charset 은 멀티바이트 문자에 0x20, 0x00 byte 가 없으므로 byte 단위로 오른쪽 공백을 제외
+        int trimmedLen = ByteScanUtil.trimEnd(src, pos, len, true) - pos;
+        if (trimmedLen == 0)
+            return "";
+
+        if (!ByteScanUtil.isAscii(src, pos, trimmedLen))
+            return decode(src, pos, trimmedLen, charset);
+        return asciiString(src, pos, trimmedLen);
+    }
+
+    /**
+     * ASCII 로만 구성된 src[pos]부터 len 만큼을 문자열로 변환 (byte 를 그대로 문자로 사용)
+     */
+    public static String asciiString(final ByteBuffer src, final int pos, final int len) {
+        // ISO-8859-1 은 byte 값이 그대로 문자가 되므로 ASCII 범위는 charset 과 관계없이 같은 결과
+        if (src.hasArray())
+            return new String(src.array(), src.arrayOffset() + pos, len, StandardCharsets.ISO_8859_1);
+
+        char[] chars = new char[len];
+        for (int i = 0; i < len; i++)
+            chars[i] = (char) src.get(pos + i);
+        return new String(chars);
+    }
+
+    /**
+     * 캐시한 디코더로 src[pos]부터 len 만큼을 문자열로 변환
+     */
+    private static String decode(final ByteBuffer src, final int pos, final int len, final Charset charset) {
+        ByteBuffer in = src.duplicate();
+        in.limit(pos + len);
+        in.position(pos);
+
+        Coder coder = coder(charset);
+        CharsetDecoder decoder = coder.decoder();
+        CharBuffer out = coder.charBuffer((int) Math.ceil(len * (double) decoder.maxCharsPerByte()));
+        decoder.decode(in, out, true);
+        decoder.flush(out);
+        out.flip();
+        return out.toString();
+    }
+
+    private static boolean isAscii(final String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
+    private static Coder coder(final Charset charset) {
+        Map<Charset, Coder> map = coders.get();
+        Coder coder = map.get(charset);
+        if (coder == null) {
+            coder = new Coder(charset);
+            map.put(charset, coder);
+        }
+        return coder;
+    }
+
+    /**
+     * 스레드별 인코더/디코더와 디코딩 버퍼 (사용할 때 생성)
+     */
+    private static final class Coder {
+        private final Charset charset;
+        private CharsetEncoder encoder = null;
+        private CharsetDecoder decoder = null;
+        private CharBuffer charBuffer = null;
+
+        Coder(Charset charset) {
+            this.charset = charset;
+        }
+
+        CharsetEncoder encoder() {
+            if (encoder == null)
+                encoder = charset.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return encoder.reset();
+        }
+
+        CharsetDecoder decoder() {
+            if (decoder == null)
+                decoder = charset.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return decoder.reset();
+        }
+
+        CharBuffer charBuffer(final int capacity) {
+            if (charBuffer == null || charBuffer.capacity() < capacity)
+                charBuffer = CharBuffer.allocate(capacity);
+            charBuffer.clear();
+            return charBuffer;
+        }
+    }
+}
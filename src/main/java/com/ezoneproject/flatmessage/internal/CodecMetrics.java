@@ -0,0 +1,380 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.DataConversionException;
+import com.ezoneproject.flatmessage.DataTooShortException;
+import com.ezoneproject.flatmessage.FieldDataAccessException;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetricsMXBean;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메시지 클래스, 처리 방향별 코덱 메트릭 집계
+ * <pre>
+ *     클래스별로 직렬화/역직렬화 메트릭을 한 번 생성해서 캐시하고 플랫폼 MBeanServer 에 등록한다.
+ *     다른 클래스로더가 같은 이름의 클래스를 이미 등록했으면 ObjectName 에 클래스로더를 추가해서 등록한다.
+ *     등록한 MBean 은 MBeanServer 가 참조하므로 등록을 해제해야 클래스로더가 언로드될 수 있다.
+ *     등록/해제에 실패하면 MBean 없이 집계하고 마지막 예외를 보관한다. (getRegistrationError)
+ *     카운터는 스레드별로 분산해서 더하는 LongAdder 를 사용하며, 처리 시간 분포는 2배 간격(1us ~ 1s) 구간으로 집계한다.
+ * </pre>
+ */
+public final class CodecMetrics implements FlatMessageMetricsMXBean {
+    /**
+     * 필드를 알 수 없는 오류의 필드명
+     */
+    public static final String UNKNOWN_FIELD = "*";
+
+    // 처리 시간 분포 구간 수 (0: 1us 미만, i: 2^(i-1)us 이상 2^i us 미만, 마지막: 2^20 us 이상)
+    private static final int BUCKETS = 22;
+
+    /**
+     * 클래스별 (직렬화, 역직렬화) 메트릭 캐시 (Class 에 보관하므로 클래스가 언로드되면 함께 해제)
+     */
+    private static final ClassValue<CodecMetrics[]> metricsCache = new ClassValue<CodecMetrics[]>() {
+        @Override
+        protected CodecMetrics[] computeValue(Class<?> type) {
+            return new CodecMetrics[]{
+                    new CodecMetrics(type, FlatMessageMetrics.Direction.ENCODE),
+                    new CodecMetrics(type, FlatMessageMetrics.Direction.DECODE)};
+        }
+    };
+
+    /**
+     * MBean 으로 등록한 클래스별 메트릭 (등록 해제할 때 제거, register/unregister 에서만 사용)
+     */
+    private static final Map<Class<?>, CodecMetrics[]> registeredMetrics = new LinkedHashMap<>();
+
+    private final Class<?> messageClass;
+    private final FlatMessageMetrics.Direction direction;
+
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder byteCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder[] latencyHistogram = new LongAdder[BUCKETS];
+
+    // 예외 종류별 필드 오류 건수
+    private final ConcurrentMap<String, LongAdder> conversionErrors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> tooShortErrors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> accessErrors = new ConcurrentHashMap<>();
+    // 등록 처리 여부 (직렬화 메트릭에 표시, MBean 등록에 실패하거나 등록을 해제해도 유지)
+    private volatile boolean registered = false;
+    // 등록한 MBean 이름 (등록하지 않았으면 null)
+    private volatile ObjectName objectName = null;
+    // 마지막 MBean 등록/해제 실패 예외 (JMException, SecurityException)
+    private volatile Exception registrationError = null;
+
+    private CodecMetrics(final Class<?> messageClass, final FlatMessageMetrics.Direction direction) {
+        this.messageClass = messageClass;
+        this.direction = direction;
+        for (int i = 0; i < BUCKETS; i++)
+            latencyHistogram[i] = new LongAdder();
+    }
+
+    /**
+     * 클래스, 처리 방향의 메트릭 (처음 호출할 때 생성해서 MBean 으로 등록)
+     */
+    public static CodecMetrics of(final Class<?> messageClass, final FlatMessageMetrics.Direction direction) {
+        CodecMetrics[] metrics = metricsCache.get(messageClass);
+        if (!metrics[0].registered)
+            register(metrics);
+        return metrics[direction.ordinal()];
+    }
+
+    /**
+     * @return 클래스, 처리 방향의 메트릭 (등록하지 않았으면 null)
+     */
+    public static CodecMetrics find(final Class<?> messageClass, final FlatMessageMetrics.Direction direction) {
+        CodecMetrics[] metrics = metricsCache.get(messageClass);
+        return metrics[0].registered ? metrics[direction.ordinal()] : null;
+    }
+
+    private static synchronized void register(final CodecMetrics[] metrics) {
+        if (metrics[0].registered)
+            return;
+
+        boolean registeredAny = false;
+        for (CodecMetrics m : metrics)
+            registeredAny |= m.register();
+        if (registeredAny)
+            registeredMetrics.put(metrics[0].messageClass, metrics);
+        metrics[0].registered = true;
+    }
+
+    private boolean register() {
+        String name = FlatMessageMetrics.DOMAIN + ":type=CodecMetrics,class=" + messageClass.getName() +
+                ",direction=" + direction;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                objectName = server.registerMBean(this, new ObjectName(name)).getObjectName();
+            } catch (InstanceAlreadyExistsException e) {
+                // 다른 클래스로더가 로드한 같은 이름의 클래스
+                ClassLoader loader = messageClass.getClassLoader();
+                name += ",loader=" + ObjectName.quote((loader == null) ? "bootstrap" :
+                        loader.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(loader)));
+                objectName = server.registerMBean(this, new ObjectName(name)).getObjectName();
+            }
+            registrationError = null;
+            return true;
+        } catch (JMException | SecurityException e) {
+            // MBean 없이 집계만 함 (FlatMessageMetrics.get 으로 조회)
+            registrationError = e;
+            return false;
+        }
+    }
+
+    /**
+     * 메시지 클래스의 메트릭 MBean 등록 해제 (집계는 계속되며 FlatMessageMetrics.get 으로 조회할 수 있음)
+     *
+     * @return 등록 해제 여부 (등록하지 않았으면 false)
+     */
+    public static synchronized boolean unregister(final Class<?> messageClass) {
+        CodecMetrics[] metrics = registeredMetrics.remove(messageClass);
+        if (metrics == null)
+            return false;
+
+        for (CodecMetrics m : metrics)
+            m.unregister();
+        return true;
+    }
+
+    /**
+     * 클래스로더(하위 클래스로더 포함)가 로드한 메시지 클래스의 메트릭 MBean 을 모두 등록 해제
+     *
+     * @return 등록 해제한 메시지 클래스 수
+     */
+    public static synchronized int unregister(final ClassLoader loader) {
+        List<CodecMetrics[]> removed = new ArrayList<>();
+        for (Iterator<Map.Entry<Class<?>, CodecMetrics[]>> it = registeredMetrics.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Class<?>, CodecMetrics[]> entry = it.next();
+            if (isLoadedBy(entry.getKey(), loader)) {
+                removed.add(entry.getValue());
+                it.remove();
+            }
+        }
+
+        for (CodecMetrics[] metrics : removed) {
+            for (CodecMetrics m : metrics)
+                m.unregister();
+        }
+        return removed.size();
+    }
+
+    private static boolean isLoadedBy(final Class<?> messageClass, final ClassLoader loader) {
+        for (ClassLoader cl = messageClass.getClassLoader(); cl != null; cl = cl.getParent()) {
+            if (cl == loader)
+                return true;
+        }
+        return false;
+    }
+
+    private void unregister() {
+        if (objectName == null)
+            return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // 이미 MBeanServer 에서 직접 해제함
+        } catch (JMException | SecurityException e) {
+            // MBean 이 남아 있으므로 이름을 유지
+            registrationError = e;
+            return;
+        }
+        objectName = null;
+    }
+
+    /**
+     * @return MBeanServer 에 등록되어 있는지
+     */
+    public boolean isRegistered() {
+        return objectName != null;
+    }
+
+    /**
+     * @return 마지막 MBean 등록/해제 실패 예외 (실패하지 않았으면 null)
+     */
+    public Exception getRegistrationError() {
+        return registrationError;
+    }
+
+    /**
+     * 정상 처리 집계
+     *
+     * @param bytes 처리한 길이
+     * @param nanos 처리 시간
+     */
+    public void record(final int bytes, final long nanos) {
+        messageCount.increment();
+        byteCount.add(bytes);
+        latencyNanos.add(nanos);
+        maxLatencyNanos.accumulate(nanos);
+        latencyHistogram[bucket(nanos)].increment();
+    }
+
+    /**
+     * 오류 집계
+     *
+     * @param e          발생한 예외
+     * @param errorField 오류가 발생한 필드 (알 수 없으면 null)
+     */
+    public void failed(final RuntimeException e, final FlatFieldInfo errorField) {
+        errorCount.increment();
+
+        ConcurrentMap<String, LongAdder> errors;
+        if (e instanceof DataConversionException)
+            errors = conversionErrors;
+        else if (e instanceof DataTooShortException)
+            errors = tooShortErrors;
+        else if (e instanceof FieldDataAccessException)
+            errors = accessErrors;
+        else
+            return;
+
+        String fieldName = (errorField == null || errorField.field == null) ? UNKNOWN_FIELD :
+                errorField.field.getDeclaringClass().getSimpleName() + "." + errorField.field.getName();
+        LongAdder count = errors.get(fieldName);
+        if (count == null) {
+            count = new LongAdder();
+            LongAdder prev = errors.putIfAbsent(fieldName, count);
+            if (prev != null)
+                count = prev;
+        }
+        count.increment();
+    }
+
+    /**
+     * 처리 시간 분포 구간
+     */
+    static int bucket(final long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    @Override
+    public String getMessageClass() {
+        return messageClass.getName();
+    }
+
+    @Override
+    public String getDirection() {
+        return direction.name();
+    }
+
+    @Override
+    public long getMessageCount() {
+        return messageCount.sum();
+    }
+
+    @Override
+    public long getByteCount() {
+        return byteCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public long getTotalLatencyNanos() {
+        return latencyNanos.sum();
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    @Override
+    public double getMeanLatencyNanos() {
+        long count = messageCount.sum();
+        return (count == 0) ? 0 : (double) latencyNanos.sum() / count;
+    }
+
+    @Override
+    public long[] getLatencyBucketsMicros() {
+        long[] bounds = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS - 1; i++)
+            bounds[i] = 1L << i;
+        bounds[BUCKETS - 1] = Long.MAX_VALUE;
+        return bounds;
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] = latencyHistogram[i].sum();
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getDataConversionErrors() {
+        return snapshot(conversionErrors);
+    }
+
+    @Override
+    public Map<String, Long> getDataTooShortErrors() {
+        return snapshot(tooShortErrors);
+    }
+
+    @Override
+    public Map<String, Long> getFieldDataAccessErrors() {
+        return snapshot(accessErrors);
+    }
+
+    private static Map<String, Long> snapshot(final ConcurrentMap<String, LongAdder> errors) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : errors.entrySet())
+            result.put(entry.getKey(), entry.getValue().sum());
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        messageCount.reset();
+        byteCount.reset();
+        errorCount.reset();
+        latencyNanos.reset();
+        maxLatencyNanos.reset();
+        for (LongAdder count : latencyHistogram)
+            count.reset();
+        conversionErrors.clear();
+        tooShortErrors.clear();
+        accessErrors.clear();
+    }
+}
@@ -18,17 +18,62 @@ package com.ezoneproject.flatmessage.internal;
 
 import com.ezoneproject.flatmessage.DataConversionException;
 import com.ezoneproject.flatmessage.annotation.FieldDataType;
-import com.ezoneproject.flatmessage.debug.FlatStringUtil;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 public final class ConversionUtil {
+    private static final byte SPACE = (byte) ' ';
+    /**
+     * 10의 거듭제곱 (long 범위)
+     */
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+    /**
+     * scale 미지정 유동 소수점 직렬화시 소수 자릿수 (String.format("%f") 기본값)
+     */
+    private static final int FLOATING_SCALE = 6;
+    /**
+     * 숫자 8자리를 한 번에 누적해도 long 범위를 넘지 않는 음수 누적값 하한
+     */
+    private static final long SWAR_NEG_LIMIT = Long.MIN_VALUE / 100_000_000L + 1;
+    /**
+     * double, float 값을 정수로 확대했을 때 소수 자릿수 이내의 값이 한 가지로 결정되는 범위
+     */
+    private static final double EXACT_DOUBLE_LIMIT = 1e15;
+    private static final double EXACT_FLOAT_LIMIT = 1e6;
+    /**
+     * float 으로 정확히 표현되는 10의 거듭제곱 최대 지수
+     */
+    private static final int MAX_FLOAT_FRACTION = 10;
+    /**
+     * double(2^53), float(2^24)로 정확히 표현되는 정수 범위
+     */
+    private static final long EXACT_DOUBLE_MAGNITUDE = 1L << 53;
+    private static final long EXACT_FLOAT_MAGNITUDE = 1L << 24;
+    /**
+     * NUMERIC 필드 변환 타입
+     */
+    private static final int KIND_INT = 0;
+    private static final int KIND_LONG = 1;
+    private static final int KIND_FLOAT = 2;
+    private static final int KIND_DOUBLE = 3;
+    private static final int KIND_BIG_INTEGER = 4;
+    private static final int KIND_BIG_DECIMAL = 5;
+    private static final int KIND_UNKNOWN = 6;
+    /**
+     * BigInteger, BigDecimal 값을 long 으로 결정하지 못해서 문자열로 변환해야 함
+     */
+    private static final long UNRESOLVED = Long.MIN_VALUE;
+
     private ConversionUtil() {
     }
 
@@ -41,209 +86,636 @@ public final class ConversionUtil {
      * @return Object
      */
     public static Object toObject(final byte[] fieldData, final FlatFieldInfo flatFieldInfo, final Charset charset) {
-        final String clsName = FlatStringUtil.shortClassName(flatFieldInfo.field.getDeclaringClass().getCanonicalName()
-                + "." + flatFieldInfo.name);
+        return toObject(fieldData, flatFieldInfo.dataType, flatFieldInfo.scale, flatFieldInfo.field.getType(),
+                flatFieldInfo.getClassFieldName(), charset);
+    }
+
+    /**
+     * buffer to Object
+     *
+     * @param src           데이터 buffer
+     * @param pos           필드 시작 위치 (절대 위치)
+     * @param len           필드 길이
+     * @param flatFieldInfo Flat Field Info
+     * @param charset       byte charset
+     * @return Object
+     */
+    public static Object read(final ByteBuffer src, final int pos, final int len, final FlatFieldInfo flatFieldInfo,
+                              final Charset charset) {
+        return read(src, pos, len, flatFieldInfo.dataType, flatFieldInfo.scale, flatFieldInfo.field.getType(),
+                flatFieldInfo.getClassFieldName(), charset);
+    }
 
-        if (flatFieldInfo.dataType == FieldDataType.BLOCK) {
+    /**
+     * byte[] to Object
+     *
+     * @param fieldData  byte
+     * @param dataType   필드 데이터 타입
+     * @param scale      소수점 길이
+     * @param targetType 변환할 필드 타입
+     * @param fieldName  필드명 (오류 메시지용)
+     * @param charset    byte charset
+     * @return Object
+     */
+    public static Object toObject(final byte[] fieldData, final FieldDataType dataType, final int scale,
+                                  final Class<?> targetType, final String fieldName, final Charset charset) {
+        // BLOCK 은 주어진 배열을 그대로 사용
+        if (dataType == FieldDataType.BLOCK)
             return fieldData;
-        } else if (flatFieldInfo.dataType == FieldDataType.NUMERIC) {
-            // 숫자 검증
-            final StringBuilder sb = new StringBuilder();
-            for (byte b : fieldData) {
-                if (b == '.' || ((b & 0x00ff) >= (0x0030 & 0x00ff) && (b & 0x00ff) <= (0x0039 & 0x00ff)))
-                    sb.append((char) b);
-                else if (b == '-') {
-                    // 음수 기호는 맨 앞에 나오거나 유효한 숫자가 시작하기 전에 나와야 함 (0만 허용)
-                    // 음수 기호는 전체 길이에 포함됨
-                    for (int i = sb.length() - 1; i >= 0; i--) {
-                        if (sb.charAt(i) != '0')
-                            throw new DataConversionException("Negative sign position: " + clsName + " [" + new String(fieldData) + "]");
-                    }
-                    sb.insert(0, '-');
-                } else if (b == '+')
-                    // 양수 기호는 0으로 변환
-                    sb.append('0');
-                else
-                    throw new DataConversionException("Non numeric value: " + clsName + " [" + new String(fieldData) + "]");
-            }
 
-            // 소수를 정수에 컨버전하려는 경우 오류 (원본은 소수, 타겟은 정수)
-            if ((flatFieldInfo.scale > 0 || sb.indexOf(".") >= 0) &&
-                    (flatFieldInfo.field.getType() == Integer.class || flatFieldInfo.field.getType() == int.class ||
-                            flatFieldInfo.field.getType() == Long.class || flatFieldInfo.field.getType() == long.class ||
-                            flatFieldInfo.field.getType() == BigInteger.class))
-                throw new DataConversionException("Decimal to integer: " + clsName + " [" + sb.toString() + "]");
-
-            // 고정소수점인데 소수점이 문자열에 포함되어 있으면 오류
-            if (flatFieldInfo.scale > 0 && sb.indexOf(".") > 0)
-                throw new DataConversionException("Decimal point detected: " + clsName + " [" + sb.toString() + "]");
-
-            // 고정 소수점을 문자열에 삽입
-            // 음수 기호 또는 양수 기호는 전체 길이에 영향이 없으므로 소수점 처리도 변경되지 않음
-            if (flatFieldInfo.scale > 0)
-                sb.insert(sb.length() - flatFieldInfo.scale, ".");
-
-            if (flatFieldInfo.field.getType() == Integer.class || flatFieldInfo.field.getType() == int.class)
-                return Integer.parseInt(sb.toString(), 10);
-            else if (flatFieldInfo.field.getType() == Long.class || flatFieldInfo.field.getType() == long.class)
-                return Long.parseLong(sb.toString(), 10);
-            else if (flatFieldInfo.field.getType() == Float.class || flatFieldInfo.field.getType() == float.class)
-                return Float.parseFloat(sb.toString());
-            else if (flatFieldInfo.field.getType() == Double.class || flatFieldInfo.field.getType() == double.class)
-                return Double.parseDouble(sb.toString());
-            else if (flatFieldInfo.field.getType() == BigInteger.class)
-                return new BigInteger(sb.toString());
-            else if (flatFieldInfo.field.getType() == BigDecimal.class)
-                return new BigDecimal(sb.toString());
-            else
-                throw new DataConversionException("Unknown target decimal type: " + clsName + " [" + flatFieldInfo.field.getType().getName() + "]");
-        } else if (flatFieldInfo.dataType == FieldDataType.ALPHANUM) {
+        return read(ByteBuffer.wrap(fieldData), 0, fieldData.length, dataType, scale, targetType, fieldName, charset);
+    }
+
+    /**
+     * buffer to Object (buffer의 pos 위치부터 len 만큼 복사하지 않고 직접 읽음)
+     *
+     * @param src        데이터 buffer (heap, direct, mapped), position, limit 는 변경하지 않음
+     * @param pos        필드 시작 위치 (절대 위치)
+     * @param len        필드 길이
+     * @param dataType   필드 데이터 타입
+     * @param scale      소수점 길이
+     * @param targetType 변환할 필드 타입
+     * @param fieldName  필드명 (오류 메시지용)
+     * @param charset    byte charset
+     * @return Object
+     */
+    public static Object read(final ByteBuffer src, final int pos, final int len, final FieldDataType dataType,
+                              final int scale, final Class<?> targetType, final String fieldName, final Charset charset) {
+        checkRange(src, pos, len);
+        final int end = pos + len;
+
+        if (dataType == FieldDataType.BLOCK) {
+            return ByteBufferUtil.copy(src, pos, len);
+        } else if (dataType == FieldDataType.NUMERIC) {
+            return readNumeric(src, pos, len, scale, targetType, fieldName);
+        } else if (dataType == FieldDataType.ALPHANUM) {
+            // right trim (변환하면 '\0' 은 ?이 되므로 공백만 제외)
+            int trimmedEnd = ByteScanUtil.trimEnd(src, pos, len, false);
+            if (ByteScanUtil.isPrintableAscii(src, pos, trimmedEnd - pos))
+                return CharsetUtil.asciiString(src, pos, trimmedEnd - pos);
+
             // alphanum 은 ASCII 문자만 허용, 비ASCII 문자는 ?으로 변환함
             // 비ASCII 문자는 LOCAL 또는 UTF-8 사용
-            StringBuilder sb = new StringBuilder();
-            for (byte b : fieldData) {
-                if ((b & 0x00ff) >= (0x0020 & 0x00ff) && (b & 0x00ff) < (0x0080 & 0x00ff))
-                    sb.append((char) b);
-                else
-                    sb.append('?');
+            char[] chars = new char[trimmedEnd - pos];
+            for (int p = pos; p < trimmedEnd; p++) {
+                byte b = src.get(p);
+                chars[p - pos] = (b >= 0x20) ? (char) b : '?';
             }
-
-            // right trim
-            return FlatStringUtil.rtrim(sb.toString());
-        } else if (flatFieldInfo.dataType == FieldDataType.STRING) {
-            return FlatStringUtil.rtrim(new String(fieldData, charset));
-        } else if (flatFieldInfo.dataType == FieldDataType.UTF8) {
-            return FlatStringUtil.rtrim(new String(fieldData, StandardCharsets.UTF_8));
+            return new String(chars);
+        } else if (dataType == FieldDataType.STRING) {
+            return CharsetUtil.decodeTrimmed(src, pos, len, charset);
+        } else if (dataType == FieldDataType.UTF8) {
+            return CharsetUtil.decodeTrimmed(src, pos, len, StandardCharsets.UTF_8);
         } else
-            throw new DataConversionException("Unknown FieldDataType: " + clsName);
+            throw new DataConversionException("Unknown FieldDataType: " + fieldName);
     }
 
     /**
-     * String to byte[]
+     * NUMERIC 필드를 int 로 읽음 (박싱하지 않음)
+     *
+     * @param src       데이터 buffer, position, limit 는 변경하지 않음
+     * @param pos       필드 시작 위치 (절대 위치)
+     * @param len       필드 길이
+     * @param scale     소수점 길이
+     * @param fieldName 필드명 (오류 메시지용)
+     * @return 필드 값
      */
-    public static byte[] toBytes(String str, int len, Charset charset) {
-        byte[] source = str.getBytes(charset);
-        byte[] target = new byte[len];
+    public static int readInt(final ByteBuffer src, final int pos, final int len, final int scale, final String fieldName) {
+        checkRange(src, pos, len);
+        return (int) scanNumeric(src, pos, len, scale, KIND_INT, fieldName);
+    }
 
-        if (source.length < target.length)
-            Arrays.fill(target, (byte) ' ');
+    /**
+     * NUMERIC 필드를 long 으로 읽음 (박싱하지 않음)
+     */
+    public static long readLong(final ByteBuffer src, final int pos, final int len, final int scale, final String fieldName) {
+        checkRange(src, pos, len);
+        return scanNumeric(src, pos, len, scale, KIND_LONG, fieldName);
+    }
 
-        // Ignore data loss
-        System.arraycopy(source, 0, target, 0, Math.min(source.length, target.length));
-        return target;
+    /**
+     * NUMERIC 필드를 float 으로 읽음 (박싱하지 않음)
+     */
+    public static float readFloat(final ByteBuffer src, final int pos, final int len, final int scale, final String fieldName) {
+        checkRange(src, pos, len);
+        return Float.intBitsToFloat((int) scanNumeric(src, pos, len, scale, KIND_FLOAT, fieldName));
     }
 
     /**
-     * long to byte[]
+     * NUMERIC 필드를 double 로 읽음 (박싱하지 않음)
      */
-    public static byte[] toBytes(long value, int len) {
-        String stringValue = String.format("%1$0" + len + "d", value);
-        if (stringValue.length() > len)
-            throw new DataConversionException("Value loss occurs '" + value + "' to " + len + " bytes.");
+    public static double readDouble(final ByteBuffer src, final int pos, final int len, final int scale, final String fieldName) {
+        checkRange(src, pos, len);
+        return Double.longBitsToDouble(scanNumeric(src, pos, len, scale, KIND_DOUBLE, fieldName));
+    }
 
-        return stringValue.getBytes(StandardCharsets.ISO_8859_1);
+    private static void checkRange(final ByteBuffer src, final int pos, final int len) {
+        if (pos < 0 || len < 0 || pos + len > src.limit())
+            throw new IndexOutOfBoundsException("index: " + pos + ", length: " + len);
     }
 
     /**
-     * decimal(includes float, double) to byte[]
+     * NUMERIC 필드를 필드 타입의 객체로 읽음
      */
-    public static byte[] toBytes(BigDecimal value, int len, int scale) {
-        StringBuilder formatStr = new StringBuilder("%1$0");
-        formatStr.append(len);
+    private static Object readNumeric(final ByteBuffer src, final int pos, final int len, final int scale,
+                                      final Class<?> targetType, final String fieldName) {
+        final int kind = numericKind(targetType);
+        final long bits = scanNumeric(src, pos, len, scale, kind, fieldName);
 
-        // scale 값이 있으면 셋팅
-        if (scale >= 0) {
-            // 소숫점 초과 자릿수는 버림
-            value = value.setScale(scale, RoundingMode.DOWN);
-            formatStr.append(".").append(scale);
+        switch (kind) {
+            case KIND_INT:
+                return (int) bits;
+            case KIND_LONG:
+                return bits;
+            case KIND_FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            case KIND_DOUBLE:
+                return Double.longBitsToDouble(bits);
+            case KIND_BIG_INTEGER:
+                if (bits == UNRESOLVED)
+                    return new BigInteger(numericString(src, pos, len, scale));
+                return BigInteger.valueOf(bits);
+            case KIND_BIG_DECIMAL:
+                if (bits == UNRESOLVED)
+                    return new BigDecimal(numericString(src, pos, len, scale));
+                return BigDecimal.valueOf(bits, fractionDigits(src, pos, len, scale));
+            default:
+                throw new DataConversionException("Unknown target decimal type: " + fieldName + " [" + targetType.getName() + "]");
         }
+    }
+
+    private static int numericKind(final Class<?> targetType) {
+        if (targetType == Integer.class || targetType == int.class)
+            return KIND_INT;
+        else if (targetType == Long.class || targetType == long.class)
+            return KIND_LONG;
+        else if (targetType == Float.class || targetType == float.class)
+            return KIND_FLOAT;
+        else if (targetType == Double.class || targetType == double.class)
+            return KIND_DOUBLE;
+        else if (targetType == BigInteger.class)
+            return KIND_BIG_INTEGER;
+        else if (targetType == BigDecimal.class)
+            return KIND_BIG_DECIMAL;
+        else
+            return KIND_UNKNOWN;
+    }
+
+    /**
+     * NUMERIC 필드를 문자열을 만들지 않고 한 번에 읽음
+     * <pre>
+     *     음수 기호는 맨 앞에 나오거나 유효한 숫자가 시작하기 전에 나와야 함 (0만 허용), 전체 길이에 포함됨
+     *     양수 기호는 0으로 처리함
+     *     scale > 0 이면 우측 scale 자리가 소수이며, 소수점 문자를 허용하지 않음
+     *     자릿수를 long 으로 누적하고, long 범위를 넘거나 형식이 맞지 않는 값은 문자열 변환과 같은 결과(오류 포함)를 따름
+     * </pre>
+     *
+     * @param kind 변환할 타입 (KIND_*)
+     * @return int, long 은 값, float 은 Float.floatToRawIntBits, double 은 Double.doubleToRawLongBits,
+     * BigInteger, BigDecimal 은 부호를 포함한 자릿수 (문자열로 변환해야 하면 UNRESOLVED)
+     */
+    private static long scanNumeric(final ByteBuffer src, final int pos, final int len, final int scale,
+                                    final int kind, final String fieldName) {
+        final int end = pos + len;
+        boolean negative = false;
+        // 음수 기호 앞에 0(양수 기호 포함)만 있었는지 여부
+        boolean leadingZeros = true;
+        boolean overflow = false;
+        int digitCount = 0;
+        int pointCount = 0;
+        int firstPoint = -1;
+        int fractionDigits = 0;
+        // Long.MIN_VALUE 를 처리하기 위해 음수로 누적
+        long negValue = 0;
 
-        formatStr.append("f");
-
-        // String conversion
-        String stringValue = String.format(formatStr.toString(), value);
-
-        // 정수/소수 추출
-        if (stringValue.contains(".")) {
-            // 정수 추출
-            String intValue = stringValue.substring(0, stringValue.indexOf('.'));
-            // 소수 추출
-            String decValue = stringValue.substring(stringValue.indexOf('.') + 1);
-
-            // 소수점 고정이면 stringValue 보정
-            if (scale > 0)
-                stringValue = intValue + decValue;
-            else {
-                stringValue = stringValue.substring(0, len);
-                // 정수가 잘리면 오류
-                if (stringValue.length() < intValue.length())
-                    throw new DataConversionException("Value loss occurs '" + value + "' to " + len + " bytes.");
+        for (int p = pos; p < end; p++) {
+            // 숫자 8자리는 한 번에 누적 (long 범위를 넘을 수 있으면 한 자리씩 점검)
+            if (end - p >= Long.BYTES) {
+                final long word = ByteScanUtil.getWord(src, p);
+                if (ByteScanUtil.isDigits(word) && (overflow || negValue >= SWAR_NEG_LIMIT)) {
+                    if (!ByteScanUtil.isZeros(word)) {
+                        leadingZeros = false;
+                        if (!overflow)
+                            negValue = negValue * 100_000_000L - ByteScanUtil.digitsValue(word);
+                    } else if (!overflow)
+                        negValue *= 100_000_000L;
+                    digitCount += Long.BYTES;
+                    if (pointCount > 0)
+                        fractionDigits += Long.BYTES;
+                    p += Long.BYTES - 1;
+                    continue;
+                }
+            }
+
+            final byte b = src.get(p);
+            final int digit;
+            if (b >= '0' && b <= '9') {
+                digit = b - '0';
+                if (digit != 0)
+                    leadingZeros = false;
+            } else if (b == '+') {
+                digit = 0;
+            } else if (b == '-') {
+                if (!leadingZeros)
+                    throw new DataConversionException("Negative sign position: " + fieldName + " [" + rawString(src, pos, len) + "]");
+                negative = true;
+                leadingZeros = false;
+                continue;
+            } else if (b == '.') {
+                if (pointCount++ == 0)
+                    firstPoint = p - pos;
+                fractionDigits = 0;
+                leadingZeros = false;
+                continue;
+            } else
+                throw new DataConversionException("Non numeric value: " + fieldName + " [" + rawString(src, pos, len) + "]");
+
+            digitCount++;
+            if (pointCount > 0)
+                fractionDigits++;
+            if (!overflow) {
+                if (negValue < Long.MIN_VALUE / 10 || negValue * 10 < Long.MIN_VALUE + digit)
+                    overflow = true;
+                else
+                    negValue = negValue * 10 - digit;
             }
         }
 
-        // 지정한 길이를 초과하는 경우 데이터 로스 발생
-        if (stringValue.length() > len)
-            throw new DataConversionException("Value loss occurs '" + value + "' to " + len + " bytes.");
-        else if (stringValue.length() < len) {
-            // 길이가 부족하면 보정
-            if (stringValue.charAt(0) == '-')
-                stringValue = "-0" + stringValue.substring(1);
+        // 소수를 정수에 컨버전하려는 경우 오류 (원본은 소수, 타겟은 정수)
+        if ((scale > 0 || pointCount > 0) && (kind == KIND_INT || kind == KIND_LONG || kind == KIND_BIG_INTEGER))
+            throw new DataConversionException("Decimal to integer: " + fieldName + " [" + numericString(src, pos, len, 0) + "]");
+
+        // 고정소수점인데 소수점이 문자열에 포함되어 있으면 오류 (맨 앞의 소수점은 숫자 형식 오류)
+        if (scale > 0 && (negative ? pointCount > 0 : firstPoint > 0))
+            throw new DataConversionException("Decimal point detected: " + fieldName + " [" + numericString(src, pos, len, 0) + "]");
+
+        if (kind == KIND_UNKNOWN)
+            return UNRESOLVED;
+
+        // 숫자가 없거나, 소수점이 여러 개이거나, 고정 소수점 자리에 음수 기호가 들어가거나, long 범위를 넘는 경우
+        if (digitCount == 0 || pointCount > 1 || (scale > 0 && (pointCount > 0 || (negative ? len <= scale : len < scale))) ||
+                overflow || (!negative && negValue == Long.MIN_VALUE))
+            return parseNumeric(numericString(src, pos, len, scale), kind);
+
+        final long value = negative ? negValue : -negValue;
+        final int fraction = (pointCount > 0) ? fractionDigits : Math.max(scale, 0);
+
+        // 자릿수와 10의 거듭제곱이 모두 정확히 표현되면 한 번의 나눗셈으로 가장 가까운 값이 결정됨
+        final long magnitude = -negValue;
+        switch (kind) {
+            case KIND_INT:
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+                    return parseNumeric(numericString(src, pos, len, scale), kind);
+                return value;
+            case KIND_FLOAT:
+                if (magnitude < EXACT_FLOAT_MAGNITUDE && fraction <= MAX_FLOAT_FRACTION) {
+                    float f = (float) magnitude / POW10[fraction];
+                    return Float.floatToRawIntBits(negative ? -f : f);
+                }
+                return parseNumeric(numericString(src, pos, len, scale), kind);
+            case KIND_DOUBLE:
+                if (magnitude < EXACT_DOUBLE_MAGNITUDE && fraction < POW10.length) {
+                    double d = (double) magnitude / POW10[fraction];
+                    return Double.doubleToRawLongBits(negative ? -d : d);
+                }
+                return parseNumeric(numericString(src, pos, len, scale), kind);
+            default:
+                // BigInteger, BigDecimal 의 Long.MIN_VALUE 는 UNRESOLVED 와 같으므로 문자열로 변환됨
+                return value;
+        }
+    }
+
+    /**
+     * 소수 자릿수 (소수점이 있으면 소수점 이후 자릿수, 없으면 고정 소수점 자릿수)
+     */
+    private static int fractionDigits(final ByteBuffer src, final int pos, final int len, final int scale) {
+        for (int p = pos + len - 1; p >= pos; p--) {
+            if (src.get(p) == '.')
+                return pos + len - 1 - p;
+        }
+        return Math.max(scale, 0);
+    }
+
+    /**
+     * 숫자 문자열 변환 (음수 기호는 맨 앞으로, 양수 기호는 0으로, scale > 0 이면 고정 소수점 삽입)
+     */
+    private static String numericString(final ByteBuffer src, final int pos, final int len, final int scale) {
+        final StringBuilder sb = new StringBuilder(len + 1);
+        for (int p = pos; p < pos + len; p++) {
+            byte b = src.get(p);
+            if (b == '-')
+                sb.insert(0, '-');
+            else if (b == '+')
+                sb.append('0');
             else
-                stringValue = "0" + stringValue;
+                sb.append((char) b);
         }
 
-        return stringValue.getBytes(StandardCharsets.ISO_8859_1);
+        // 음수 기호 또는 양수 기호는 전체 길이에 영향이 없으므로 소수점 처리도 변경되지 않음
+        if (scale > 0)
+            sb.insert(sb.length() - scale, ".");
+        return sb.toString();
+    }
+
+    /**
+     * 숫자 문자열 parse (long 범위를 넘거나 형식 오류를 확인해야 하는 경우)
+     *
+     * @return scanNumeric 과 같은 형식, BigInteger, BigDecimal 은 UNRESOLVED
+     */
+    private static long parseNumeric(final String str, final int kind) {
+        switch (kind) {
+            case KIND_INT:
+                return Integer.parseInt(str, 10);
+            case KIND_LONG:
+                return Long.parseLong(str, 10);
+            case KIND_FLOAT:
+                return Float.floatToRawIntBits(Float.parseFloat(str));
+            case KIND_DOUBLE:
+                return Double.doubleToRawLongBits(Double.parseDouble(str));
+            default:
+                return UNRESOLVED;
+        }
+    }
+
+    /**
+     * 오류 메시지용 원본 데이터 (플랫폼 기본 캐릭터셋)
+     */
+    private static String rawString(final ByteBuffer src, final int pos, final int len) {
+        return new String(ByteBufferUtil.copy(src, pos, len));
+    }
+
+    /**
+     * String to byte[]
+     */
+    public static byte[] toBytes(String str, int len, Charset charset) {
+        byte[] target = new byte[len];
+        write(str, ByteBuffer.wrap(target), 0, len, charset);
+        return target;
+    }
+
+    /**
+     * long to byte[]
+     */
+    public static byte[] toBytes(long value, int len) {
+        byte[] target = new byte[Math.max(len, 0)];
+        write(value, ByteBuffer.wrap(target), 0, len);
+        return target;
+    }
+
+    /**
+     * decimal(includes float, double) to byte[]
+     */
+    public static byte[] toBytes(BigDecimal value, int len, int scale) {
+        byte[] target = new byte[Math.max(len, 0)];
+        write(value, ByteBuffer.wrap(target), 0, len, scale);
+        return target;
     }
 
     /**
      * Object to byte[]
      */
     public static byte[] toBytes(Object obj, int len, int scale, Charset charset) {
+        int targetLen = (len < 0 && obj instanceof byte[]) ? ((byte[]) obj).length : Math.max(len, 0);
+        byte[] target = new byte[targetLen];
+        write(obj, ByteBuffer.wrap(target), 0, len, scale, charset);
+        return target;
+    }
+
+    /**
+     * Object to buffer (buffer의 pos 위치에 직접 기록)
+     *
+     * @param obj     데이터 (null 이면 공백)
+     * @param dst     기록할 buffer (position, limit 는 변경하지 않음)
+     * @param pos     기록 시작 위치 (절대 위치)
+     * @param len     필드 길이 (BLOCK 길이 미지정은 -1)
+     * @param scale   소수점 길이
+     * @param charset byte charset
+     * @return 기록한 길이
+     */
+    public static int write(final Object obj, final ByteBuffer dst, final int pos, final int len, final int scale,
+                            final Charset charset) {
         if (obj == null) {
-            byte[] bytes = new byte[Math.max(len, 0)];
-            Arrays.fill(bytes, (byte) ' ');
-            return bytes;
+            int targetLen = Math.max(len, 0);
+            ByteBufferUtil.fill(dst, pos, targetLen, SPACE);
+            return targetLen;
         }
 
         Class<?> cls = obj.getClass();
-        Type type = cls.isArray() ? cls.getComponentType() : cls;
 
         // byte[]
         if (cls.isArray()) {
-            if (type == byte.class || type == Byte.class) {
+            if (cls == byte[].class) {
                 byte[] source = (byte[]) obj;
 
                 int targetLen = (len < 0) ? source.length : len;
-                byte[] target = new byte[targetLen];
+                int copyLen = Math.min(source.length, targetLen);
 
-                if (source.length < target.length)
-                    Arrays.fill(target, (byte) ' ');
-
-                System.arraycopy(source, 0, target, 0, Math.min(source.length, target.length));
-                return target;
+                ByteBufferUtil.put(dst, pos, source, 0, copyLen);
+                ByteBufferUtil.fill(dst, pos + copyLen, targetLen - copyLen, SPACE);
+                return targetLen;
             } else
                 // 배열은 바이트 배열만 허용
-                throw new DataConversionException("Only byte[]. [" + type.getTypeName() + "]");
+                throw new DataConversionException("Only byte[]. [" + cls.getComponentType().getTypeName() + "]");
         }
         // data type
         else {
-            if (type == Integer.class)
-                return toBytes(((Integer) obj).longValue(), len);
-            else if (type == Long.class)
-                return toBytes((long) obj, len);
-            else if (type == Float.class)
-                return toBytes(new BigDecimal(String.valueOf((float) obj)), len, scale);
-            else if (type == Double.class)
-                return toBytes(new BigDecimal(String.valueOf((double) obj)), len, scale);
-            else if (type == BigInteger.class)
-                return toBytes(((BigInteger) obj).longValue(), len);
-            else if (type == BigDecimal.class)
-                return toBytes((BigDecimal) obj, len, scale);
-            else if (type == String.class)
-                return toBytes((String) obj, len, charset);
+            if (cls == Integer.class)
+                return write(((Integer) obj).longValue(), dst, pos, len);
+            else if (cls == Long.class)
+                return write((long) obj, dst, pos, len);
+            else if (cls == Float.class)
+                return write((float) obj, dst, pos, len, scale);
+            else if (cls == Double.class)
+                return write((double) obj, dst, pos, len, scale);
+            else if (cls == BigInteger.class)
+                return write(((BigInteger) obj).longValue(), dst, pos, len);
+            else if (cls == BigDecimal.class)
+                return write((BigDecimal) obj, dst, pos, len, scale);
+            else if (cls == String.class)
+                return write((String) obj, dst, pos, len, charset);
             else
-                return toBytes(obj.toString(), len, charset);
+                return write(obj.toString(), dst, pos, len, charset);
+        }
+    }
+
+    /**
+     * String to buffer (남는 자리는 공백, 길이를 초과하는 데이터는 문자 단위로 버림)
+     *
+     * @return 기록한 길이
+     */
+    public static int write(final String str, final ByteBuffer dst, final int pos, final int len, final Charset charset) {
+        // Ignore data loss
+        int copyLen = CharsetUtil.encode(str, dst, pos, len, charset);
+        ByteBufferUtil.fill(dst, pos + copyLen, len - copyLen, SPACE);
+        return len;
+    }
+
+    /**
+     * long to buffer (0으로 채운 고정 길이, 음수 기호는 맨 앞)
+     *
+     * @return 기록한 길이
+     * @throws DataConversionException 값이 길이를 초과함
+     */
+    public static int write(final long value, final ByteBuffer dst, final int pos, final int len) {
+        if (!writeFixedPoint(value < 0, (value < 0) ? value : -value, null, 0, false, dst, pos, len))
+            throw new DataConversionException("Value loss occurs '" + value + "' to " + len + " bytes.");
+        return len;
+    }
+
+    /**
+     * decimal to buffer
+     * <pre>
+     *     scale >= 0: 소숫점 초과 자릿수는 버리고, 소수점 없이 0으로 채운 고정 길이로 기록
+     *     scale < 0: 소수점 이하 6자리(반올림)까지 소수점을 포함해서 0으로 채우고, 길이를 초과하는 소수 값은 자름
+     *     정수 자릿수가 길이를 초과하면 오류
+     * </pre>
+     *
+     * @return 기록한 길이
+     * @throws DataConversionException 값이 길이를 초과함
+     */
+    public static int write(BigDecimal value, final ByteBuffer dst, final int pos, final int len, final int scale) {
+        final boolean negative;
+        final BigDecimal target;
+        if (scale >= 0) {
+            // 소숫점 초과 자릿수는 버림
+            value = value.setScale(scale, RoundingMode.DOWN);
+            target = value;
+            negative = target.signum() < 0;
+        } else {
+            // 부호는 반올림 전의 값을 따름
+            target = value.setScale(FLOATING_SCALE, RoundingMode.HALF_UP);
+            negative = value.signum() < 0;
+        }
+
+        final BigInteger unscaled = target.unscaledValue();
+        final boolean written;
+        if (unscaled.bitLength() < 64) {
+            long v = unscaled.longValue();
+            written = writeFixedPoint(negative, (v < 0) ? v : -v, null, target.scale(), scale < 0, dst, pos, len);
+        } else
+            written = writeFixedPoint(negative, 0, unscaled.abs().toString(), target.scale(), scale < 0, dst, pos, len);
+
+        if (!written)
+            throw new DataConversionException("Value loss occurs '" + value + "' to " + len + " bytes.");
+        return len;
+    }
+
+    /**
+     * double to buffer (String.valueOf(value)로 생성한 BigDecimal 과 같은 결과)
+     * 소수점 이하 자릿수 이내로 정확히 표현되는 값은 BigDecimal 을 생성하지 않는다.
+     *
+     * @return 기록한 길이
+     */
+    public static int write(final double value, final ByteBuffer dst, final int pos, final int len, final int scale) {
+        final int fraction = (scale >= 0) ? scale : FLOATING_SCALE;
+        if (fraction < POW10.length) {
+            final double multiplier = POW10[fraction];
+            final double scaled = value * multiplier;
+            if (Math.abs(scaled) < EXACT_DOUBLE_LIMIT) {
+                final double unscaled = Math.rint(scaled);
+                if (unscaled / multiplier == value &&
+                        writeFixedPoint(value < 0, -Math.abs((long) unscaled), null, fraction, scale < 0, dst, pos, len))
+                    return len;
+            }
         }
+
+        // 정확히 표현되지 않거나 길이를 초과하는 경우 (오류 메시지 포함)
+        return write(new BigDecimal(String.valueOf(value)), dst, pos, len, scale);
     }
 
+    /**
+     * float to buffer (String.valueOf(value)로 생성한 BigDecimal 과 같은 결과)
+     * 소수점 이하 자릿수 이내로 정확히 표현되는 값은 BigDecimal 을 생성하지 않는다.
+     *
+     * @return 기록한 길이
+     */
+    public static int write(final float value, final ByteBuffer dst, final int pos, final int len, final int scale) {
+        final int fraction = (scale >= 0) ? scale : FLOATING_SCALE;
+        if (fraction <= MAX_FLOAT_FRACTION) {
+            final float multiplier = POW10[fraction];
+            final double scaled = (double) value * multiplier;
+            if (Math.abs(scaled) < EXACT_FLOAT_LIMIT) {
+                final float unscaled = (float) Math.rint(scaled);
+                if (unscaled / multiplier == value &&
+                        writeFixedPoint(value < 0, -Math.abs((long) unscaled), null, fraction, scale < 0, dst, pos, len))
+                    return len;
+            }
+        }
+
+        // 정확히 표현되지 않거나 길이를 초과하는 경우 (오류 메시지 포함)
+        return write(new BigDecimal(String.valueOf(value)), dst, pos, len, scale);
+    }
+
+    /**
+     * 고정 길이 숫자 기록 (String.format("%0{len}d"), String.format("%0{len}.{scale}f") 와 같은 결과)
+     * <pre>
+     *     자릿수는 우측부터 기록하고, 남는 자리는 0으로 채우며, 음수 기호는 맨 앞에 기록한다.
+     *     point 가 false 이면 소수점 문자 없이 기록한다.
+     *     point 가 true 이면 소수점 문자를 포함하고, 전체 길이를 초과하는 소수 자릿수는 버린다.
+     * </pre>
+     *
+     * @param negative     음수 여부
+     * @param negMagnitude 자릿수 (Long.MIN_VALUE 를 처리하기 위해 음수로 변환한 값, digits 가 있으면 사용하지 않음)
+     * @param digits       long 범위를 넘는 값의 자릿수 문자열 (없으면 null)
+     * @param fraction     소수 자릿수
+     * @param point        소수점 문자 기록 여부
+     * @return 정수 자릿수가 길이를 초과하면 false (buffer에 기록하지 않음)
+     */
+    private static boolean writeFixedPoint(final boolean negative, final long negMagnitude, final String digits,
+                                           final int fraction, final boolean point, final ByteBuffer dst,
+                                           final int pos, final int len) {
+        final int digitCount = (digits != null) ? digits.length() : digitCount(negMagnitude);
+        final int signLength = negative ? 1 : 0;
+        // 정수부는 최소 1자리
+        final int integerDigits = Math.max(digitCount - fraction, 1);
+
+        final int width;
+        if (point) {
+            if (signLength + integerDigits > len)
+                return false;
+            width = Math.max(len, signLength + integerDigits + 1 + fraction);
+        } else {
+            if (signLength + integerDigits + fraction > len)
+                return false;
+            width = len;
+        }
+
+        // 가상의 전체 문자열(width)을 우측부터 만들고, len 이내의 위치만 기록
+        long q = negMagnitude;
+        int digitIndex = 0;
+        for (int i = width - 1; i >= signLength; i--) {
+            byte b;
+            if (point && digitIndex == fraction) {
+                b = '.';
+                digitIndex++;
+            } else {
+                int index = point && digitIndex > fraction ? digitIndex - 1 : digitIndex;
+                if (digits != null)
+                    b = (index < digitCount) ? (byte) digits.charAt(digitCount - 1 - index) : (byte) '0';
+                else {
+                    b = (byte) ('0' - (int) (q % 10));
+                    q /= 10;
+                }
+                digitIndex++;
+            }
+
+            if (i < len)
+                dst.put(pos + i, b);
+        }
+
+        if (negative)
+            dst.put(pos, (byte) '-');
+        return true;
+    }
+
+    /**
+     * 자릿수 (음수로 변환한 값)
+     */
+    private static int digitCount(final long negMagnitude) {
+        for (int n = 1; n < POW10.length; n++) {
+            if (negMagnitude > -POW10[n])
+                return n;
+        }
+        return POW10.length;
+    }
 }
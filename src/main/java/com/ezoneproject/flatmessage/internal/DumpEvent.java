@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.debug.FlatMessageDump;
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpEvent;
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpListener;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * 리스너에 전달하는 재사용 필드 덤프 이벤트
+ */
+final class DumpEvent implements FlatMessageDumpEvent {
+    private PlanStep[] steps = null;
+    private ByteBuffer data = null;
+    private Charset charset = null;
+
+    private PlanStep step = null;
+    private int offset = 0;
+    private int absoluteOffset = 0;
+    private int pos = 0;
+    private int length = 0;
+    private String tableName = "";
+    private int row = 0;
+    private boolean raw = false;
+
+    /**
+     * 플랜 실행 시작
+     */
+    void begin(final PlanStep[] steps, final ByteBuffer data, final Charset charset) {
+        this.steps = steps;
+        this.data = data;
+        this.charset = charset;
+    }
+
+    /**
+     * 필드 정보를 변경하고 리스너 호출
+     */
+    void fire(final FlatMessageDumpListener listener, final int pc, final int offset, final int absoluteOffset,
+              final int pos, final int length, final String tableName, final int row, final boolean raw) {
+        this.step = steps[pc];
+        this.offset = offset;
+        this.absoluteOffset = absoluteOffset;
+        this.pos = pos;
+        this.length = length;
+        this.tableName = tableName;
+        this.row = row;
+        this.raw = raw;
+        listener.onField(this);
+    }
+
+    /**
+     * 호출 종료 후 참조 해제
+     */
+    void clear() {
+        steps = null;
+        data = null;
+        charset = null;
+        step = null;
+    }
+
+    @Override
+    public String getName() {
+        return step.fieldInfo.field.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        String description = step.fieldInfo.name;
+        return (description == null || description.isEmpty()) ? getName() : description;
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getAbsoluteOffset() {
+        return absoluteOffset;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String getData() {
+        return FieldsDump.dumpData(step, data, pos, length, charset, raw);
+    }
+
+    @Override
+    public int getTableLevel() {
+        return step.level;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public int getTableRow() {
+        return row;
+    }
+
+    @Override
+    public FlatMessageDump toDump() {
+        return new FlatMessageDump(getName(), step.fieldInfo.name, offset, absoluteOffset, length, getData(),
+                step.level, tableName, row);
+    }
+
+    @Override
+    public String toString() {
+        return "DumpEvent{" +
+                "name=" + getName() +
+                ", offset=" + offset +
+                ", absoluteOffset=" + absoluteOffset +
+                ", length=" + length +
+                ", tableLevel=" + step.level +
+                ", tableRow=" + row +
+                '}';
+    }
+}
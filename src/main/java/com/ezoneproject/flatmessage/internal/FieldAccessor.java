@@ -0,0 +1,445 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.AnnotationDefineException;
+import com.ezoneproject.flatmessage.FieldDataAccessException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 필드 접근자 (FlatFieldInfo 별로 한 번 생성)
+ * <pre>
+ *     getter/setter 메서드는 LambdaMetafactory 로 메서드를 직접 호출하는 구현 클래스를 생성해서 사용한다.
+ *     플랜의 호출 지점에서 인터페이스 호출은 메서드 호출로 바로 연결되므로, 인스턴스 필드에 보관한
+ *     MethodHandle(JIT 가 상수로 취급하지 않음)을 invokeExact 하는 것보다 빠르다.
+ *     getter/setter 메서드가 없는 필드, 구현 클래스를 생성할 수 없는 메서드(다른 모듈, 접근할 수 없는 클래스로더 등)는
+ *     MethodHandle 로 변환해서 사용한다.
+ *     public 이 아닌 필드도 getter/setter 없이 직접 접근할 수 있다.
+ * </pre>
+ */
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 필드 설명 (오류 메시지용)
+     */
+    private final String name;
+    private final String getterName;
+    private final String setterName;
+
+    private final Getter getter;
+    private final Setter setter;
+
+    /**
+     * 박싱하지 않고 접근할 수 있는 기본형 (int, long, float, double 이 아니거나 getter 타입이 다르면 null)
+     */
+    private final Class<?> primitiveType;
+    /**
+     * primitiveType 의 IntGetter, LongGetter, FloatGetter, DoubleGetter
+     */
+    private final Object primitiveGetter;
+    /**
+     * primitiveType 의 IntSetter, LongSetter, FloatSetter, DoubleSetter
+     */
+    private final Object primitiveSetter;
+
+    private FieldAccessor(String name, String getterName, String setterName, Getter getter, Setter setter,
+                          Class<?> primitiveType, Object primitiveGetter, Object primitiveSetter) {
+        this.name = name;
+        this.getterName = getterName;
+        this.setterName = setterName;
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveType = primitiveType;
+        this.primitiveGetter = primitiveGetter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    /**
+     * 필드 접근자 생성
+     *
+     * @param fieldInfo 필드 정보 (getterMethod, setterMethod 가 null 이면 필드에 직접 접근)
+     * @throws AnnotationDefineException 필드 또는 메서드에 접근할 수 없음
+     */
+    public static FieldAccessor of(final FlatFieldInfo fieldInfo) {
+        final Field field = fieldInfo.field;
+        final Method getterMethod = fieldInfo.getterMethod;
+        final Method setterMethod = fieldInfo.setterMethod;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            MethodHandle getter;
+            if (getterMethod != null)
+                getter = lookup.unreflect(accessible(getterMethod));
+            else
+                getter = lookup.unreflectGetter(accessible(field));
+
+            MethodHandle setter;
+            if (setterMethod != null)
+                setter = lookup.unreflect(accessible(setterMethod));
+            else
+                setter = lookup.unreflectSetter(accessible(field));
+
+            // 기본형 필드는 getter 가 같은 기본형을 리턴할 때만 박싱하지 않는 접근자를 만듦
+            Class<?> type = field.getType();
+            Class<?> primitiveType = null;
+            Object primitiveGetter = null;
+            Object primitiveSetter = null;
+            if ((type == int.class || type == long.class || type == float.class || type == double.class) &&
+                    getter.type().returnType() == type) {
+                primitiveType = type;
+                primitiveGetter = primitiveGetter(type, getterMethod, getter);
+                primitiveSetter = primitiveSetter(type, setterMethod, setter);
+            }
+
+            Getter objectGetter = lambda(Getter.class, GETTER_TYPE, getterMethod);
+            if (objectGetter == null) {
+                MethodHandle handle = getter.asType(GETTER_TYPE);
+                objectGetter = source -> (Object) handle.invokeExact(source);
+            }
+            Setter objectSetter = lambda(Setter.class, SETTER_TYPE, setterMethod);
+            if (objectSetter == null) {
+                MethodHandle handle = setter.asType(SETTER_TYPE);
+                objectSetter = (target, data) -> {
+                    handle.invokeExact(target, data);
+                };
+            }
+
+            return new FieldAccessor(fieldInfo.name,
+                    (getterMethod != null) ? getterMethod.getName() : field.getName() + " field get",
+                    (setterMethod != null) ? setterMethod.getName() : field.getName() + " field set",
+                    objectGetter, objectSetter, primitiveType, primitiveGetter, primitiveSetter);
+        } catch (IllegalAccessException e) {
+            throw new AnnotationDefineException("Can not access field: " +
+                    field.getDeclaringClass().getCanonicalName() + "." + field.getName(), e);
+        }
+    }
+
+    private static Object primitiveGetter(final Class<?> type, final Method method, final MethodHandle getter) {
+        if (type == int.class) {
+            IntGetter lambda = lambda(IntGetter.class, MethodType.methodType(int.class, Object.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = getter.asType(MethodType.methodType(int.class, Object.class));
+            return (IntGetter) source -> (int) handle.invokeExact(source);
+        } else if (type == long.class) {
+            LongGetter lambda = lambda(LongGetter.class, MethodType.methodType(long.class, Object.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = getter.asType(MethodType.methodType(long.class, Object.class));
+            return (LongGetter) source -> (long) handle.invokeExact(source);
+        } else if (type == float.class) {
+            FloatGetter lambda = lambda(FloatGetter.class, MethodType.methodType(float.class, Object.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = getter.asType(MethodType.methodType(float.class, Object.class));
+            return (FloatGetter) source -> (float) handle.invokeExact(source);
+        } else {
+            DoubleGetter lambda = lambda(DoubleGetter.class, MethodType.methodType(double.class, Object.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = getter.asType(MethodType.methodType(double.class, Object.class));
+            return (DoubleGetter) source -> (double) handle.invokeExact(source);
+        }
+    }
+
+    private static Object primitiveSetter(final Class<?> type, final Method method, final MethodHandle setter) {
+        if (type == int.class) {
+            IntSetter lambda = lambda(IntSetter.class, MethodType.methodType(void.class, Object.class, int.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (IntSetter) (target, data) -> {
+                handle.invokeExact(target, data);
+            };
+        } else if (type == long.class) {
+            LongSetter lambda = lambda(LongSetter.class, MethodType.methodType(void.class, Object.class, long.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (LongSetter) (target, data) -> {
+                handle.invokeExact(target, data);
+            };
+        } else if (type == float.class) {
+            FloatSetter lambda = lambda(FloatSetter.class, MethodType.methodType(void.class, Object.class, float.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, float.class));
+            return (FloatSetter) (target, data) -> {
+                handle.invokeExact(target, data);
+            };
+        } else {
+            DoubleSetter lambda = lambda(DoubleSetter.class, MethodType.methodType(void.class, Object.class, double.class), method);
+            if (lambda != null)
+                return lambda;
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (DoubleSetter) (target, data) -> {
+                handle.invokeExact(target, data);
+            };
+        }
+    }
+
+    /**
+     * getter/setter 메서드를 직접 호출하는 함수형 인터페이스 구현 생성
+     *
+     * @param type       함수형 인터페이스 (메서드명 get 또는 set)
+     * @param methodType 인터페이스 메서드 타입
+     * @param method     getter/setter 메서드 (null 이면 생성하지 않음)
+     * @return 구현 객체, 생성할 수 없으면 null (MethodHandle 로 처리)
+     */
+    private static <I> I lambda(final Class<I> type, final MethodType methodType, final Method method) {
+        if (method == null)
+            return null;
+
+        try {
+            // 메서드를 선언한 클래스의 클래스로더에서 구현 클래스를 생성해야 메서드와 클래스에 접근할 수 있음
+            Class<?> declaringClass = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = PrivateLookup.in(declaringClass);
+            MethodHandle impl = lookup.unreflect(method);
+
+            // 인터페이스의 Object 파라미터를 메서드 선언 클래스, 필드 타입(기본형은 wrapper)으로 변환
+            MethodType instantiatedType = methodType.changeParameterType(0, declaringClass);
+            if (methodType.parameterCount() == 1) {
+                if (!methodType.returnType().isPrimitive())
+                    instantiatedType = instantiatedType.changeReturnType(MethodType.methodType(method.getReturnType()).wrap().returnType());
+            } else if (!methodType.parameterType(1).isPrimitive()) {
+                instantiatedType = instantiatedType.changeParameterType(1,
+                        MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType());
+            }
+
+            String methodName = (methodType.parameterCount() == 1) ? "get" : "set";
+            CallSite site = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(type),
+                    methodType, impl, instantiatedType);
+            return type.cast(site.getTarget().invoke());
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // LambdaConversionException, IllegalAccessException 등
+            return null;
+        }
+    }
+
+    /**
+     * public 이 아닌 멤버는 접근 가능하도록 설정 (실패하면 unreflect 에서 IllegalAccessException 발생)
+     */
+    private static <A extends AccessibleObject> A accessible(A member) {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException ignore) {
+            // SecurityException, InaccessibleObjectException
+        }
+        return member;
+    }
+
+    /**
+     * Get data
+     */
+    public Object get(final Object source) {
+        try {
+            return getter.get(source);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + getterName + ")", e);
+        }
+    }
+
+    /**
+     * Set data
+     */
+    public void set(final Object target, final Object data) {
+        try {
+            setter.set(target, data);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + setterName + ")", e);
+        }
+    }
+
+    /**
+     * @return 박싱하지 않고 접근할 수 있는 기본형 (int, long, float, double), 없으면 null
+     */
+    public Class<?> getPrimitiveType() {
+        return primitiveType;
+    }
+
+    /**
+     * Get int data (getPrimitiveType() == int.class)
+     */
+    public int getInt(final Object source) {
+        try {
+            return ((IntGetter) primitiveGetter).get(source);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + getterName + ")", e);
+        }
+    }
+
+    /**
+     * Get long data (getPrimitiveType() == long.class)
+     */
+    public long getLong(final Object source) {
+        try {
+            return ((LongGetter) primitiveGetter).get(source);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + getterName + ")", e);
+        }
+    }
+
+    /**
+     * Get float data (getPrimitiveType() == float.class)
+     */
+    public float getFloat(final Object source) {
+        try {
+            return ((FloatGetter) primitiveGetter).get(source);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + getterName + ")", e);
+        }
+    }
+
+    /**
+     * Get double data (getPrimitiveType() == double.class)
+     */
+    public double getDouble(final Object source) {
+        try {
+            return ((DoubleGetter) primitiveGetter).get(source);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + getterName + ")", e);
+        }
+    }
+
+    /**
+     * Set int data (getPrimitiveType() == int.class)
+     */
+    public void setInt(final Object target, final int data) {
+        try {
+            ((IntSetter) primitiveSetter).set(target, data);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + setterName + ")", e);
+        }
+    }
+
+    /**
+     * Set long data (getPrimitiveType() == long.class)
+     */
+    public void setLong(final Object target, final long data) {
+        try {
+            ((LongSetter) primitiveSetter).set(target, data);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + setterName + ")", e);
+        }
+    }
+
+    /**
+     * Set float data (getPrimitiveType() == float.class)
+     */
+    public void setFloat(final Object target, final float data) {
+        try {
+            ((FloatSetter) primitiveSetter).set(target, data);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + setterName + ")", e);
+        }
+    }
+
+    /**
+     * Set double data (getPrimitiveType() == double.class)
+     */
+    public void setDouble(final Object target, final double data) {
+        try {
+            ((DoubleSetter) primitiveSetter).set(target, data);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FieldDataAccessException(name + " (" + setterName + ")", e);
+        }
+    }
+
+    // 접근자 함수형 인터페이스 (구현 클래스를 메시지 클래스의 클래스로더에서 생성하므로 public)
+
+    @FunctionalInterface
+    public interface Getter {
+        Object get(Object source) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Setter {
+        void set(Object target, Object data) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface IntGetter {
+        int get(Object source) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface IntSetter {
+        void set(Object target, int data) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface LongGetter {
+        long get(Object source) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface LongSetter {
+        void set(Object target, long data) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface FloatGetter {
+        float get(Object source) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface FloatSetter {
+        void set(Object target, float data) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface DoubleGetter {
+        double get(Object source) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface DoubleSetter {
+        void set(Object target, double data) throws Throwable;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 역직렬화할 필드 선택 (플랜의 단계별 선택 여부)
+ * <pre>
+ *     필드 경로는 FlatMessageLayout 과 같은 형식(예: header.code, items[].amount)이며,
+ *     중첩 클래스나 테이블을 지정하면 하위 필드 전체를 선택한다.
+ *     가변 테이블의 반복횟수 필드는 위치 계산에 필요하므로 항상 선택한다.
+ *     선택하지 않은 필드는 변환과 객체 입력 없이 길이만큼 건너뛰고,
+ *     선택한 필드가 없는 클래스/테이블은 길이가 고정이면 한 번에 건너뛰며 가변이면 행을 따라가되 객체에 입력하지 않는다.
+ * </pre>
+ */
+public final class FieldProjection {
+    /**
+     * 대상 플랜
+     */
+    final FlatMessagePlan plan;
+    /**
+     * 단계별 선택 여부 (BEGIN/END 단계는 하위에 지정한 필드가 있으면 true, 반복횟수 필드만으로는 선택하지 않음)
+     */
+    final boolean[] selected;
+    private final Set<String> paths;
+
+    FieldProjection(final FlatMessagePlan plan, final PlanStep[] steps, final Collection<String> fieldPaths) {
+        Set<String> remain = new LinkedHashSet<>(fieldPaths);
+        boolean[] select = new boolean[steps.length];
+        String[] path = new String[steps.length + 1];
+        // 선택한 상위 클래스/테이블의 레벨 (없으면 -1)
+        int selectedLevel = -1;
+        path[0] = "";
+
+        for (int pc = 0; pc < steps.length; pc++) {
+            PlanStep step = steps[pc];
+            int level = step.level;
+            if (selectedLevel >= level)
+                selectedLevel = -1;
+
+            if (step.type == PlanStep.StepType.CLASS_END || step.type == PlanStep.StepType.TABLE_END) {
+                select[pc] = select[step.pairIndex];
+                continue;
+            }
+
+            String stepPath = path[level] + step.fieldInfo.field.getName();
+            boolean requested = remain.remove(stepPath);
+            if (step.type == PlanStep.StepType.CLASS_BEGIN)
+                path[level + 1] = stepPath + ".";
+            else if (step.type == PlanStep.StepType.TABLE_BEGIN)
+                path[level + 1] = stepPath + "[].";
+
+            if (requested && selectedLevel < 0 && step.pairIndex >= 0)
+                selectedLevel = level;
+
+            if (requested || selectedLevel >= 0)
+                selectAncestors(steps, select, pc);
+            else if (isLoopField(steps, pc))
+                select[pc] = true;
+        }
+
+        if (!remain.isEmpty())
+            throw new IllegalArgumentException("Field is not defined: " + remain);
+
+        this.plan = plan;
+        this.selected = select;
+        this.paths = Collections.unmodifiableSet(new LinkedHashSet<>(fieldPaths));
+    }
+
+    /**
+     * 같은 클래스의 가변 테이블이 참조하는 반복횟수 필드
+     */
+    private static boolean isLoopField(final PlanStep[] steps, final int index) {
+        FlatFieldInfo it = steps[index].fieldInfo;
+        for (int pc = index + 1; pc < steps.length && steps[pc].level >= steps[index].level; pc++) {
+            PlanStep step = steps[pc];
+            if (step.type == PlanStep.StepType.TABLE_BEGIN && step.level == steps[index].level &&
+                    step.fieldInfo.tableLoopField == it)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 단계와 단계를 포함하는 상위 클래스/테이블 BEGIN 단계 선택
+     */
+    private static void selectAncestors(final PlanStep[] steps, final boolean[] select, final int index) {
+        select[index] = true;
+
+        int level = steps[index].level;
+        for (int pc = index - 1; pc >= 0 && level > 0; pc--) {
+            PlanStep step = steps[pc];
+            if (step.level == level - 1 && step.pairIndex > index) {
+                select[pc] = true;
+                level--;
+            }
+        }
+    }
+
+    /**
+     * @return 대상 클래스
+     */
+    public Class<?> getTargetClass() {
+        return plan.getTargetClass();
+    }
+
+    /**
+     * @return 지정한 필드 경로
+     */
+    public Set<String> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldProjection{" +
+                "class=" + plan.getTargetClass().getName() +
+                ", paths=" + paths +
+                '}';
+    }
+}
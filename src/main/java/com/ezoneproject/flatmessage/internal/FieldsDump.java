@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.debug.FlatMessageDump;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * 필드 덤프 목록 (필드 위치만 기록하고 덤프 정보는 읽을 때 생성)
+ * <pre>
+ *     플랜 실행중에는 필드별로 (단계, 오프셋, 길이, 행번호)를 int 배열에 기록하고,
+ *     get() 으로 읽을 때 필드명, 설명, 데이터 문자열을 만든 FlatMessageDump 를 생성해서 캐시한다.
+ *     데이터 문자열은 처리한 buffer 에서 다시 읽으므로(역직렬화 필드는 다시 변환),
+ *     덤프를 읽기 전에 buffer 의 내용을 변경하면 변경된 내용이 덤프된다.
+ *     목록은 다음 호출이 시작되면 비워지며, 마지막 호출의 buffer 를 참조한다.
+ * </pre>
+ */
+public final class FieldsDump extends AbstractList<FlatMessageDump> {
+    // 항목별 int 개수 (단계, 상대 오프셋, 절대 오프셋, buffer 위치, 길이, 행번호, 원본 여부)
+    private static final int STRIDE = 7;
+
+    private int[] entries = new int[STRIDE * 16];
+    // 항목별 테이블명 (플랜의 문자열 참조)
+    private String[] tableNames = new String[16];
+    private int size = 0;
+
+    private PlanStep[] steps = null;
+    private ByteBuffer data = null;
+    private Charset charset = null;
+    // 생성한 덤프 정보 (처음 읽을 때 생성)
+    private FlatMessageDump[] rendered = null;
+
+    /**
+     * 플랜 실행 시작 (이전 기록 삭제)
+     */
+    void begin(final PlanStep[] steps, final ByteBuffer data, final Charset charset) {
+        clear();
+        this.steps = steps;
+        this.data = data;
+        this.charset = charset;
+    }
+
+    /**
+     * 필드 기록
+     *
+     * @param raw true 이면 buffer 의 byte 를 그대로 문자열로 변환 (직렬화, 선택하지 않은 필드)
+     */
+    void add(final int pc, final int offset, final int absoluteOffset, final int pos, final int length,
+             final String tableName, final int row, final boolean raw) {
+        if (size == tableNames.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+            tableNames = Arrays.copyOf(tableNames, tableNames.length * 2);
+        }
+
+        int e = size * STRIDE;
+        entries[e] = pc;
+        entries[e + 1] = offset;
+        entries[e + 2] = absoluteOffset;
+        entries[e + 3] = pos;
+        entries[e + 4] = length;
+        entries[e + 5] = row;
+        entries[e + 6] = raw ? 1 : 0;
+        tableNames[size] = tableName;
+        size++;
+    }
+
+    @Override
+    public FlatMessageDump get(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+
+        if (rendered == null)
+            rendered = new FlatMessageDump[size];
+        if (rendered[index] == null)
+            rendered[index] = render(index);
+        return rendered[index];
+    }
+
+    private FlatMessageDump render(final int index) {
+        int e = index * STRIDE;
+        PlanStep step = steps[entries[e]];
+        FlatFieldInfo it = step.fieldInfo;
+        int pos = entries[e + 3];
+        int length = entries[e + 4];
+        String dumpData = dumpData(step, data, pos, length, charset, entries[e + 6] == 1);
+
+        return new FlatMessageDump(it.field.getName(), it.name, entries[e + 1], entries[e + 2], length, dumpData,
+                step.level, tableNames[index], entries[e + 5]);
+    }
+
+    /**
+     * 덤프 데이터 문자열
+     *
+     * @param raw true 이면 buffer 의 byte 를 그대로 문자열로 변환, false 이면 역직렬화한 필드 값의 문자열 (필드를 다시 변환)
+     */
+    static String dumpData(final PlanStep step, final ByteBuffer data, final int pos, final int length,
+                           final Charset charset, final boolean raw) {
+        if (raw)
+            return ByteBufferUtil.toString(data, pos, length, charset);
+
+        FlatFieldInfo it = step.fieldInfo;
+        switch (step.type) {
+            case INT_FIELD:
+                return String.valueOf(ConversionUtil.readInt(data, pos, length, it.scale, it.getClassFieldName()));
+            case LONG_FIELD:
+                return String.valueOf(ConversionUtil.readLong(data, pos, length, it.scale, it.getClassFieldName()));
+            case FLOAT_FIELD:
+                return String.valueOf(ConversionUtil.readFloat(data, pos, length, it.scale, it.getClassFieldName()));
+            case DOUBLE_FIELD:
+                return String.valueOf(ConversionUtil.readDouble(data, pos, length, it.scale, it.getClassFieldName()));
+            default:
+                if (it.dataType == FieldDataType.BLOCK)
+                    return ByteBufferUtil.toString(data, pos, length, charset);
+                return String.valueOf(ConversionUtil.read(data, pos, length, it, charset));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tableNames, 0, size, null);
+        size = 0;
+        rendered = null;
+        steps = null;
+        data = null;
+        charset = null;
+    }
+}
@@ -17,6 +17,7 @@
 package com.ezoneproject.flatmessage.internal;
 
 import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -32,11 +33,21 @@ public final class FlatFieldInfo {
      */
     public Field field = null;
     /**
-     * public 여부(public 이면 필드에 직접 값을 셋팅하고 아니면 get/set 메서드를 통함)
+     * public 여부 (public 이면 필드에 직접 접근하고, 아니면 getter/setter 메서드가 있을 때 메서드를 통하며 없으면 필드에 직접 접근)
      */
     public boolean isPublic = false;
+    /**
+     * getter 메서드 (public 필드 또는 getter 가 없으면 null, 필드에 직접 접근)
+     */
     public Method getterMethod = null;
+    /**
+     * setter 메서드 (public 필드 또는 setter 가 없으면 null, 필드에 직접 접근)
+     */
     public Method setterMethod = null;
+    /**
+     * 필드 접근자
+     */
+    public FieldAccessor accessor = null;
     /**
      * (어노테이션) position
      */
@@ -79,6 +90,20 @@ public final class FlatFieldInfo {
      */
     public Class<?> tableClass = null;
 
+    /**
+     * 오류 메시지용 클래스.필드명 (단축한 패키지명)
+     */
+    private String classFieldName = null;
+
+    /**
+     * @return 단축한 패키지명을 포함한 클래스.필드설명
+     */
+    public String getClassFieldName() {
+        if (classFieldName == null)
+            classFieldName = FlatStringUtil.shortClassName(field.getDeclaringClass().getCanonicalName() + "." + name);
+        return classFieldName;
+    }
+
     @Override
     public String toString() {
         return "FlatFieldInfo{" +
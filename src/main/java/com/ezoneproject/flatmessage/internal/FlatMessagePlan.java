@@ -0,0 +1,864 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.AnnotationDefineException;
+import com.ezoneproject.flatmessage.DataConversionException;
+import com.ezoneproject.flatmessage.DataTooShortException;
+import com.ezoneproject.flatmessage.FieldDataAccessException;
+import com.ezoneproject.flatmessage.InstanceCreateException;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.debug.FlatStringUtil;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클래스별로 한 번 컴파일하는 직렬화/역직렬화 플랜
+ * <pre>
+ *     AnnotationFields 의 필드 목록을 중첩 클래스와 테이블까지 펼쳐서 하나의 단계 배열로 만들고,
+ *     직렬화/역직렬화는 재귀 호출이나 하위 serializer 생성 없이 단계 배열을 순서대로 실행한다.
+ *     고정 길이로 판단되는 필드, 클래스, 테이블 행은 컴파일할 때 오프셋과 길이를 계산해 둔다.
+ *     길이 계산은 연속된 고정 길이 구간을 한 번에 더하므로 가변 테이블 건수나 길이 미지정 BLOCK 만 읽는다.
+ *     역직렬화는 PlanContext 에 필드 선택(FieldProjection)이 있으면 선택한 필드만 변환해서 입력한다.
+ * </pre>
+ */
+public final class FlatMessagePlan {
+    /**
+     * 클래스별 플랜 캐시 (Class 에 보관하므로 클래스가 언로드되면 함께 해제)
+     */
+    private static final ClassValue<FlatMessagePlan> planCache = new ClassValue<FlatMessagePlan>() {
+        @Override
+        protected FlatMessagePlan computeValue(Class<?> type) {
+            return new FlatMessagePlan(type);
+        }
+    };
+
+    /**
+     * 플랜 대상 클래스
+     */
+    private final Class<?> jClass;
+    /**
+     * 펼쳐진 처리 단계
+     */
+    private final PlanStep[] steps;
+    /**
+     * 최대 중첩 레벨
+     */
+    private final int maxLevel;
+    /**
+     * 전체 고정 길이 (데이터에 따라 길이가 달라지면 -1)
+     */
+    private final int length;
+    /**
+     * 가변 테이블 반복횟수 필드의 값 슬롯 수
+     */
+    private final int loopSlots;
+
+    private FlatMessagePlan(final Class<?> jClass) {
+        this.jClass = jClass;
+
+        List<PlanStep> stepList = new ArrayList<>();
+        List<Class<?>> stack = new ArrayList<>();
+        stack.add(jClass);
+        this.length = compile(jClass, 0, stepList, stack);
+        this.steps = stepList.toArray(new PlanStep[0]);
+        linkRuns(steps);
+
+        // 가변 테이블의 반복횟수 필드별 값 슬롯
+        Map<FlatFieldInfo, Integer> slots = new IdentityHashMap<>();
+        int level = 0;
+        for (PlanStep step : steps) {
+            level = Math.max(level, step.level + 1);
+            if (step.type == PlanStep.StepType.TABLE_BEGIN && step.fieldInfo.itemType == FlatFieldInfo.FieldTableType.TABLE_VARIABLE) {
+                Integer slot = slots.get(step.fieldInfo.tableLoopField);
+                if (slot == null) {
+                    slot = slots.size();
+                    slots.put(step.fieldInfo.tableLoopField, slot);
+                }
+                step.loopSlot = slot;
+            }
+        }
+        for (PlanStep step : steps) {
+            if (step.type != PlanStep.StepType.TABLE_BEGIN && step.type != PlanStep.StepType.TABLE_END &&
+                    step.type != PlanStep.StepType.CLASS_BEGIN && step.type != PlanStep.StepType.CLASS_END) {
+                Integer slot = slots.get(step.fieldInfo);
+                if (slot != null)
+                    step.loopSlot = slot;
+            }
+        }
+        this.loopSlots = slots.size();
+        this.maxLevel = level;
+    }
+
+    /**
+     * 클래스의 플랜을 생성하고 캐시
+     */
+    public static FlatMessagePlan of(final Class<?> jClass) {
+        return planCache.get(jClass);
+    }
+
+    /**
+     * 클래스의 필드 목록을 단계 배열에 펼침 (컴파일 시점에만 재귀 호출)
+     *
+     * @return 클래스의 고정 길이, 데이터에 따라 길이가 달라지면 -1
+     */
+    private static int compile(Class<?> cls, int level, List<PlanStep> stepList, List<Class<?>> stack) {
+        int offset = 0;
+
+        for (FlatFieldInfo it : AnnotationFields.getInstance().getFlatFieldInfoList(cls)) {
+            if (it.itemType == FlatFieldInfo.FieldTableType.FIELD && it.dataType != FieldDataType.CLASS) {
+                PlanStep step = new PlanStep(fieldStepType(it), it, level, null);
+                step.offset = offset;
+                step.length = (it.length >= 0) ? it.length : -1;
+                stepList.add(step);
+
+                offset = advance(offset, step.length);
+            } else if (it.itemType == FlatFieldInfo.FieldTableType.FIELD) {
+                checkReference(it, it.dataClass, stack);
+
+                PlanStep begin = new PlanStep(PlanStep.StepType.CLASS_BEGIN, it, level, it.dataClass);
+                int beginIndex = stepList.size();
+                stepList.add(begin);
+
+                stack.add(it.dataClass);
+                int classLength = compile(it.dataClass, level + 1, stepList, stack);
+                stack.remove(stack.size() - 1);
+
+                PlanStep end = new PlanStep(PlanStep.StepType.CLASS_END, it, level, it.dataClass);
+                link(begin, beginIndex, end, stepList, offset, classLength);
+
+                offset = advance(offset, classLength);
+            } else {
+                checkReference(it, it.tableClass, stack);
+
+                PlanStep begin = new PlanStep(PlanStep.StepType.TABLE_BEGIN, it, level, it.tableClass);
+                int beginIndex = stepList.size();
+                stepList.add(begin);
+
+                stack.add(it.tableClass);
+                int rowLength = compile(it.tableClass, level + 1, stepList, stack);
+                stack.remove(stack.size() - 1);
+
+                PlanStep end = new PlanStep(PlanStep.StepType.TABLE_END, it, level, it.tableClass);
+                link(begin, beginIndex, end, stepList, offset, rowLength);
+
+                // 고정 반복 테이블의 행 길이가 고정이면 테이블 전체가 고정 길이
+                if (it.itemType == FlatFieldInfo.FieldTableType.TABLE_FIXED && rowLength >= 0)
+                    offset = advance(offset, rowLength * it.tableLoopCount);
+                else
+                    offset = -1;
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * int, long, float, double 타입의 NUMERIC 필드는 박싱하지 않는 단계로 처리
+     */
+    private static PlanStep.StepType fieldStepType(FlatFieldInfo it) {
+        Class<?> type = (it.dataType == FieldDataType.NUMERIC) ? it.accessor.getPrimitiveType() : null;
+        if (type == int.class)
+            return PlanStep.StepType.INT_FIELD;
+        else if (type == long.class)
+            return PlanStep.StepType.LONG_FIELD;
+        else if (type == float.class)
+            return PlanStep.StepType.FLOAT_FIELD;
+        else if (type == double.class)
+            return PlanStep.StepType.DOUBLE_FIELD;
+        else
+            return PlanStep.StepType.FIELD;
+    }
+
+    /**
+     * 연속된 고정 길이 필드/클래스 구간의 길이 합계와 다음 단계를 뒤에서부터 계산
+     * 필드 다음 단계는 같은 레벨의 필드/BEGIN 이거나 상위 레벨의 END 이므로 같은 레벨 안에서만 이어진다.
+     */
+    private static void linkRuns(PlanStep[] steps) {
+        for (int i = steps.length - 1; i >= 0; i--) {
+            PlanStep step = steps[i];
+            if (!isFixedRun(step))
+                continue;
+
+            int next = (step.type == PlanStep.StepType.CLASS_BEGIN) ? step.pairIndex + 1 : i + 1;
+            if (next < steps.length && isFixedRun(steps[next])) {
+                step.runLength = step.length + steps[next].runLength;
+                step.runEnd = steps[next].runEnd;
+            } else {
+                step.runLength = step.length;
+                step.runEnd = next;
+            }
+        }
+    }
+
+    private static boolean isFixedRun(PlanStep step) {
+        switch (step.type) {
+            case FIELD:
+            case INT_FIELD:
+            case LONG_FIELD:
+            case FLOAT_FIELD:
+            case DOUBLE_FIELD:
+            case CLASS_BEGIN:
+                return step.length >= 0;
+            default:
+                return false;
+        }
+    }
+
+    private static int advance(int offset, int length) {
+        return (offset < 0 || length < 0) ? -1 : offset + length;
+    }
+
+    private static void link(PlanStep begin, int beginIndex, PlanStep end, List<PlanStep> stepList, int offset, int length) {
+        begin.pairIndex = stepList.size();
+        end.pairIndex = beginIndex;
+        begin.offset = end.offset = offset;
+        begin.length = end.length = length;
+        stepList.add(end);
+    }
+
+    /**
+     * 하위 클래스가 상위 클래스 트리에 있으면 무한루프가 되므로 차단
+     */
+    private static void checkReference(FlatFieldInfo it, Class<?> childClass, List<Class<?>> stack) {
+        if (stack.contains(childClass))
+            throw new AnnotationDefineException("Cross reference detected: " +
+                    FlatStringUtil.shortClassName(childClass.getCanonicalName()) + "." + it.field.getName());
+    }
+
+    /**
+     * @return 플랜 대상 클래스
+     */
+    public Class<?> getTargetClass() {
+        return jClass;
+    }
+
+    /**
+     * @return 전체 고정 길이, 데이터에 따라 길이가 달라지면 -1
+     */
+    public int getFixedLength() {
+        return length;
+    }
+
+    /**
+     * @return 펼쳐진 처리 단계 (복사본)
+     */
+    public PlanStep[] getSteps() {
+        return steps.clone();
+    }
+
+    /**
+     * 역직렬화할 필드 선택 생성
+     *
+     * @param fieldPaths 필드 경로 (예: header.code, items[].amount)
+     * @throws IllegalArgumentException 정의되지 않은 필드 경로
+     */
+    public FieldProjection projection(final Collection<String> fieldPaths) {
+        return new FieldProjection(this, steps, fieldPaths);
+    }
+
+    /**
+     * 자료 길이를 계산한다.
+     */
+    public int getLength(final Object object, final PlanContext ctx) {
+        if (length >= 0)
+            return length;
+
+        PlanContext.Frame f = ctx.begin(maxLevel);
+        f.object = object;
+
+        int total = 0;
+        try {
+            for (int pc = 0; pc < steps.length; ) {
+                final PlanStep step = steps[pc];
+                final FlatFieldInfo it = step.fieldInfo;
+
+                switch (step.type) {
+                    case FIELD:
+                    case INT_FIELD:
+                    case LONG_FIELD:
+                    case FLOAT_FIELD:
+                    case DOUBLE_FIELD:
+                        if (step.length >= 0) {
+                            total += step.runLength;
+                            pc = step.runEnd;
+                            break;
+                        } else if (it.dataType == FieldDataType.BLOCK) {
+                            // 길이 미지정 BLOCK은 주어진 byte를 끝까지 더한다 (어노테이션 점검시 byte[] 검증함)
+                            byte[] data = (byte[]) ReflectionAccess.getField(it, f.object);
+                            if (data != null)
+                                total += data.length;
+                        } else
+                            throw new FieldDataAccessException("Can not calculate data length: " +
+                                    FlatStringUtil.shortClassName(it.field.getDeclaringClass().getCanonicalName()) + "." + it.field.getName());
+                        pc++;
+                        break;
+
+                    case CLASS_BEGIN:
+                        if (step.length >= 0) {
+                            total += step.runLength;
+                            pc = step.runEnd;
+                            break;
+                        }
+                        f = pushClass(ctx, step, f, 0);
+                        pc++;
+                        break;
+
+                    case TABLE_BEGIN: {
+                        int loopCount = ReflectionAccess.getTableLoopCount(it, f.object, jClass);
+                        if (loopCount == 0) {
+                            pc = step.pairIndex + 1;
+                        } else if (step.length >= 0) {
+                            total += (step.length * loopCount);
+                            pc = step.pairIndex + 1;
+                        } else {
+                            f = pushTable(ctx, step, f, loopCount, 0);
+                            pc++;
+                        }
+                        break;
+                    }
+
+                    case CLASS_END:
+                    case TABLE_END:
+                        if (step.type == PlanStep.StepType.TABLE_END && f.row < f.loopCount) {
+                            nextRow(f, steps[step.pairIndex], 0);
+                            pc = step.pairIndex + 1;
+                        } else {
+                            f.clear();
+                            f = ctx.frame(step.level);
+                            pc++;
+                        }
+                        break;
+                }
+            }
+        } finally {
+            ctx.release();
+        }
+
+        return total;
+    }
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 시작하는 레코드의 길이를 객체를 생성하지 않고 계산한다.
+     * 가변 테이블의 반복횟수 필드만 읽으며, buffer의 position, limit 는 변경하지 않는다.
+     * 반복횟수 값과 레벨별 상태는 ctx 의 배열을 재사용하므로 레코드마다 할당하지 않는다.
+     *
+     * @param available offset 부터 읽을 수 있는 길이
+     * @return 레코드 길이 (available 보다 클 수 있음),
+     * 반복횟수 필드가 available 밖에 있으면 -(계속 계산하는데 필요한 최소 길이)
+     * @throws IllegalStateException   길이 미지정 BLOCK 필드가 있음
+     * @throws DataConversionException 반복횟수 필드 변환 오류
+     */
+    public int measure(final ByteBuffer data, final int offset, final int available, final PlanContext ctx) {
+        if (length >= 0)
+            return length;
+
+        final int end = offset + available;
+        ctx.beginMeasure(loopSlots, maxLevel + 1);
+        // 슬롯별 반복횟수 필드 값, 레벨별 테이블 반복 횟수와 행번호
+        final int[] loopValues = ctx.loopValues;
+        final int[] loopCount = ctx.measureLoopCount;
+        final int[] row = ctx.measureRow;
+
+        int pos = offset;
+        for (int pc = 0; pc < steps.length; ) {
+            final PlanStep step = steps[pc];
+            final FlatFieldInfo it = step.fieldInfo;
+
+            switch (step.type) {
+                case FIELD:
+                case INT_FIELD:
+                case LONG_FIELD:
+                case FLOAT_FIELD:
+                case DOUBLE_FIELD:
+                    if (step.length < 0)
+                        throw new IllegalStateException("Record length is not determined: " + it.getClassFieldName());
+
+                    // 반복횟수 필드는 같은 클래스(행)의 테이블보다 앞에 있으므로 테이블에서 마지막으로 읽은 값을 사용
+                    if (step.loopSlot >= 0) {
+                        if (pos + step.length > end)
+                            return -(pos + step.length - offset);
+                        loopValues[step.loopSlot] = ConversionUtil.readInt(data, pos, step.length, it.scale,
+                                it.getClassFieldName());
+                    }
+                    pos += step.length;
+                    pc++;
+                    break;
+
+                case CLASS_BEGIN:
+                    if (step.length >= 0) {
+                        pos += step.length;
+                        pc = step.pairIndex + 1;
+                    } else {
+                        pc++;
+                    }
+                    break;
+
+                case TABLE_BEGIN: {
+                    int count = (it.itemType == FlatFieldInfo.FieldTableType.TABLE_FIXED) ?
+                            it.tableLoopCount : loopValues[step.loopSlot];
+                    if (count < 0)
+                        throw new DataConversionException("Table loop count is negative value[" + count + "]: "
+                                + it.tableLoopField.field.getName());
+
+                    if (count == 0) {
+                        pc = step.pairIndex + 1;
+                    } else if (step.length >= 0) {
+                        pos += step.length * count;
+                        pc = step.pairIndex + 1;
+                    } else {
+                        loopCount[step.level + 1] = count;
+                        row[step.level + 1] = 1;
+                        pc++;
+                    }
+                    break;
+                }
+
+                case TABLE_END:
+                    if (row[step.level + 1] < loopCount[step.level + 1]) {
+                        row[step.level + 1]++;
+                        pc = step.pairIndex + 1;
+                    } else {
+                        pc++;
+                    }
+                    break;
+
+                case CLASS_END:
+                    pc++;
+                    break;
+            }
+        }
+
+        return pos - offset;
+    }
+
+    /**
+     * 객체를 buffer의 offset 위치(절대 위치)부터 직렬화한다.
+     * buffer의 position, limit 는 변경하지 않으며, 길이는 호출하는 쪽에서 확인해야 한다.
+     *
+     * @return 직렬화한 길이
+     */
+    public int encode(final Object object, final ByteBuffer buffer, final int offset, final Charset charset, final PlanContext ctx) {
+        final boolean dumpMode = ctx.isDumping();
+        final int absoluteBase = ctx.absoluteOffset - offset;
+        ctx.beginDump(steps, buffer, charset);
+
+        PlanContext.Frame f = ctx.begin(maxLevel);
+        f.object = object;
+        f.startOffset = offset;
+        f.row = 0;
+        f.name = "";
+
+        int pos = offset;
+        int pc = 0;
+        try {
+            while (pc < steps.length) {
+                final PlanStep step = steps[pc];
+                final FlatFieldInfo it = step.fieldInfo;
+
+                switch (step.type) {
+                    case FIELD:
+                    case INT_FIELD:
+                    case LONG_FIELD:
+                    case FLOAT_FIELD:
+                    case DOUBLE_FIELD: {
+                        int written = encodeField(step, f.object, buffer, pos, charset);
+
+                        // 디버깅 데이터 기록 (덤프 정보는 읽을 때 생성)
+                        if (dumpMode)
+                            ctx.dump(pc, pos - f.startOffset, absoluteBase + pos, pos, written, f, true);
+
+                        pos += written;
+                        pc++;
+                        break;
+                    }
+
+                    case CLASS_BEGIN:
+                        f = pushClass(ctx, step, f, pos);
+                        pc++;
+                        break;
+
+                    case TABLE_BEGIN: {
+                        // 필드에 정의된 데이터 건수만큼 처리하고 데이터가 더 많으면 나머지는 버림
+                        int loopCount = ReflectionAccess.getTableLoopCount(it, f.object, jClass);
+                        if (loopCount == 0) {
+                            pc = step.pairIndex + 1;
+                            break;
+                        }
+                        f = pushTable(ctx, step, f, loopCount, pos);
+                        pc++;
+                        break;
+                    }
+
+                    case CLASS_END:
+                    case TABLE_END:
+                        if (step.type == PlanStep.StepType.TABLE_END && f.row < f.loopCount) {
+                            nextRow(f, steps[step.pairIndex], pos);
+                            pc = step.pairIndex + 1;
+                        } else {
+                            f.clear();
+                            f = ctx.frame(step.level);
+                            pc++;
+                        }
+                        break;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (FlatMessageMetrics.isEnabled())
+                ctx.errorField = steps[pc].fieldInfo;
+            throw e;
+        } finally {
+            ctx.release();
+        }
+
+        int written = pos - offset;
+        ctx.absoluteOffset += written;
+        return written;
+    }
+
+    /**
+     * 직렬화: 필드 값을 buffer에 기록 (기본형 필드는 박싱하지 않음)
+     *
+     * @return 기록한 길이
+     */
+    private static int encodeField(PlanStep step, Object object, ByteBuffer buffer, int pos, Charset charset) {
+        final FlatFieldInfo it = step.fieldInfo;
+        switch (step.type) {
+            case INT_FIELD:
+                return ConversionUtil.write(it.accessor.getInt(object), buffer, pos, it.length);
+            case LONG_FIELD:
+                return ConversionUtil.write(it.accessor.getLong(object), buffer, pos, it.length);
+            case FLOAT_FIELD:
+                return ConversionUtil.write(it.accessor.getFloat(object), buffer, pos, it.length, it.scale);
+            case DOUBLE_FIELD:
+                return ConversionUtil.write(it.accessor.getDouble(object), buffer, pos, it.length, it.scale);
+            default:
+                return ConversionUtil.write(ReflectionAccess.getField(it, object), buffer, pos, it.length, it.scale, charset);
+        }
+    }
+
+    /**
+     * 직렬화: 중첩 클래스 프레임 시작 (값이 null이면 빈 객체를 생성)
+     */
+    private static PlanContext.Frame pushClass(PlanContext ctx, PlanStep step, PlanContext.Frame parent, int pos) {
+        Object subObject = ReflectionAccess.getField(step.fieldInfo, parent.object);
+        if (subObject == null)
+            subObject = newInstance(step.childClass);
+
+        PlanContext.Frame f = ctx.frame(step.level + 1);
+        f.object = subObject;
+        f.startOffset = pos;
+        f.row = 0;
+        f.loopCount = 0;
+        f.name = step.childName;
+        return f;
+    }
+
+    /**
+     * 직렬화: 테이블 프레임 시작
+     */
+    private static PlanContext.Frame pushTable(PlanContext ctx, PlanStep step, PlanContext.Frame parent, int loopCount, int pos) {
+        Object target = ReflectionAccess.getField(step.fieldInfo, parent.object);
+
+        PlanContext.Frame f = ctx.frame(step.level + 1);
+        f.source = target;
+        if (target == null)
+            f.sourceCount = 0;
+        else if (target.getClass().isArray())
+            f.sourceCount = Array.getLength(target);
+        else
+            f.sourceCount = ((List<?>) target).size();
+
+        f.loopCount = loopCount;
+        f.row = 0;
+        f.name = step.childName;
+        nextRow(f, step, pos);
+        return f;
+    }
+
+    /**
+     * 직렬화: 다음 테이블 행으로 이동
+     * 선언한 데이터 건수보다 실제 데이터가 적은 경우 빈 데이터를 생성해서 채움
+     */
+    private static void nextRow(PlanContext.Frame f, PlanStep begin, int pos) {
+        int i = f.row;
+        if (i < f.sourceCount) {
+            if (f.source.getClass().isArray())
+                f.object = Array.get(f.source, i);
+            else
+                f.object = ((List<?>) f.source).get(i);
+        } else {
+            try {
+                f.object = begin.childClass.getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new AnnotationDefineException("Can not create instance: " + begin.childClass.getCanonicalName());
+            }
+        }
+
+        f.row = i + 1;
+        f.startOffset = pos;
+    }
+
+    /**
+     * buffer의 offset 위치(절대 위치)부터 객체로 역직렬화한다.
+     * 필드 데이터는 복사하지 않고 buffer에서 직접 읽으며, buffer의 position, limit 는 변경하지 않는다.
+     *
+     * @return 데이터가 입력된 객체, 처리한 길이는 ctx.length
+     */
+    @SuppressWarnings("unchecked")
+    public Object decode(final ByteBuffer data, final int offset, final int limit, final Charset charset, final PlanContext ctx) {
+        // limit가 data의 길이보다 크면 오류
+        if (limit < 0 || limit > (data.limit() - offset))
+            throw new DataTooShortException("limit: " + limit);
+
+        final boolean dumpMode = ctx.isDumping();
+        final int end = offset + limit;
+        // 필드 선택이 없으면 null (모든 필드 처리)
+        final boolean[] selected = (ctx.projection != null && ctx.projection.plan == this) ? ctx.projection.selected : null;
+        ctx.beginDump(steps, data, charset);
+        ctx.length = 0;
+
+        final Object object = newInstance(jClass);
+
+        PlanContext.Frame f = ctx.begin(maxLevel);
+        f.object = object;
+        f.startOffset = offset;
+        f.row = 0;
+        f.name = "";
+
+        int pos = offset;
+        int pc = 0;
+        try {
+            while (pc < steps.length) {
+                final PlanStep step = steps[pc];
+                final FlatFieldInfo it = step.fieldInfo;
+
+                switch (step.type) {
+                    case FIELD:
+                    case INT_FIELD:
+                    case LONG_FIELD:
+                    case FLOAT_FIELD:
+                    case DOUBLE_FIELD: {
+                        // item length가 미지정(-1)인 경우 limit만큼 끝까지 처리
+                        // 미지정 필드는 필드 목록의 마지막에 있어야 하며, 이후 필드가 존재하면 데이터 길이 부족으로 오류가 발생하므로 유의
+                        int itemLength = (step.length >= 0) ? step.length : end - pos;
+
+                        // 필드 길이보다 데이터 길이가 짧으면 오류
+                        // 오류는 의도한 동작이므로 라이브러리 수정 금지
+                        if (pos + itemLength > end)
+                            throw new DataTooShortException(it.name + " (" + (pos + itemLength - end) + " bytes short)");
+
+                        // 선택하지 않은 필드는 변환하지 않고 건너뜀
+                        if (selected != null && !selected[pc]) {
+                            if (dumpMode)
+                                ctx.dump(pc, pos - f.startOffset, pos, pos, itemLength, f, true);
+
+                            pos += itemLength;
+                            pc++;
+                            break;
+                        }
+
+                        decodeField(step, f.object, data, pos, itemLength, charset);
+
+                        // 디버깅 데이터 기록 (필드 값의 문자열은 덤프를 읽을 때 다시 변환)
+                        if (dumpMode)
+                            ctx.dump(pc, pos - f.startOffset, pos, pos, itemLength, f, false);
+
+                        pos += itemLength;
+                        pc++;
+                        break;
+                    }
+
+                    case CLASS_BEGIN: {
+                        // 선택한 필드가 없는 고정 길이 클래스는 생성하지 않고 건너뜀
+                        if (selected != null && !selected[pc] && step.length >= 0) {
+                            pos = skip(it, pos, step.length, end);
+                            pc = step.pairIndex + 1;
+                            break;
+                        }
+
+                        Object subObject = newInstance(step.childClass);
+
+                        f = ctx.frame(step.level + 1);
+                        f.object = subObject;
+                        f.startOffset = pos;
+                        f.row = 0;
+                        f.loopCount = 0;
+                        f.name = step.childName;
+                        pc++;
+                        break;
+                    }
+
+                    case CLASS_END: {
+                        Object subObject = f.object;
+                        f.clear();
+                        f = ctx.frame(step.level);
+
+                        if (selected == null || selected[pc])
+                            ReflectionAccess.setField(it, f.object, subObject);
+                        pc++;
+                        break;
+                    }
+
+                    case TABLE_BEGIN: {
+                        int loopCount = ReflectionAccess.getTableLoopCount(it, f.object, jClass);
+
+                        // 선택한 필드가 없고 행 길이가 고정이면 테이블 전체를 건너뜀
+                        if (selected != null && !selected[pc] && step.length >= 0) {
+                            pos = skip(it, pos, step.length * loopCount, end);
+                            pc = step.pairIndex + 1;
+                            break;
+                        }
+
+                        Object[] objArray = null;
+                        List<Object> oList = null;
+                        Class<?> fieldType = it.field.getType();
+
+                        if (fieldType.isArray()) {
+                            // array 생성
+                            objArray = (Object[]) Array.newInstance(step.childClass, loopCount);
+                        } else if (fieldType == List.class) {
+                            // List 인터페이스로 선언된 경우 ArrayList를 생성해서 처리
+                            oList = new ArrayList<>(loopCount);
+                        } else {
+                            // List 상속한 클래스인 경우 해당 클래스로 생성
+                            try {
+                                oList = (List<Object>) fieldType.getDeclaredConstructor().newInstance();
+                            } catch (Exception e) {
+                                throw new DataConversionException(FlatStringUtil.shortClassName(it.field.getDeclaringClass().getCanonicalName()) +
+                                        "." + it.field.getName() + ": " + e.getMessage(), e);
+                            }
+                        }
+
+                        if (loopCount == 0) {
+                            if (selected == null || selected[pc])
+                                ReflectionAccess.setField(it, f.object, (objArray != null) ? objArray : oList);
+                            pc = step.pairIndex + 1;
+                            break;
+                        }
+
+                        f = ctx.frame(step.level + 1);
+                        f.array = objArray;
+                        f.list = oList;
+                        f.loopCount = loopCount;
+                        f.row = 1;
+                        f.name = step.childName;
+                        f.startOffset = pos;
+                        f.object = newInstance(step.childClass);
+                        pc++;
+                        break;
+                    }
+
+                    case TABLE_END:
+                        if (f.array != null)
+                            f.array[f.row - 1] = f.object;
+                        else
+                            f.list.add(f.object);
+
+                        if (f.row < f.loopCount) {
+                            f.row++;
+                            f.startOffset = pos;
+                            f.object = newInstance(step.childClass);
+                            pc = step.pairIndex + 1;
+                        } else {
+                            Object tableData = (f.array != null) ? f.array : f.list;
+                            f.clear();
+                            f = ctx.frame(step.level);
+
+                            if (selected == null || selected[pc])
+                                ReflectionAccess.setField(it, f.object, tableData);
+                            pc++;
+                        }
+                        break;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (FlatMessageMetrics.isEnabled())
+                ctx.errorField = steps[pc].fieldInfo;
+            throw e;
+        } finally {
+            ctx.release();
+        }
+
+        ctx.length = pos - offset;
+        return object;
+    }
+
+    /**
+     * 역직렬화: 선택하지 않은 클래스/테이블의 길이만큼 건너뜀
+     *
+     * @return 다음 위치
+     */
+    private static int skip(FlatFieldInfo it, int pos, int length, int end) {
+        if (pos + length > end)
+            throw new DataTooShortException(it.name + " (" + (pos + length - end) + " bytes short)");
+        return pos + length;
+    }
+
+    /**
+     * 역직렬화: buffer 에서 필드 값을 읽어서 객체에 입력 (기본형 필드는 박싱하지 않음)
+     */
+    private static void decodeField(PlanStep step, Object object, ByteBuffer data, int pos, int length, Charset charset) {
+        final FlatFieldInfo it = step.fieldInfo;
+        switch (step.type) {
+            case INT_FIELD:
+                it.accessor.setInt(object, ConversionUtil.readInt(data, pos, length, it.scale, it.getClassFieldName()));
+                break;
+            case LONG_FIELD:
+                it.accessor.setLong(object, ConversionUtil.readLong(data, pos, length, it.scale, it.getClassFieldName()));
+                break;
+            case FLOAT_FIELD:
+                it.accessor.setFloat(object, ConversionUtil.readFloat(data, pos, length, it.scale, it.getClassFieldName()));
+                break;
+            case DOUBLE_FIELD:
+                it.accessor.setDouble(object, ConversionUtil.readDouble(data, pos, length, it.scale, it.getClassFieldName()));
+                break;
+            default:
+                ReflectionAccess.setField(it, object, ConversionUtil.read(data, pos, length, it, charset));
+                break;
+        }
+    }
+
+    /**
+     * Bean 클래스는 인자가 없는 빈 public 생성자가 있어야 한다.
+     */
+    private static Object newInstance(Class<?> cls) {
+        try {
+            return cls.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new InstanceCreateException(cls.getCanonicalName(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FlatMessagePlan{" +
+                "class=" + jClass.getName() +
+                ", length=" + length +
+                ", steps=" + Arrays.toString(steps) +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.DataConversionException;
+import com.ezoneproject.flatmessage.DataTooShortException;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * 어노테이션 프로세서가 생성한 코덱에서 호출하는 변환 함수
+ */
+public final class GeneratedCodecSupport {
+    private GeneratedCodecSupport() {
+    }
+
+    /**
+     * limit가 data의 길이보다 크면 오류
+     */
+    public static void checkLimit(final ByteBuffer data, final int offset, final int limit) {
+        if (limit < 0 || limit > (data.limit() - offset))
+            throw new DataTooShortException("limit: " + limit);
+    }
+
+    /**
+     * 필드 길이보다 데이터 길이가 짧으면 오류
+     */
+    public static void checkLength(final int pos, final int length, final int end, final String name) {
+        if (pos + length > end)
+            throw new DataTooShortException(name + " (" + (pos + length - end) + " bytes short)");
+    }
+
+    /**
+     * 테이블 반복 횟수 점검
+     */
+    public static int checkLoopCount(final int loopCount, final String loopFieldName) {
+        if (loopCount < 0)
+            throw new DataConversionException("Table loop count is negative value[" + loopCount + "]: " + loopFieldName);
+        return loopCount;
+    }
+
+    /**
+     * 필드 값을 buffer에 직렬화
+     *
+     * @return 직렬화한 길이
+     */
+    public static int encode(final Object value, final ByteBuffer buffer, final int pos, final int length, final int scale,
+                             final Charset charset) {
+        return ConversionUtil.write(value, buffer, pos, length, scale, charset);
+    }
+
+    /**
+     * int, long NUMERIC 필드 값을 buffer에 직렬화 (박싱하지 않음)
+     *
+     * @return 직렬화한 길이
+     */
+    public static int encodeLong(final long value, final ByteBuffer buffer, final int pos, final int length) {
+        return ConversionUtil.write(value, buffer, pos, length);
+    }
+
+    /**
+     * float NUMERIC 필드 값을 buffer에 직렬화 (박싱하지 않음)
+     *
+     * @return 직렬화한 길이
+     */
+    public static int encodeFloat(final float value, final ByteBuffer buffer, final int pos, final int length, final int scale) {
+        return ConversionUtil.write(value, buffer, pos, length, scale);
+    }
+
+    /**
+     * double NUMERIC 필드 값을 buffer에 직렬화 (박싱하지 않음)
+     *
+     * @return 직렬화한 길이
+     */
+    public static int encodeDouble(final double value, final ByteBuffer buffer, final int pos, final int length, final int scale) {
+        return ConversionUtil.write(value, buffer, pos, length, scale);
+    }
+
+    /**
+     * BLOCK 필드 길이 (길이 미지정 BLOCK은 주어진 byte를 끝까지 더한다)
+     */
+    public static int blockLength(final byte[] value) {
+        return (value == null) ? 0 : value.length;
+    }
+
+    /**
+     * data 일부를 필드 값으로 역직렬화
+     */
+    public static Object decode(final ByteBuffer data, final int pos, final int length, final FieldDataType dataType,
+                                final int scale, final Class<?> targetType, final String fieldName, final Charset charset) {
+        return ConversionUtil.read(data, pos, length, dataType, scale, targetType, fieldName, charset);
+    }
+
+    /**
+     * BLOCK 필드를 복사하지 않는 view 로 역직렬화
+     */
+    public static ByteBuffer slice(final ByteBuffer data, final int pos, final int length) {
+        return ByteBufferUtil.slice(data, pos, length);
+    }
+
+    /**
+     * int NUMERIC 필드 역직렬화 (박싱하지 않음)
+     */
+    public static int decodeInt(final ByteBuffer data, final int pos, final int length, final int scale, final String fieldName) {
+        return ConversionUtil.readInt(data, pos, length, scale, fieldName);
+    }
+
+    /**
+     * long NUMERIC 필드 역직렬화 (박싱하지 않음)
+     */
+    public static long decodeLong(final ByteBuffer data, final int pos, final int length, final int scale, final String fieldName) {
+        return ConversionUtil.readLong(data, pos, length, scale, fieldName);
+    }
+
+    /**
+     * float NUMERIC 필드 역직렬화 (박싱하지 않음)
+     */
+    public static float decodeFloat(final ByteBuffer data, final int pos, final int length, final int scale, final String fieldName) {
+        return ConversionUtil.readFloat(data, pos, length, scale, fieldName);
+    }
+
+    /**
+     * double NUMERIC 필드 역직렬화 (박싱하지 않음)
+     */
+    public static double decodeDouble(final ByteBuffer data, final int pos, final int length, final int scale, final String fieldName) {
+        return ConversionUtil.readDouble(data, pos, length, scale, fieldName);
+    }
+}
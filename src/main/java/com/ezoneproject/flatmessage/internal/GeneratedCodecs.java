@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.FlatMessageGeneratedCodec;
+import com.ezoneproject.flatmessage.InstanceCreateException;
+
+/**
+ * 어노테이션 프로세서가 생성한 코덱 검색 및 캐시
+ * <pre>
+ *     시스템 프로퍼티 com.ezoneproject.flatmessage.generatedCodec=false 이면 생성된 코덱과 뷰를 사용하지 않는다.
+ * </pre>
+ */
+public final class GeneratedCodecs {
+    public static final String ENABLE_PROPERTY = "com.ezoneproject.flatmessage.generatedCodec";
+
+    private static final boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLE_PROPERTY, "true"));
+
+    // 생성된 코덱이 없는 클래스 표시
+    private static final Object NONE = new Object();
+
+    /**
+     * 클래스별 생성된 코덱 캐시 (Class 에 보관하므로 클래스가 언로드되면 함께 해제)
+     */
+    private static final ClassValue<Object> codecCache = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private GeneratedCodecs() {
+    }
+
+    /**
+     * @return 생성된 코덱, 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FlatMessageGeneratedCodec<T> find(final Class<T> jClass) {
+        if (!enabled)
+            return null;
+
+        Object codec = codecCache.get(jClass);
+        return (codec == NONE) ? null : (FlatMessageGeneratedCodec<T>) codec;
+    }
+
+    /**
+     * @return 생성된 코덱(뷰 포함) 사용 여부
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 생성된 코덱 클래스명 (Outer$Inner -&gt; Outer_Inner_FlatCodec)
+     */
+    public static String codecClassName(final Class<?> jClass) {
+        return generatedClassName(jClass, FlatMessageGeneratedCodec.CLASS_SUFFIX);
+    }
+
+    /**
+     * 어노테이션 프로세서가 생성한 클래스명 (Outer$Inner -&gt; Outer_Inner + suffix)
+     */
+    public static String generatedClassName(final Class<?> jClass, final String suffix) {
+        String name = jClass.getName();
+        int packageEnd = name.lastIndexOf('.') + 1;
+
+        return name.substring(0, packageEnd) + name.substring(packageEnd).replace('$', '_') + suffix;
+    }
+
+    private static Object load(final Class<?> jClass) {
+        final Class<?> codecClass;
+        try {
+            codecClass = Class.forName(codecClassName(jClass), true, jClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return NONE;
+        }
+
+        // 이름이 같은 다른 클래스
+        if (!FlatMessageGeneratedCodec.class.isAssignableFrom(codecClass))
+            return NONE;
+
+        try {
+            FlatMessageGeneratedCodec<?> codec = (FlatMessageGeneratedCodec<?>) codecClass.getDeclaredConstructor().newInstance();
+            return (codec.getTargetClass() == jClass) ? codec : NONE;
+        } catch (Exception e) {
+            throw new InstanceCreateException(codecClass.getCanonicalName(), e);
+        }
+    }
+}
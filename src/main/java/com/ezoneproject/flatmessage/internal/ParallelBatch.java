@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 인덱스 범위를 ForkJoinPool 에서 나누어 처리
+ * <pre>
+ *     건수가 적거나 병렬도가 1이면 호출한 스레드에서 순서대로 처리한다.
+ *     작업 중 발생한 예외는 호출한 스레드로 전달된다.
+ * </pre>
+ */
+public final class ParallelBatch {
+    /**
+     * 작업 하나에서 처리할 최소 건수
+     */
+    private static final int MIN_BATCH = 64;
+
+    private ParallelBatch() {
+    }
+
+    /**
+     * 0 부터 count - 1 까지 인덱스를 action 으로 처리
+     */
+    public static void forEach(final ForkJoinPool pool, final int count, final IntConsumer action) {
+        forEachRange(pool, count, (from, to) -> {
+            for (int i = from; i < to; i++)
+                action.accept(i);
+        });
+    }
+
+    /**
+     * 0 부터 count - 1 까지 인덱스를 나눈 범위별로 action 을 한 번씩 호출
+     * <pre>
+     *     범위는 한 스레드에서 처리하므로 범위별 실행 상태를 만들어 범위 안의 인덱스에 재사용할 수 있다.
+     * </pre>
+     */
+    public static void forEachRange(final ForkJoinPool pool, final int count, final RangeAction action) {
+        int parallelism = pool.getParallelism();
+        if (count <= MIN_BATCH || parallelism <= 1) {
+            if (count > 0)
+                action.accept(0, count);
+            return;
+        }
+
+        // 작업 스레드별로 4개 정도로 나누어 부하를 분산
+        int batch = Math.max(MIN_BATCH, count / (parallelism * 4));
+        pool.invoke(new RangeTask(0, count, batch, action));
+    }
+
+    /**
+     * 인덱스 범위 처리
+     */
+    @FunctionalInterface
+    public interface RangeAction {
+        /**
+         * @param from 시작 인덱스 (포함)
+         * @param to   종료 인덱스 (미포함)
+         */
+        void accept(int from, int to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int batch;
+        private final transient RangeAction action;
+
+        RangeTask(int from, int to, int batch, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batch) {
+                action.accept(from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, batch, action), new RangeTask(mid, to, batch, action));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import com.ezoneproject.flatmessage.debug.FlatMessageDumpListener;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * 플랜 실행 상태 (중첩 레벨별 프레임 스택과 덤프 정보)
+ * <pre>
+ *     하나의 컨텍스트는 동시에 하나의 호출에서만 사용할 수 있다.
+ *     프레임은 호출간 재사용하고, 호출이 끝나면 객체 참조를 해제한다.
+ * </pre>
+ */
+public final class PlanContext {
+    // 덤프(디버깅) 모드
+    public boolean dumpMode = false;
+    // 덤프(디버깅) 데이터 목록
+    public final FieldsDump fieldsDump = new FieldsDump();
+    // 덤프(디버깅) 리스너 (지정하면 덤프 목록은 기록하지 않음)
+    public FlatMessageDumpListener dumpListener = null;
+    // 덤프(디버깅) 절대위치 offset
+    public int absoluteOffset = 0;
+    // 역직렬화 처리 길이
+    public int length = 0;
+    // 역직렬화할 필드 선택 (null 이면 모든 필드)
+    public FieldProjection projection = null;
+    // 예외가 발생한 필드 (메트릭 집계용, 메트릭을 활성화한 경우에만 기록하고 집계 후 null)
+    public FlatFieldInfo errorField = null;
+    // 직렬화 시작 시각 (메트릭 집계용, 자료 길이 계산을 시작한 시각, 직렬화 후 0)
+    public long encodeStart = 0;
+
+    // 레코드 길이 계산: 플랜의 슬롯별 반복횟수 필드 값
+    int[] loopValues = new int[0];
+    // 레코드 길이 계산: 레벨별 테이블 반복 횟수와 행번호
+    int[] measureLoopCount = new int[0];
+    int[] measureRow = new int[0];
+
+    private final DumpEvent dumpEvent = new DumpEvent();
+    private Frame[] frames = new Frame[0];
+    // 플랜 실행중 여부
+    private boolean inUse = false;
+
+    /**
+     * @return 덤프 모드이거나 덤프 리스너가 있으면 true
+     */
+    public boolean isDumping() {
+        return dumpMode || dumpListener != null;
+    }
+
+    /**
+     * 덤프 시작 (덤프 목록을 비우고 리스너가 없으면 목록에 기록)
+     */
+    void beginDump(final PlanStep[] steps, final ByteBuffer data, final Charset charset) {
+        fieldsDump.clear();
+        if (dumpListener != null)
+            dumpEvent.begin(steps, data, charset);
+        else if (dumpMode)
+            fieldsDump.begin(steps, data, charset);
+    }
+
+    /**
+     * 필드 덤프 (리스너가 있으면 호출하고 없으면 목록에 기록)
+     */
+    void dump(final int pc, final int offset, final int absoluteOffset, final int pos, final int length,
+              final Frame f, final boolean raw) {
+        if (dumpListener != null)
+            dumpEvent.fire(dumpListener, pc, offset, absoluteOffset, pos, length, f.name, f.row, raw);
+        else
+            fieldsDump.add(pc, offset, absoluteOffset, pos, length, f.name, f.row, raw);
+    }
+
+    /**
+     * 플랜 실행 시작 (maxLevel 까지 프레임을 준비하고 최상위 프레임 리턴)
+     */
+    Frame begin(int maxLevel) {
+        frame(maxLevel);
+        inUse = true;
+        return frames[0];
+    }
+
+    /**
+     * 레코드 길이 계산 시작 (반복횟수 값 슬롯과 레벨별 상태 배열 준비, 호출간 재사용)
+     */
+    void beginMeasure(int slots, int levels) {
+        if (loopValues.length < slots)
+            loopValues = new int[slots];
+        if (measureRow.length < levels) {
+            measureLoopCount = new int[levels];
+            measureRow = new int[levels];
+        }
+    }
+
+    /**
+     * @return 플랜 실행중이면 true (getter/setter 에서 다시 호출하는 경우)
+     */
+    public boolean isInUse() {
+        return inUse;
+    }
+
+    /**
+     * 레벨에 해당하는 프레임
+     */
+    Frame frame(int level) {
+        if (level >= frames.length) {
+            Frame[] expand = new Frame[level + 1];
+            System.arraycopy(frames, 0, expand, 0, frames.length);
+            for (int i = frames.length; i < expand.length; i++)
+                expand[i] = new Frame();
+            frames = expand;
+        }
+        return frames[level];
+    }
+
+    /**
+     * 호출 종료 후 프레임의 객체 참조 해제
+     */
+    void release() {
+        for (Frame f : frames)
+            f.clear();
+        dumpEvent.clear();
+        inUse = false;
+    }
+
+    /**
+     * 중첩 레벨별 처리 상태
+     */
+    static final class Frame {
+        // 처리중인 객체 (테이블은 현재 행 객체)
+        Object object;
+        // 상대 오프셋 기준 위치
+        int startOffset;
+        // 테이블 행번호 (테이블인 경우 1부터 시작, 클래스의 경우 0)
+        int row;
+        // 테이블 반복 횟수
+        int loopCount;
+        // 덤프(디버깅) 테이블명
+        String name = "";
+
+        // 직렬화: 테이블 데이터 (array 또는 List)
+        Object source;
+        // 직렬화: 테이블 실제 데이터 건수
+        int sourceCount;
+
+        // 역직렬화: 테이블 array
+        Object[] array;
+        // 역직렬화: 테이블 List
+        List<Object> list;
+
+        void clear() {
+            object = null;
+            source = null;
+            array = null;
+            list = null;
+        }
+    }
+}
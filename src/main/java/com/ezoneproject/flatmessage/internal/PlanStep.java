@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+/**
+ * 컴파일된 플랜의 처리 단계
+ * <pre>
+ *     중첩 클래스(CLASS)와 테이블은 BEGIN/END 단계 사이에 하위 클래스의 단계를 펼쳐서 배치한다.
+ *     테이블 행 반복은 TABLE_END 에서 TABLE_BEGIN 다음 단계로 되돌아가는 방식으로 처리한다.
+ * </pre>
+ */
+public final class PlanStep {
+    /**
+     * 단계 종류
+     */
+    public final StepType type;
+    /**
+     * 필드 정보 (BEGIN/END 단계는 CLASS 필드 또는 테이블 필드)
+     */
+    public final FlatFieldInfo fieldInfo;
+    /**
+     * 단계가 속한 중첩 레벨 (최상위 클래스 0)
+     */
+    public final int level;
+    /**
+     * BEGIN/END 단계의 하위 클래스 (CLASS 필드는 dataClass, 테이블은 tableClass)
+     */
+    public final Class<?> childClass;
+    /**
+     * 하위 클래스명 (덤프용)
+     */
+    public final String childName;
+    /**
+     * BEGIN 단계는 짝이 되는 END 단계의 인덱스, END 단계는 BEGIN 단계의 인덱스
+     */
+    int pairIndex = -1;
+    /**
+     * 소속 클래스(테이블은 행) 시작 위치 기준 상대 오프셋, 앞선 필드의 길이가 가변이면 -1
+     */
+    int offset = -1;
+    /**
+     * FIELD(기본형 필드 포함)는 필드 길이, CLASS는 클래스 전체 길이, 테이블은 한 행의 길이 (데이터에 따라 달라지면 -1)
+     */
+    int length = -1;
+    /**
+     * 이 단계부터 연속된 고정 길이 필드/클래스의 길이 합계 (고정 길이가 아니면 -1)
+     */
+    int runLength = -1;
+    /**
+     * 연속된 고정 길이 필드/클래스 다음 단계의 인덱스 (고정 길이가 아니면 -1)
+     */
+    int runEnd = -1;
+    /**
+     * 가변 테이블 반복횟수 필드와 가변 테이블(TABLE_BEGIN)의 반복횟수 값 슬롯 (레코드 길이 계산용, 해당 없으면 -1)
+     */
+    int loopSlot = -1;
+
+    PlanStep(StepType type, FlatFieldInfo fieldInfo, int level, Class<?> childClass) {
+        this.type = type;
+        this.fieldInfo = fieldInfo;
+        this.level = level;
+        this.childClass = childClass;
+        this.childName = (childClass == null) ? "" : childClass.getSimpleName();
+    }
+
+    public int getPairIndex() {
+        return pairIndex;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "PlanStep{" +
+                "type=" + type +
+                ", name='" + fieldInfo.name + '\'' +
+                ", level=" + level +
+                ", pairIndex=" + pairIndex +
+                ", offset=" + offset +
+                ", length=" + length +
+                '}';
+    }
+
+    public enum StepType {
+        /**
+         * 데이터 필드
+         */
+        FIELD,
+        /**
+         * int NUMERIC 필드 (박싱하지 않음)
+         */
+        INT_FIELD,
+        /**
+         * long NUMERIC 필드 (박싱하지 않음)
+         */
+        LONG_FIELD,
+        /**
+         * float NUMERIC 필드 (박싱하지 않음)
+         */
+        FLOAT_FIELD,
+        /**
+         * double NUMERIC 필드 (박싱하지 않음)
+         */
+        DOUBLE_FIELD,
+        /**
+         * 중첩 클래스 시작
+         */
+        CLASS_BEGIN,
+        /**
+         * 중첩 클래스 종료
+         */
+        CLASS_END,
+        /**
+         * 테이블 시작
+         */
+        TABLE_BEGIN,
+        /**
+         * 테이블 행 종료 (다음 행이 있으면 TABLE_BEGIN 다음 단계로 이동)
+         */
+        TABLE_END
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * 대상 클래스를 호출 클래스로 하는 MethodHandles.Lookup 생성
+ * <pre>
+ *     Java 9 이상은 MethodHandles.privateLookupIn 을 사용하고, Java 8 은 Lookup 을 직접 생성한다.
+ * </pre>
+ */
+public final class PrivateLookup {
+    private PrivateLookup() {
+    }
+
+    /**
+     * @param targetClass 호출 클래스
+     * @return targetClass 의 private 멤버까지 접근할 수 있는 Lookup
+     * @throws ReflectiveOperationException Lookup 을 생성할 수 없음 (모듈에서 open 하지 않은 경우 등)
+     */
+    public static MethodHandles.Lookup in(final Class<?> targetClass) throws ReflectiveOperationException {
+        try {
+            // Java 9 이상
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            return (MethodHandles.Lookup) privateLookupIn.invoke(null, targetClass, MethodHandles.lookup());
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            Constructor<MethodHandles.Lookup> constructor =
+                    MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(targetClass, MethodHandles.Lookup.PRIVATE |
+                    MethodHandles.Lookup.PROTECTED | MethodHandles.Lookup.PACKAGE | MethodHandles.Lookup.PUBLIC);
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package com.ezoneproject.flatmessage.internal;
 
 import com.ezoneproject.flatmessage.DataConversionException;
-import com.ezoneproject.flatmessage.FieldDataAccessException;
 
 public final class ReflectionAccess {
     private ReflectionAccess() {
@@ -27,30 +26,14 @@ public final class ReflectionAccess {
      * Set data
      */
     public static void setField(FlatFieldInfo field, Object target, Object data) {
-        try {
-            if (field.isPublic)
-                field.field.set(target, data);
-            else
-                field.setterMethod.invoke(target, data);
-        } catch (Exception e) {
-            throw new FieldDataAccessException(field.name + " (" + (field.isPublic ? field.field.getName() + " field set" :
-                    field.setterMethod.getName()) + ")", e);
-        }
+        field.accessor.set(target, data);
     }
 
     /**
      * Get data
      */
     public static Object getField(FlatFieldInfo field, Object source) {
-        try {
-            if (field.isPublic)
-                return field.field.get(source);
-            else
-                return field.getterMethod.invoke(source);
-        } catch (Exception e) {
-            throw new FieldDataAccessException(field.name + " (" + (field.isPublic ? field.field.getName() + " field get" :
-                    field.getterMethod.getName()) + ")", e);
-        }
+        return field.accessor.get(source);
     }
 
     /**
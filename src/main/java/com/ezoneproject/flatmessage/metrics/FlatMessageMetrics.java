@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.metrics;
+
+import com.ezoneproject.flatmessage.internal.CodecMetrics;
+
+/**
+ * 코덱 처리 메트릭 (JMX)
+ * <pre>
+ *     활성화하면 메시지 클래스, 처리 방향(직렬화/역직렬화)별로 처리 건수, 처리 byte, 처리 시간 분포,
+ *     필드별 오류 건수를 집계하고 처음 처리할 때 플랫폼 MBeanServer 에 등록한다.
+ *         com.ezoneproject.flatmessage:type=CodecMetrics,class=메시지 클래스명,direction=ENCODE|DECODE
+ *     FlatMessageCodec 을 사용하는 모든 직렬화/역직렬화(스트림, 파일, 일괄 처리 포함)를 집계한다.
+ *     직렬화는 자료 길이 계산부터 집계하며, getLength 만 호출한 경우는 제외한다.
+ *     비활성화 상태에서는 호출마다 플래그만 확인하고, 활성화 상태에서는 스레드간 경합이 적은 LongAdder 로 집계한다.
+ *     시스템 속성 com.ezoneproject.flatmessage.metrics=true 로 시작하면 처음부터 활성화된다.
+ *     비활성화해도 등록한 MBean 은 유지되며 집계 값은 더 이상 변경되지 않는다.
+ *     MBeanServer 가 등록한 MBean 을 통해 메시지 클래스를 참조하므로, 재배포 등으로 클래스로더를 버릴 때에는
+ *     unregister 로 등록을 해제해야 클래스로더가 언로드된다.
+ *     라이브러리는 로그를 기록하지 않으므로, MBean 등록에 실패하면 MBean 없이 집계하고
+ *     실패 여부는 isRegistered, getRegistrationError 로 확인한다.
+ * </pre>
+ */
+public final class FlatMessageMetrics {
+    /**
+     * MBean ObjectName 도메인
+     */
+    public static final String DOMAIN = "com.ezoneproject.flatmessage";
+
+    private static volatile boolean enabled = Boolean.getBoolean("com.ezoneproject.flatmessage.metrics");
+
+    private FlatMessageMetrics() {
+    }
+
+    /**
+     * @return 메트릭 집계 여부
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled 메트릭 집계 여부 (기본 false)
+     */
+    public static void setEnabled(final boolean enabled) {
+        FlatMessageMetrics.enabled = enabled;
+    }
+
+    /**
+     * @param messageClass 메시지 클래스
+     * @param direction    처리 방향
+     * @return 메시지 클래스, 처리 방향의 메트릭 (활성화 상태에서 처리한 적이 없으면 null)
+     */
+    public static FlatMessageMetricsMXBean get(final Class<?> messageClass, final Direction direction) {
+        return CodecMetrics.find(messageClass, direction);
+    }
+
+    /**
+     * @param messageClass 메시지 클래스
+     * @param direction    처리 방향
+     * @return 메트릭 MBean 이 플랫폼 MBeanServer 에 등록되어 있는지
+     */
+    public static boolean isRegistered(final Class<?> messageClass, final Direction direction) {
+        CodecMetrics metrics = CodecMetrics.find(messageClass, direction);
+        return metrics != null && metrics.isRegistered();
+    }
+
+    /**
+     * @param messageClass 메시지 클래스
+     * @param direction    처리 방향
+     * @return 마지막 MBean 등록/해제 실패 예외 (JMException, SecurityException, 실패하지 않았으면 null)
+     */
+    public static Exception getRegistrationError(final Class<?> messageClass, final Direction direction) {
+        CodecMetrics metrics = CodecMetrics.find(messageClass, direction);
+        return (metrics == null) ? null : metrics.getRegistrationError();
+    }
+
+    /**
+     * 메시지 클래스의 메트릭 MBean 등록 해제
+     * <pre>
+     *     집계는 계속되며 get 으로 조회할 수 있고, MBean 으로 다시 등록하지는 않는다.
+     * </pre>
+     *
+     * @param messageClass 메시지 클래스
+     * @return 등록 해제 여부 (등록한 MBean 이 없으면 false)
+     */
+    public static boolean unregister(final Class<?> messageClass) {
+        return CodecMetrics.unregister(messageClass);
+    }
+
+    /**
+     * 클래스로더(하위 클래스로더 포함)가 로드한 메시지 클래스의 메트릭 MBean 을 모두 등록 해제
+     *
+     * @param classLoader 클래스로더 (웹 애플리케이션 클래스로더 등)
+     * @return 등록 해제한 메시지 클래스 수
+     */
+    public static int unregister(final ClassLoader classLoader) {
+        return CodecMetrics.unregister(classLoader);
+    }
+
+    /**
+     * 처리 방향
+     */
+    public enum Direction {
+        /**
+         * 직렬화 (객체 -> byte)
+         */
+        ENCODE,
+        /**
+         * 역직렬화 (byte -> 객체)
+         */
+        DECODE
+    }
+}
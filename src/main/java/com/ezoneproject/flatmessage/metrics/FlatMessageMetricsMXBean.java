@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage.metrics;
+
+import java.util.Map;
+
+/**
+ * 메시지 클래스, 처리 방향별 코덱 메트릭
+ * <pre>
+ *     처리 건수, 처리 byte, 처리 시간은 정상 처리한 호출만 집계하고, 오류는 errorCount 와 예외 종류별 필드 건수로 집계한다.
+ *     오류 필드는 "클래스.필드명" 이며, 필드를 알 수 없는 오류(전체 길이 부족, 생성된 코덱의 오류 등)는 "*" 로 집계한다.
+ *     처리 시간 분포의 i 번째 구간은 latencyBucketsMicros[i-1] 이상 latencyBucketsMicros[i] 미만(마이크로초)이다.
+ * </pre>
+ */
+public interface FlatMessageMetricsMXBean {
+    /**
+     * @return 메시지 클래스명
+     */
+    String getMessageClass();
+
+    /**
+     * @return 처리 방향 (ENCODE, DECODE)
+     */
+    String getDirection();
+
+    /**
+     * @return 정상 처리한 메시지 건수
+     */
+    long getMessageCount();
+
+    /**
+     * @return 정상 처리한 byte 합계
+     */
+    long getByteCount();
+
+    /**
+     * @return 오류 건수 (모든 예외)
+     */
+    long getErrorCount();
+
+    /**
+     * @return 처리 시간 합계 (나노초)
+     */
+    long getTotalLatencyNanos();
+
+    /**
+     * @return 최대 처리 시간 (나노초)
+     */
+    long getMaxLatencyNanos();
+
+    /**
+     * @return 평균 처리 시간 (나노초, 처리 건수가 없으면 0)
+     */
+    double getMeanLatencyNanos();
+
+    /**
+     * @return 처리 시간 분포 구간별 상한 (마이크로초, 마지막 구간은 Long.MAX_VALUE)
+     */
+    long[] getLatencyBucketsMicros();
+
+    /**
+     * @return 처리 시간 분포 구간별 건수
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * @return 필드별 DataConversionException 건수
+     */
+    Map<String, Long> getDataConversionErrors();
+
+    /**
+     * @return 필드별 DataTooShortException 건수
+     */
+    Map<String, Long> getDataTooShortErrors();
+
+    /**
+     * @return 필드별 FieldDataAccessException 건수
+     */
+    Map<String, Long> getFieldDataAccessErrors();
+
+    /**
+     * 집계 값 초기화
+     */
+    void reset();
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrderItem;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageCodecTest {
+    @Test
+    void classUnloadTest() throws Exception {
+        // 코덱, 플랜, 레이아웃, 필드 목록 캐시가 메시지 클래스와 클래스로더를 붙잡지 않음
+        WeakReference<ClassLoader> loader = useThrowawayLoader();
+        for (int i = 0; i < 100 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+    }
+
+    @Test
+    void accessorMethodTest() {
+        FlatMessageCodec<AccessorMessage> codec = FlatMessageCodec.of(AccessorMessage.class, StandardCharsets.UTF_8);
+
+        // 외부에서 접근할 수 없는 클래스(package-private 클래스의 중첩 클래스)의 getter/setter 메서드 호출
+        AccessorMessage message = new AccessorMessage();
+        message.setCode("AB");
+        message.setCount(12);
+        message.calls = 0;
+        byte[] data = codec.encode(message);
+        assertEquals("AB  00012", new String(data, StandardCharsets.UTF_8));
+        assertEquals(2, message.calls);
+
+        AccessorMessage decoded = codec.decode(data, 0).getObject();
+        assertEquals(1, decoded.calls);
+        assertEquals("AB", decoded.getCode());
+        assertEquals(12, decoded.getCount());
+
+        // getter 예외는 FieldDataAccessException 으로 변환
+        message.setCode(null);
+        FieldDataAccessException e = assertThrows(FieldDataAccessException.class, () -> codec.encode(message));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void metricsUnregisterTest() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName names = new ObjectName(FlatMessageMetrics.DOMAIN + ":type=CodecMetrics,class=" +
+                UnloadableMessage.class.getName() + ",*");
+
+        FlatMessageMetrics.setEnabled(true);
+        WeakReference<ClassLoader> loader;
+        try {
+            // 같은 이름의 클래스를 다른 클래스로더가 로드하면 클래스로더를 추가한 이름으로 등록
+            encodeAndDecode(UnloadableMessage.class);
+            loader = useThrowawayLoader();
+            assertEquals(4, server.queryNames(names, null).size());
+            assertTrue(FlatMessageMetrics.isRegistered(UnloadableMessage.class, FlatMessageMetrics.Direction.DECODE));
+            assertNull(FlatMessageMetrics.getRegistrationError(UnloadableMessage.class, FlatMessageMetrics.Direction.DECODE));
+
+            // 클래스로더 단위로 등록 해제하면 MBean 이 클래스로더를 붙잡지 않음
+            assertEquals(1, FlatMessageMetrics.unregister(loader.get()));
+            assertEquals(2, server.queryNames(names, null).size());
+
+            assertTrue(FlatMessageMetrics.unregister(UnloadableMessage.class));
+            assertFalse(FlatMessageMetrics.unregister(UnloadableMessage.class));
+            assertTrue(server.queryNames(names, null).isEmpty());
+            assertFalse(FlatMessageMetrics.isRegistered(UnloadableMessage.class, FlatMessageMetrics.Direction.DECODE));
+            assertEquals(1, FlatMessageMetrics.get(UnloadableMessage.class, FlatMessageMetrics.Direction.ENCODE).getMessageCount());
+        } finally {
+            FlatMessageMetrics.setEnabled(false);
+        }
+
+        for (int i = 0; i < 100 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+    }
+
+    @Test
+    void sharedCodecTest() throws Exception {
+        FlatMessageCodec<TestOrder> codec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+        assertSame(codec, FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8));
+
+        // 하나의 코덱을 여러 스레드에서 동시에 사용
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 32; t++) {
+                final int seed = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        String code = String.valueOf(seed * 1000 + i);
+                        TestOrder order = new TestOrder();
+                        order.items = new ArrayList<>();
+                        for (int n = 0; n <= (seed + i) % 3; n++)
+                            order.items.add(new TestOrderItem(code, new TestSubMessage("S" + n, n, "가")));
+                        order.itemCount = order.items.size();
+                        order.trailer = "T" + seed;
+
+                        byte[] data = codec.encode(order);
+                        FlatMessageCodec.Result<TestOrder> result = codec.decode(data, 0);
+                        if (result.getLength() != data.length || result.getObject().items.size() != order.itemCount ||
+                                !code.equals(result.getObject().items.get(0).code))
+                            return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+
+        // 덤프는 호출별 컨텍스트에 보관
+        TestOrder order = new TestOrder();
+        order.trailer = "END";
+        FlatMessageContext context = new FlatMessageContext(true);
+        context.setAbsoluteOffset(100);
+        byte[] data = codec.encode(order, context);
+        assertFalse(context.getFieldsDump().isEmpty());
+        assertEquals(100 + data.length, context.getAbsoluteOffset());
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        assertEquals("END", codec.decodeFrom(buffer, context).trailer);
+        assertEquals(data.length, context.getLength());
+        assertEquals(data.length, buffer.position());
+    }
+
+    private static WeakReference<ClassLoader> useThrowawayLoader() throws Exception {
+        URL classes = UnloadableMessage.class.getProtectionDomain().getCodeSource().getLocation();
+        try (ChildFirstLoader loader = new ChildFirstLoader(classes, UnloadableMessage.class.getName())) {
+            Class<?> messageClass = loader.loadClass(UnloadableMessage.class.getName());
+            assertNotSame(UnloadableMessage.class, messageClass);
+
+            encodeAndDecode(messageClass);
+            return new WeakReference<>(loader);
+        }
+    }
+
+    private static <T> void encodeAndDecode(Class<T> messageClass) throws Exception {
+        FlatMessageCodec<T> codec = FlatMessageCodec.of(messageClass, StandardCharsets.UTF_8);
+        byte[] data = codec.encode(messageClass.getConstructor().newInstance());
+        assertEquals("UNLOAD00007", new String(data, StandardCharsets.UTF_8));
+        assertEquals(data.length, codec.decode(data, 0).getLength());
+        assertTrue(FlatMessageLayout.of(messageClass).isFixedLength());
+    }
+
+    public static class AccessorMessage {
+        @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)
+        private String code = null;
+
+        @FlatMessageField(position = 2, length = 5, type = FieldDataType.NUMERIC)
+        private int count = 0;
+
+        int calls = 0;
+
+        public String getCode() {
+            if (code == null)
+                throw new IllegalStateException("code");
+            calls++;
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public int getCount() {
+            calls++;
+            return count;
+        }
+
+        public void setCount(int count) {
+            calls++;
+            this.count = count;
+        }
+    }
+
+    /**
+     * 지정한 클래스만 부모보다 먼저 직접 로드하는 클래스로더
+     */
+    private static final class ChildFirstLoader extends URLClassLoader {
+        private final String childFirstName;
+
+        ChildFirstLoader(URL classes, String childFirstName) {
+            super(new URL[]{classes}, FlatMessageCodecTest.class.getClassLoader());
+            this.childFirstName = childFirstName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(childFirstName))
+                return super.loadClass(name, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                return (loaded != null) ? loaded : findClass(name);
+            }
+        }
+    }
+}
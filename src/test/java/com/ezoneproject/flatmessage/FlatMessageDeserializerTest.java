@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrderItem;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestPrimitiveMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatMessageDeserializerTest {
+    @Test
+    void byteBufferDeserializeTest() {
+        TestOrder order = new TestOrder();
+        order.items = new ArrayList<>();
+        order.items.add(new TestOrderItem("A0001", new TestSubMessage("SUB1", 1, "가나다")));
+        order.items.add(new TestOrderItem("A0002"));
+        order.itemCount = order.items.size();
+        order.trailer = "END";
+
+        FlatMessageSerializer<TestOrder> serializer = new FlatMessageSerializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        byte[] serializedData = serializer.objectToBytes(order);
+
+        FlatMessageDeserializer<TestOrder> deserializer = new FlatMessageDeserializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(serializedData.length * 2), ByteBuffer.allocateDirect(serializedData.length * 2)}) {
+            buffer.put(serializedData).put(serializedData).flip();
+
+            // 절대 위치 역직렬화는 position 을 변경하지 않음
+            TestOrder second = deserializer.bytesToObject(buffer, serializedData.length, serializedData.length);
+            assertEquals(0, buffer.position());
+            assertEquals("가나다", second.items.get(0).subs[0].stringData2);
+
+            // 연속 데이터 역직렬화
+            for (int i = 0; i < 2; i++) {
+                TestOrder deserialized = deserializer.bytesToObject(buffer);
+                assertEquals(serializedData.length, deserializer.getLength());
+                assertEquals(2, deserialized.items.size());
+                assertEquals("A0002", deserialized.items.get(1).code);
+                assertEquals("END", deserialized.trailer);
+                assertArrayEquals(serializedData, serializer.objectToBytes(deserialized));
+            }
+            assertEquals(0, buffer.remaining());
+            assertThrows(DataTooShortException.class, () -> deserializer.bytesToObject(buffer));
+        }
+    }
+
+    @Test
+    void batchTest() throws Exception {
+        List<TestPrimitiveMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            TestPrimitiveMessage message = new TestPrimitiveMessage();
+            message.count = i;
+            message.setAmount(i * 10L);
+            messages.add(message);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FlatMessageSerializer<TestPrimitiveMessage> serializer = new FlatMessageSerializer<>(TestPrimitiveMessage.class, StandardCharsets.UTF_8);
+            serializer.setPool(pool);
+            List<byte[]> encoded = serializer.encodeAll(messages);
+            assertEquals(5000, encoded.size());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (byte[] record : encoded)
+                out.write(record);
+
+            // 고정 길이는 레코드 위치를 미리 계산해서 병렬 처리
+            FlatMessageDeserializer<TestPrimitiveMessage> deserializer = new FlatMessageDeserializer<>(TestPrimitiveMessage.class, StandardCharsets.UTF_8);
+            deserializer.setPool(pool);
+            List<TestPrimitiveMessage> decoded = deserializer.decodeAll(out.toByteArray(), 5000);
+            assertEquals(out.size(), deserializer.getLength());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i, decoded.get(i).count);
+                assertEquals(i * 10L, decoded.get(i).getAmount());
+            }
+
+            assertEquals(4999, deserializer.decodeAll(encoded).get(4999).count);
+            assertThrows(DataTooShortException.class, () -> deserializer.decodeAll(out.toByteArray(), 5001));
+        } finally {
+            pool.shutdown();
+        }
+
+        // 가변 길이는 순서대로 처리
+        FlatMessageCodec<TestOrder> codec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            TestOrder order = new TestOrder();
+            order.itemCount = i;
+            order.items = new ArrayList<>();
+            for (int j = 0; j < i; j++)
+                order.items.add(new TestOrderItem("V" + j, new TestSubMessage("S", j, "하위")));
+            order.trailer = String.valueOf(i);
+            out.write(codec.encode(order));
+        }
+
+        FlatMessageDeserializer<TestOrder> orderDeserializer = new FlatMessageDeserializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        List<TestOrder> orders = orderDeserializer.decodeAll(out.toByteArray(), 3);
+        assertEquals("2", orders.get(2).trailer);
+        assertEquals(2, orders.get(2).items.size());
+        assertEquals(out.size(), orderDeserializer.getLength());
+    }
+
+    @Test
+    void projectionTest() {
+        TestMessage message = new TestMessage();
+        message.length = 258;
+        message.stringData = "본문";
+        message.messageArray = new TestSubMessage[]{new TestSubMessage("A", 1, "B")};
+        message.subClass = new TestSubMessage("SUB", 77, "하위");
+        byte[] data = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8).encode(message);
+
+        FlatMessageDeserializer<TestMessage> deserializer = new FlatMessageDeserializer<>(TestMessage.class, StandardCharsets.UTF_8);
+        deserializer.setProjection("length", "subClass.intData");
+        TestMessage decoded = deserializer.bytesToObject(data, 0);
+
+        assertEquals(258, deserializer.getLength());
+        assertEquals(258, decoded.length);
+        assertEquals(77, decoded.subClass.intData);
+        // 선택하지 않은 필드는 초기값 유지
+        assertEquals(null, decoded.stringData);
+        assertEquals(null, decoded.messageArray);
+        assertEquals(null, decoded.subClass.stringData1);
+
+        // 가변 테이블의 반복횟수 필드는 항상 처리
+        FlatMessageCodec<TestOrder> codec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+        TestOrder order = new TestOrder();
+        order.itemCount = 2;
+        order.items = new ArrayList<>();
+        order.items.add(new TestOrderItem("P1", new TestSubMessage("S", 1, "하위")));
+        order.items.add(new TestOrderItem("P2"));
+        order.trailer = "END";
+        byte[] orderData = codec.encode(order);
+
+        FlatMessageDeserializer<TestOrder> orderDeserializer = new FlatMessageDeserializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        orderDeserializer.setProjection("trailer");
+        TestOrder decodedOrder = orderDeserializer.bytesToObject(orderData, 0);
+        assertEquals(orderData.length, orderDeserializer.getLength());
+        assertEquals(2, decodedOrder.itemCount);
+        assertEquals(null, decodedOrder.items);
+        assertEquals("END", decodedOrder.trailer);
+
+        orderDeserializer.setProjection("items[].code");
+        decodedOrder = orderDeserializer.bytesToObject(orderData, 0);
+        assertEquals("P2", decodedOrder.items.get(1).code);
+        assertEquals(1, decodedOrder.items.get(0).subCount);
+        assertEquals(null, decodedOrder.items.get(0).subs);
+        assertEquals(null, decodedOrder.trailer);
+
+        // 일괄 처리에도 적용
+        assertEquals(null, orderDeserializer.decodeAll(orderData, 1).get(0).trailer);
+
+        orderDeserializer.setProjection();
+        assertEquals("END", orderDeserializer.bytesToObject(orderData, 0).trailer);
+
+        assertThrows(IllegalArgumentException.class, () -> orderDeserializer.setProjection("items.code"));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import com.ezoneproject.flatmessage.debug.FlatMessageDump;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageDumpTest {
+    @Test
+    void lazyDumpTest() {
+        TestMessage message = new TestMessage();
+        message.length = 77;
+        message.stringData = "덤프";
+        message.messageArray = new TestSubMessage[]{new TestSubMessage(), new TestSubMessage("SUB1", 3, "테이블")};
+        message.subClass = new TestSubMessage("SUB", 1, "하위");
+
+        FlatMessageSerializer<TestMessage> serializer = new FlatMessageSerializer<>(TestMessage.class, StandardCharsets.UTF_8, true);
+        serializer.setAbsoluteOffset(100);
+        byte[] data = serializer.objectToBytes(message);
+
+        // 직렬화 덤프는 기록한 byte 그대로
+        List<FlatMessageDump> encoded = serializer.getFieldsDump();
+        assertEquals("length", encoded.get(0).getName());
+        assertEquals("00000077", encoded.get(0).getData());
+        assertEquals(108, encoded.get(1).getAbsoluteOffset());
+        assertSame(encoded.get(2), encoded.get(2));
+
+        FlatMessageDeserializer<TestMessage> deserializer = new FlatMessageDeserializer<>(TestMessage.class, StandardCharsets.UTF_8, true);
+        deserializer.bytesToObject(data, 0);
+        List<FlatMessageDump> decoded = deserializer.getFieldsDump();
+        assertEquals(encoded.size(), decoded.size());
+        assertEquals("77", decoded.get(0).getData());
+        assertEquals("덤프", decoded.get(2).getData());
+
+        // 테이블 2행의 필드
+        FlatMessageDump row = decoded.get(6);
+        assertEquals("stringData1", row.getName());
+        assertEquals("SUB1", row.getData());
+        assertEquals(2, row.getTableRow());
+        assertEquals(1, row.getTableLevel());
+        assertEquals("3", decoded.get(7).getData());
+        assertEquals(encoded.get(7).getOffset(), decoded.get(7).getOffset());
+
+        // 다음 호출이 시작되면 목록을 다시 기록
+        deserializer.setDumpMode(false);
+        deserializer.bytesToObject(data, 0);
+        assertTrue(deserializer.getFieldsDump().isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> decoded.get(0));
+    }
+
+    @Test
+    void dumpListenerTest() {
+        TestMessage message = new TestMessage();
+        message.length = 77;
+        message.stringData = "리스너";
+        message.messageArray = new TestSubMessage[]{new TestSubMessage(), new TestSubMessage("SUB1", 3, "테이블")};
+        message.subClass = new TestSubMessage("SUB", 1, "하위");
+
+        FlatMessageSerializer<TestMessage> serializer = new FlatMessageSerializer<>(TestMessage.class, StandardCharsets.UTF_8);
+        byte[] data = serializer.objectToBytes(message);
+
+        // 필드별로 호출되며 덤프 목록은 기록하지 않음
+        List<FlatMessageDump> dumps = new ArrayList<>();
+        int[] tableFields = new int[1];
+        FlatMessageDeserializer<TestMessage> deserializer = new FlatMessageDeserializer<>(TestMessage.class, StandardCharsets.UTF_8, true);
+        deserializer.setDumpListener(event -> {
+            if (event.getTableLevel() > 0 && event.getTableRow() == 2 && event.getName().equals("stringData1"))
+                assertEquals("SUB1", event.getData());
+            if (event.getTableRow() > 0)
+                tableFields[0]++;
+            dumps.add(event.toDump());
+        });
+        assertEquals(77, deserializer.bytesToObject(data, 0).length);
+        assertTrue(deserializer.getFieldsDump().isEmpty());
+        assertEquals("77", dumps.get(0).getData());
+        assertEquals("리스너", dumps.get(2).getData());
+        assertEquals(15, tableFields[0]);
+
+        // 덤프 목록과 같은 내용
+        deserializer.setDumpListener(null);
+        deserializer.bytesToObject(data, 0);
+        List<FlatMessageDump> fieldsDump = deserializer.getFieldsDump();
+        assertEquals(fieldsDump.size(), dumps.size());
+        for (int i = 0; i < dumps.size(); i++) {
+            assertEquals(fieldsDump.get(i).getData(), dumps.get(i).getData());
+            assertEquals(fieldsDump.get(i).getAbsoluteOffset(), dumps.get(i).getAbsoluteOffset());
+            assertEquals(fieldsDump.get(i).getTableName(), dumps.get(i).getTableName());
+        }
+
+        // 리스너의 예외는 그대로 전달
+        FlatMessageContext context = new FlatMessageContext();
+        context.setDumpListener(event -> {
+            throw new IllegalStateException(event.getName());
+        });
+        FlatMessageCodec<TestMessage> codec = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8);
+        assertThrows(IllegalStateException.class, () -> codec.encode(message, context));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestPrimitiveMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageFileProcessorTest {
+    @Test
+    void fileProcessorTest() throws Exception {
+        FlatMessageCodec<TestPrimitiveMessage> codec = FlatMessageCodec.of(TestPrimitiveMessage.class, StandardCharsets.UTF_8);
+
+        // 마지막 레코드는 구분자 없음
+        Path file = Files.createTempFile("flat-message", ".dat");
+        try {
+            long expectedSum = 0;
+            try (FlatMessageWriter<TestPrimitiveMessage> writer = new FlatMessageWriter<>(codec,
+                    Files.newByteChannel(file, StandardOpenOption.WRITE), 1024)) {
+                writer.setRecordSeparator("\r\n".getBytes(StandardCharsets.US_ASCII));
+                for (int i = 0; i < 9999; i++) {
+                    TestPrimitiveMessage message = new TestPrimitiveMessage();
+                    message.count = i;
+                    message.setAmount(i);
+                    writer.write(message);
+                    expectedSum += i;
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 2);
+            }
+
+            FlatMessageFileProcessor<TestPrimitiveMessage> processor = new FlatMessageFileProcessor<>(codec);
+            processor.setRecordSeparatorLength(2);
+            processor.setSegmentSize(10000);
+            processor.setChunkSize(1000);
+            ForkJoinPool pool = new ForkJoinPool(4);
+            processor.setPool(pool);
+
+            // consumer 는 청크가 아니라 작업 스레드(+ 호출 스레드)별로 생성
+            AtomicLong sum = new AtomicLong();
+            AtomicInteger consumers = new AtomicInteger();
+            long count;
+            try {
+                count = processor.process(file, () -> {
+                    consumers.incrementAndGet();
+                    return message -> sum.addAndGet(message.getAmount());
+                });
+            } finally {
+                pool.shutdown();
+            }
+
+            assertEquals(9999, count);
+            assertEquals(expectedSum, sum.get());
+            assertTrue(consumers.get() >= 1 && consumers.get() <= 5, "consumers: " + consumers.get());
+
+            // 레코드 경계가 맞지 않으면 오류
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+            assertThrows(DataTooShortException.class, () -> processor.process(file, () -> message -> {
+            }));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
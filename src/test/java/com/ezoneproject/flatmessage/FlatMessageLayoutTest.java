@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageLayoutTest {
+    @Test
+    void layoutTest() {
+        // 8 + 10 + 30 + 35 * 5 + 35
+        FlatMessageLayout layout = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8).getLayout();
+        assertTrue(layout.isFixedLength());
+        assertEquals(258, layout.getFixedLength());
+        assertTrue(layout.getLengthDependencies().isEmpty());
+        assertSame(layout, FlatMessageLayout.of(TestMessage.class));
+
+        FlatMessageLayout.Entry table = layoutEntry(layout, "messageArray");
+        assertEquals(FlatMessageLayout.EntryType.TABLE, table.getType());
+        assertEquals(48, table.getAbsoluteOffset());
+        assertEquals(35, table.getLength());
+        assertEquals(5, table.getLoopCount());
+        assertEquals(10, layoutEntry(layout, "messageArray[].intData").getOffset());
+        assertEquals(-1, layoutEntry(layout, "messageArray[].intData").getAbsoluteOffset());
+        assertEquals(233, layoutEntry(layout, "subClass.intData").getAbsoluteOffset());
+
+        FlatMessageLayout orderLayout = FlatMessageLayout.of(TestOrder.class);
+        assertFalse(orderLayout.isFixedLength());
+        assertEquals(-1, orderLayout.getFixedLength());
+        assertEquals(2, orderLayout.getLengthDependencies().size());
+        assertEquals("itemCount", orderLayout.getLengthDependencies().get(0).getPath());
+        assertEquals("items[].subCount", orderLayout.getLengthDependencies().get(1).getPath());
+        assertEquals("itemCount", layoutEntry(orderLayout, "items").getLoopFieldPath());
+        assertEquals(3, layoutEntry(orderLayout, "items").getOffset());
+        assertEquals(-1, layoutEntry(orderLayout, "items").getLength());
+        assertEquals(-1, layoutEntry(orderLayout, "trailer").getOffset());
+        assertEquals(7, layoutEntry(orderLayout, "items[].subs").getOffset());
+    }
+
+    private FlatMessageLayout.Entry layoutEntry(FlatMessageLayout layout, String path) {
+        for (FlatMessageLayout.Entry entry : layout.getEntries()) {
+            if (entry.getPath().equals(path))
+                return entry;
+        }
+        throw new AssertionError("entry not found: " + path);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestPrimitiveMessage;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetricsMXBean;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageMetricsTest {
+    @Test
+    void metricsTest() throws Exception {
+        TestPrimitiveMessage message = new TestPrimitiveMessage();
+        message.count = 12;
+        FlatMessageCodec<TestPrimitiveMessage> codec = FlatMessageCodec.of(TestPrimitiveMessage.class, StandardCharsets.UTF_8);
+
+        FlatMessageMetrics.setEnabled(true);
+        try {
+            byte[] data = codec.encode(message);
+            FlatMessageMetricsMXBean encodeMetrics = FlatMessageMetrics.get(TestPrimitiveMessage.class, FlatMessageMetrics.Direction.ENCODE);
+            FlatMessageMetricsMXBean decodeMetrics = FlatMessageMetrics.get(TestPrimitiveMessage.class, FlatMessageMetrics.Direction.DECODE);
+            encodeMetrics.reset();
+            decodeMetrics.reset();
+
+            codec.encode(message);
+            codec.decode(data, 0);
+            codec.decode(data, 0);
+            assertEquals(1, encodeMetrics.getMessageCount());
+            assertEquals(data.length, encodeMetrics.getByteCount());
+            assertEquals(2, decodeMetrics.getMessageCount());
+            assertEquals(data.length * 2L, decodeMetrics.getByteCount());
+            assertEquals(2, Arrays.stream(decodeMetrics.getLatencyHistogram()).sum());
+            assertEquals(decodeMetrics.getLatencyBucketsMicros().length, decodeMetrics.getLatencyHistogram().length);
+
+            // 예외 종류별, 필드별 오류
+            byte[] decimalData = data.clone();
+            decimalData[3] = '.';
+            assertThrows(DataConversionException.class, () -> codec.decode(decimalData, 0));
+            assertThrows(DataTooShortException.class, () -> codec.decode(data, 0, 20));
+            assertThrows(DataTooShortException.class, () -> codec.decode(data, 0, 100));
+            assertEquals(3, decodeMetrics.getErrorCount());
+            assertEquals(2, decodeMetrics.getMessageCount());
+            assertEquals(1L, (long) decodeMetrics.getDataConversionErrors().get("TestPrimitiveMessage.count"));
+            assertEquals(1L, (long) decodeMetrics.getDataTooShortErrors().get("TestPrimitiveMessage.rate"));
+            assertEquals(1L, (long) decodeMetrics.getDataTooShortErrors().get("*"));
+            assertTrue(decodeMetrics.getFieldDataAccessErrors().isEmpty());
+
+            // 직렬화는 자료 길이 계산 오류도 집계
+            TestOrder order = new TestOrder();
+            order.itemCount = 1;
+            order.items = new ArrayList<>();
+            order.items.add(null);
+            FlatMessageCodec<TestOrder> orderCodec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+            assertThrows(FieldDataAccessException.class, () -> orderCodec.encode(order));
+            FlatMessageMetricsMXBean orderMetrics = FlatMessageMetrics.get(TestOrder.class, FlatMessageMetrics.Direction.ENCODE);
+            orderMetrics.reset();
+            assertThrows(FieldDataAccessException.class, () -> orderCodec.encode(order));
+            assertEquals(1, orderMetrics.getErrorCount());
+            assertEquals(1L, (long) orderMetrics.getFieldDataAccessErrors().get("*"));
+
+            // 플랫폼 MBeanServer 에 등록
+            ObjectName name = new ObjectName("com.ezoneproject.flatmessage:type=CodecMetrics,class=" +
+                    TestPrimitiveMessage.class.getName() + ",direction=DECODE");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(2L, server.getAttribute(name, "MessageCount"));
+            assertEquals(3L, server.getAttribute(name, "ErrorCount"));
+
+            // 비활성화하면 집계하지 않음
+            FlatMessageMetrics.setEnabled(false);
+            codec.decode(data, 0);
+            assertEquals(2, decodeMetrics.getMessageCount());
+        } finally {
+            FlatMessageMetrics.setEnabled(false);
+        }
+    }
+}
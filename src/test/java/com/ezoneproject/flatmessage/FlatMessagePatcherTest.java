@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrderItem;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatMessagePatcherTest {
+    @Test
+    void patchTest() {
+        FlatMessageCodec<TestMessage> codec = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8);
+        TestMessage message = new TestMessage();
+        message.length = 258;
+        message.stringData = "원본";
+        message.messageArray = new TestSubMessage[]{new TestSubMessage("A", 1, "B"), new TestSubMessage("C", 2, "D")};
+        message.subClass = new TestSubMessage("SUB", 77, "하위");
+
+        byte[] data = new byte[100 + 258];
+        codec.encodeTo(message, data, 100);
+
+        FlatMessagePatcher patcher = new FlatMessagePatcher(TestMessage.class, StandardCharsets.UTF_8);
+        assertEquals(233, patcher.getOffset("subClass.intData"));
+        // 행번호별 오프셋은 호출할 때 계산
+        for (int i = 0; i < 5; i++)
+            assertEquals(48 + 35 * i + 10, patcher.getOffset("messageArray[" + i + "].intData"));
+        assertThrows(IllegalArgumentException.class, () -> patcher.getOffset("messageArray[x].intData"));
+        assertThrows(IllegalArgumentException.class, () -> patcher.getOffset("messageArray[1][2].intData"));
+        assertThrows(IllegalArgumentException.class, () -> patcher.getOffset("messageArray[1.intData"));
+        assertThrows(IndexOutOfBoundsException.class, () -> patcher.getOffset("messageArray[-1].intData"));
+
+        patcher.patch(data, 100, "subClass.intData", 12345);
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("stringData", "변경");
+        values.put("messageArray[1].stringData2", "행");
+        values.put("messageArray[4].intData", 9L);
+        patcher.patch(ByteBuffer.wrap(data), 100, values);
+
+        // 기록한 필드 외에는 변경되지 않아야 함
+        message.stringData = "변경";
+        message.subClass.intData = 12345;
+        message.messageArray[1].stringData2 = "행";
+        TestMessage decoded = codec.decode(data, 100).getObject();
+        assertEquals(message.stringData, decoded.stringData);
+        assertEquals(message.subClass, decoded.subClass);
+        assertEquals(message.messageArray[1], decoded.messageArray[1]);
+        assertEquals(9, decoded.messageArray[4].intData);
+        assertEquals(message.messageArray[0], decoded.messageArray[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> patcher.patch(data, 100, "subClass", null));
+        assertThrows(IllegalArgumentException.class, () -> patcher.patch(data, 100, "messageArray.intData", 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> patcher.patch(data, 100, "messageArray[5].intData", 1));
+        assertThrows(DataConversionException.class, () -> patcher.patch(data, 100, "length", "text"));
+        assertThrows(DataTooShortException.class, () -> patcher.patch(data, 101, "subClass.stringData2", "X"));
+
+        // 가변 테이블은 데이터의 반복횟수로 행번호 점검
+        byte[] itemData = FlatMessageCodec.of(TestOrderItem.class, StandardCharsets.UTF_8)
+                .encode(new TestOrderItem("P1", new TestSubMessage("S", 1, "하위"), new TestSubMessage("T", 2, "하위")));
+        FlatMessagePatcher itemPatcher = new FlatMessagePatcher(TestOrderItem.class, StandardCharsets.UTF_8);
+        itemPatcher.patch(itemData, 0, "subs[1].intData", 99);
+        assertEquals(99, FlatMessageCodec.of(TestOrderItem.class, StandardCharsets.UTF_8).decode(itemData, 0).getObject().subs[1].intData);
+        assertThrows(IndexOutOfBoundsException.class, () -> itemPatcher.patch(itemData, 0, "subs[2].intData", 1));
+
+        // 가변 길이 항목 뒤의 필드는 위치가 고정이 아님
+        FlatMessagePatcher orderPatcher = new FlatMessagePatcher(TestOrder.class, StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> orderPatcher.getOffset("trailer"));
+        assertThrows(IllegalArgumentException.class, () -> orderPatcher.getOffset("items[0].code"));
+    }
+}
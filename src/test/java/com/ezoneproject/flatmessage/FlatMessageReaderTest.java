@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrderItem;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestPrivateMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetrics;
+import com.ezoneproject.flatmessage.metrics.FlatMessageMetricsMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageReaderTest {
+    @Test
+    void readerTest() throws Exception {
+        FlatMessageCodec<TestOrder> codec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+
+        // 가변 길이 레코드를 CR/LF 로 구분해서 연결
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 20; i++) {
+            TestOrder order = new TestOrder();
+            order.itemCount = i % 3;
+            order.items = new ArrayList<>();
+            for (int j = 0; j < order.itemCount; j++)
+                order.items.add(new TestOrderItem("C" + i + j, new TestSubMessage("S" + j, j, "하위" + j)));
+            order.trailer = String.valueOf(i);
+
+            out.write(codec.encode(order));
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] data = out.toByteArray();
+
+        // 버퍼보다 긴 레코드는 버퍼를 늘려서 처리, 레코드 길이를 먼저 계산하므로 레코드마다 한 번만 역직렬화
+        FlatMessageMetrics.setEnabled(true);
+        try (FlatMessageReader<TestOrder> reader = new FlatMessageReader<>(codec,
+                Channels.newChannel(new ByteArrayInputStream(data)), 16)) {
+            reader.setSkipLineSeparator(true);
+            FlatMessageMetricsMXBean metrics = FlatMessageMetrics.get(TestOrder.class, FlatMessageMetrics.Direction.DECODE);
+            long messageCount = (metrics == null) ? 0 : metrics.getMessageCount();
+            long errorCount = (metrics == null) ? 0 : metrics.getErrorCount();
+
+            List<TestOrder> orders = reader.stream().collect(Collectors.toList());
+            assertEquals(20, orders.size());
+            assertEquals(20, reader.getRecordCount());
+            assertEquals(data.length, reader.getPosition());
+            assertEquals("19", orders.get(19).trailer);
+            assertEquals(2, orders.get(17).items.size());
+            assertEquals("C171", orders.get(17).items.get(1).code);
+            metrics = FlatMessageMetrics.get(TestOrder.class, FlatMessageMetrics.Direction.DECODE);
+            assertEquals(messageCount + 20, metrics.getMessageCount());
+            assertEquals(errorCount, metrics.getErrorCount());
+        } finally {
+            FlatMessageMetrics.setEnabled(false);
+        }
+
+        // 가변 길이 레코드가 잘리면 오류
+        byte[] truncatedOrder = Arrays.copyOf(data, 21);
+        FlatMessageReader<TestOrder> orderReader = new FlatMessageReader<>(TestOrder.class, StandardCharsets.UTF_8,
+                new ByteArrayInputStream(truncatedOrder));
+        orderReader.setSkipLineSeparator(true);
+        assertEquals("0", orderReader.read().trailer);
+        assertThrows(DataTooShortException.class, orderReader::read);
+
+        // 길이 미지정 BLOCK 필드는 레코드 길이를 알 수 없음
+        assertThrows(IllegalArgumentException.class, () -> new FlatMessageReader<>(TestUnsizedBlockMessage.class,
+                StandardCharsets.UTF_8, new ByteArrayInputStream(data)));
+
+        // 고정 길이 레코드, 마지막 레코드가 잘리면 오류
+        FlatMessageCodec<TestPrivateMessage> fixedCodec = FlatMessageCodec.of(TestPrivateMessage.class, StandardCharsets.UTF_8);
+        TestPrivateMessage message = new TestPrivateMessage();
+        message.setCode("FIX001");
+        byte[] record = fixedCodec.encode(message);
+        byte[] truncated = Arrays.copyOf(record, record.length * 2 - 1);
+        System.arraycopy(record, 0, truncated, record.length, record.length - 1);
+
+        FlatMessageReader<TestPrivateMessage> reader = new FlatMessageReader<>(TestPrivateMessage.class,
+                StandardCharsets.UTF_8, new ByteArrayInputStream(truncated));
+        Iterator<TestPrivateMessage> iterator = reader.iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals("FIX001", iterator.next().getCode());
+        assertThrows(DataTooShortException.class, iterator::hasNext);
+    }
+
+    public static class TestUnsizedBlockMessage {
+        @FlatMessageField(position = 1, length = 4, type = FieldDataType.ALPHANUM)
+        public String code = null;
+
+        @FlatMessageField(position = 2, length = -1, type = FieldDataType.BLOCK)
+        public byte[] payload = null;
+    }
+}
@@ -27,13 +27,17 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FlatMessageSerializerTest {
     private static final Logger log = LoggerFactory.getLogger(FlatMessageSerializerTest.class);
@@ -98,6 +102,111 @@ class FlatMessageSerializerTest {
         log.info("Test End ----------");
     }
 
+    @Test
+    void nestedVariableTableTest() {
+        TestOrder order = new TestOrder();
+        order.itemCount = 2;
+        order.items = new ArrayList<>();
+        order.items.add(new TestOrderItem("A0001", new TestSubMessage("S1", 1, "첫번째")));
+        order.items.add(new TestOrderItem("B0002", new TestSubMessage("S2", 2, "두번째"), new TestSubMessage("S3", 3, "세번째")));
+        order.trailer = "END";
+
+        FlatMessageSerializer<TestOrder> serializer = new FlatMessageSerializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        byte[] serializedData = serializer.objectToBytes(order);
+
+        // 3 + (5 + 2 + 35 * 1) + (5 + 2 + 35 * 2) + 4
+        assertEquals(126, serializedData.length);
+        assertEquals(serializedData.length, serializer.getLength(order));
+
+        FlatMessageDeserializer<TestOrder> deserializer = new FlatMessageDeserializer<>(TestOrder.class, StandardCharsets.UTF_8);
+        TestOrder deserialized = deserializer.bytesToObject(serializedData, 0);
+
+        assertEquals(serializedData.length, deserializer.getLength());
+        assertEquals(2, deserialized.items.size());
+        assertEquals("B0002", deserialized.items.get(1).code);
+        assertEquals(order.items.get(1).subs[1], deserialized.items.get(1).subs[1]);
+        assertEquals("END", deserialized.trailer);
+
+        assertArrayEquals(serializedData, serializer.objectToBytes(deserialized));
+    }
+
+    @Test
+    void privateFieldAccessTest() {
+        TestPrivateMessage message = new TestPrivateMessage();
+        message.setCode("TX01");
+        message.amount = 1500L;
+
+        FlatMessageSerializer<TestPrivateMessage> serializer = new FlatMessageSerializer<>(TestPrivateMessage.class, StandardCharsets.UTF_8);
+        byte[] serializedData = serializer.objectToBytes(message);
+
+        assertEquals("TX01  0000001500", new String(serializedData, StandardCharsets.UTF_8));
+
+        FlatMessageDeserializer<TestPrivateMessage> deserializer = new FlatMessageDeserializer<>(TestPrivateMessage.class, StandardCharsets.UTF_8);
+        TestPrivateMessage deserialized = deserializer.bytesToObject(serializedData, 0);
+
+        assertEquals("TX01", deserialized.getCode());
+        assertEquals(1500L, deserialized.amount);
+    }
+
+    @Test
+    void serializeToTest() {
+        TestPrivateMessage message = new TestPrivateMessage();
+        message.setCode("TX01");
+        message.amount = 1500L;
+
+        FlatMessageSerializer<TestPrivateMessage> serializer = new FlatMessageSerializer<>(TestPrivateMessage.class, StandardCharsets.UTF_8);
+        byte[] expected = serializer.objectToBytes(message);
+
+        // 배열 중간에 직렬화
+        byte[] dst = new byte[expected.length + 4];
+        assertEquals(expected.length, serializer.serializeTo(message, dst, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, 2 + expected.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> serializer.serializeTo(message, dst, 5));
+
+        // heap, direct buffer 연속 직렬화
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(expected.length * 2), ByteBuffer.allocateDirect(expected.length * 2)}) {
+            assertEquals(expected.length, serializer.serializeTo(message, buffer));
+            assertEquals(expected.length, serializer.serializeTo(message, buffer));
+            assertEquals(expected.length * 2, buffer.position());
+            assertThrows(BufferOverflowException.class, () -> serializer.serializeTo(message, buffer));
+
+            buffer.flip();
+            byte[] written = new byte[expected.length];
+            buffer.get(written);
+            assertArrayEquals(expected, written);
+        }
+    }
+
+    @Test
+    void primitiveFieldTest() {
+        TestPrimitiveMessage message = new TestPrimitiveMessage();
+        message.count = -42;
+        message.setAmount(123456789012L);
+        message.rate = -3.25d;
+        message.ratio = 1.5f;
+        message.setBoxedCount(7);
+
+        FlatMessageSerializer<TestPrimitiveMessage> serializer = new FlatMessageSerializer<>(TestPrimitiveMessage.class, StandardCharsets.UTF_8);
+        byte[] serializedData = serializer.objectToBytes(message);
+
+        assertEquals("-0042123456789012-0000325001.500000000007", new String(serializedData, StandardCharsets.UTF_8));
+
+        FlatMessageDeserializer<TestPrimitiveMessage> deserializer = new FlatMessageDeserializer<>(TestPrimitiveMessage.class, StandardCharsets.UTF_8, true);
+        TestPrimitiveMessage deserialized = deserializer.bytesToObject(serializedData, 0);
+
+        assertEquals(-42, deserialized.count);
+        assertEquals(123456789012L, deserialized.getAmount());
+        assertEquals(-3.25d, deserialized.rate);
+        assertEquals(1.5f, deserialized.ratio);
+        assertEquals(7, (int) deserialized.getBoxedCount());
+        assertEquals("-42", deserializer.getFieldsDump().get(0).getData());
+
+        // 정수 필드에 소수 데이터
+        byte[] decimalData = serializedData.clone();
+        decimalData[3] = '.';
+        assertThrows(DataConversionException.class, () -> deserializer.bytesToObject(decimalData, 0));
+    }
+
     private void printDump(List<FlatMessageDump> dumps) {
         log.debug("--------------------+-----+-----+-----------------------------------------------");
         log.debug("       FIELD        | Off | Len |   Data                                        ");
@@ -199,6 +308,88 @@ class FlatMessageSerializerTest {
         }
     }
 
+    public static class TestOrder {
+        @FlatMessageField(position = 1, length = 3, type = FieldDataType.NUMERIC)
+        public int itemCount = 0;
+
+        @FlatMessageTable(position = 2, type = TableType.TABLE_VARIABLE, loopFieldName = "itemCount", tableClass = TestOrderItem.class)
+        public List<TestOrderItem> items = null;
+
+        @FlatMessageField(position = 3, length = 4, type = FieldDataType.ALPHANUM)
+        public String trailer = null;
+    }
+
+    public static class TestOrderItem {
+        @FlatMessageField(position = 1, length = 5, type = FieldDataType.ALPHANUM)
+        public String code = null;
+
+        @FlatMessageField(position = 2, length = 2, type = FieldDataType.NUMERIC)
+        public int subCount = 0;
+
+        @FlatMessageTable(position = 3, type = TableType.TABLE_VARIABLE, loopFieldName = "subCount", tableClass = TestSubMessage.class)
+        public TestSubMessage[] subs = null;
+
+        public TestOrderItem() {
+        }
+
+        public TestOrderItem(String code, TestSubMessage... subs) {
+            this.code = code;
+            this.subCount = subs.length;
+            this.subs = subs;
+        }
+    }
+
+    public static class TestPrivateMessage {
+        // getter/setter 사용
+        @FlatMessageField(position = 1, length = 6, type = FieldDataType.ALPHANUM)
+        private String code = null;
+
+        // getter/setter 없이 필드에 직접 접근
+        @FlatMessageField(position = 2, length = 10, type = FieldDataType.NUMERIC)
+        private long amount = 0;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class TestPrimitiveMessage {
+        @FlatMessageField(position = 1, length = 5, type = FieldDataType.NUMERIC)
+        public int count = 0;
+
+        @FlatMessageField(position = 2, length = 12, type = FieldDataType.NUMERIC)
+        private long amount = 0;
+
+        @FlatMessageField(position = 3, length = 8, scale = 2, type = FieldDataType.NUMERIC)
+        public double rate = 0;
+
+        @FlatMessageField(position = 4, length = 10, type = FieldDataType.NUMERIC)
+        public float ratio = 0;
+
+        // getter 가 Integer 를 리턴하면 Object 접근자 사용
+        @FlatMessageField(position = 5, length = 6, type = FieldDataType.NUMERIC)
+        private int boxedCount = 0;
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public Integer getBoxedCount() {
+            return boxedCount;
+        }
+
+        public void setBoxedCount(int boxedCount) {
+            this.boxedCount = boxedCount;
+        }
+    }
 
     public static class TestSubMessage {
         @FlatMessageField(position = 1, length = 10, type = FieldDataType.STRING)
@@ -238,5 +429,4 @@ class FlatMessageSerializerTest {
             return Objects.hash(FlatStringUtil.rtrim(stringData1), intData, FlatStringUtil.rtrim(stringData2));
         }
     }
-
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestMessage;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageView;
+import com.ezoneproject.flatmessage.annotation.FlatMessageViewField;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatMessageViewFactoryTest {
+    @Test
+    void viewTest() {
+        FlatMessageCodec<TestMessage> codec = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            TestMessage message = new TestMessage();
+            message.length = 1000 + i;
+            message.stringData = "레코드" + i;
+            message.subClass = new TestSubMessage("SUB", 50 + i, "하위");
+            byte[] record = codec.encode(message);
+            out.write(record, 0, record.length);
+        }
+        byte[] data = out.toByteArray();
+
+        // 생성된 뷰가 없으면 Proxy 로 구현
+        FlatMessageViewFactory<TestMessageView> factory = FlatMessageViewFactory.of(TestMessageView.class, StandardCharsets.UTF_8);
+        assertFalse(factory.isGenerated());
+        assertSame(TestMessage.class, factory.getMessageClass());
+
+        TestMessageView view = factory.newView();
+        assertThrows(IllegalStateException.class, view::getLength);
+
+        FlatMessageFlyweight flyweight = (FlatMessageFlyweight) view;
+        for (int i = 0; i < 3; i++) {
+            flyweight.wrap(data, i * 258);
+            assertEquals(1000 + i, view.getLength());
+            assertEquals(Long.valueOf(1000 + i), view.getLengthAsLong());
+            assertEquals("레코드" + i, view.getStringData());
+            assertEquals(50 + i, view.getSubIntData());
+            assertEquals(i * 258, flyweight.getViewOffset());
+        }
+
+        assertEquals("SUB", factory.view(ByteBuffer.wrap(data), 258).getSubStringData());
+        assertEquals("#레코드2/1002", view.getSummary("#"));
+        assertEquals(2004L, view.getScaledLength(2));
+
+        // 테이블 행 안의 필드, 리턴 타입 불일치
+        assertThrows(AnnotationDefineException.class, () -> FlatMessageViewFactory.of(TestTableView.class, StandardCharsets.UTF_8));
+        assertThrows(AnnotationDefineException.class, () -> FlatMessageViewFactory.of(TestWrongTypeView.class, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void viewCharSequenceTest() {
+        FlatMessageCodec<TestMessage> codec = FlatMessageCodec.of(TestMessage.class, StandardCharsets.UTF_8);
+        TestMessage message = new TestMessage();
+        message.stringData = "CODE01";
+        message.rawData = new byte[]{1, 2, 3};
+        message.subClass = new TestSubMessage("SUB", 1, "하위");
+        byte[] data = codec.encode(message);
+
+        TestMessage other = new TestMessage();
+        other.stringData = "코드";
+        other.subClass = new TestSubMessage("OTHER", 2, "");
+        byte[] otherData = codec.encode(other);
+
+        TestMessageView view = FlatMessageViewFactory.of(TestMessageView.class, StandardCharsets.UTF_8).view(data, 0);
+
+        // ASCII 내용은 byte 단위로 비교
+        FlatCharSequence sequence = view.getStringSequence();
+        assertEquals(6, sequence.length());
+        assertEquals('C', sequence.charAt(0));
+        assertTrue(sequence.contentEquals("CODE01"));
+        assertFalse(sequence.contentEquals("CODE0"));
+        assertTrue(sequence.contentEquals("CODE01".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("ODE", sequence.subSequence(1, 4).toString());
+        assertTrue(sequence.subSequence(1, 4) instanceof FlatCharSequence);
+        assertEquals('E', sequence.subSequence(1, 4).subSequence(1, 3).charAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> sequence.subSequence(2, 7));
+        assertEquals("CODE01", sequence.toString());
+        assertEquals(6, sequence.asByteBuffer().remaining());
+        assertTrue(view.getSubStringSequence().toString().equals("SUB"));
+
+        // 같은 인스턴스를 재사용, 비ASCII 내용은 디코딩
+        ((FlatMessageFlyweight) view).wrap(otherData, 0);
+        assertSame(sequence, view.getStringSequence());
+        assertEquals(2, sequence.length());
+        assertTrue(sequence.contentEquals("코드"));
+        assertEquals("드", sequence.subSequence(1, 2).toString());
+        assertEquals("OTHER", view.getSubStringSequence().toString());
+
+        // BLOCK 필드는 복사하지 않은 view
+        ((FlatMessageFlyweight) view).wrap(data, 0);
+        ByteBuffer raw = view.getRawBuffer();
+        assertEquals(10, raw.remaining());
+        assertEquals(3, raw.get(2));
+        data[10] = 9;
+        assertEquals(9, raw.get(2));
+
+        // ALPHANUM 은 비ASCII byte 를 ?로 읽음
+        byte[] alphanum = "AB\u00e9 ".getBytes(StandardCharsets.ISO_8859_1);
+        FlatCharSequence it = new FlatCharSequence(FieldDataType.ALPHANUM, StandardCharsets.ISO_8859_1)
+                .wrap(ByteBuffer.wrap(alphanum), 0, alphanum.length);
+        assertEquals("AB?", it.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> it.wrap(ByteBuffer.wrap(alphanum), 2, 3));
+
+        // 오른쪽 공백 앞까지의 범위는 공백을 제외하지 않음
+        byte[] spaced = "A B  ".getBytes(StandardCharsets.UTF_8);
+        FlatCharSequence text = new FlatCharSequence(FieldDataType.STRING, StandardCharsets.UTF_8)
+                .wrap(ByteBuffer.wrap(spaced), 0, spaced.length);
+        assertEquals("A ", text.subSequence(0, 2).toString());
+        assertEquals(2, text.subSequence(0, 2).length());
+
+        // wrap() 하기 전은 빈 문자열
+        FlatCharSequence empty = new FlatCharSequence(FieldDataType.STRING, StandardCharsets.UTF_8);
+        assertEquals(0, empty.length());
+        assertEquals("", empty.toString());
+        assertEquals("", empty.subSequence(0, 0).toString());
+        assertTrue(empty.contentEquals(""));
+        assertEquals(0, empty.asByteBuffer().remaining());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.charAt(0));
+    }
+
+    @FlatMessageView(TestMessage.class)
+    public interface TestMessageView {
+        int getLength();
+
+        @FlatMessageViewField("length")
+        Long getLengthAsLong();
+
+        String getStringData();
+
+        @FlatMessageViewField("subClass.intData")
+        int getSubIntData();
+
+        @FlatMessageViewField("subClass.stringData1")
+        String getSubStringData();
+
+        @FlatMessageViewField("stringData")
+        FlatCharSequence getStringSequence();
+
+        @FlatMessageViewField("subClass.stringData1")
+        CharSequence getSubStringSequence();
+
+        @FlatMessageViewField("rawData")
+        ByteBuffer getRawBuffer();
+
+        // 필드와 연결하지 않는 default 메서드
+        default String getSummary(String prefix) {
+            return prefix + getStringData() + "/" + getLength();
+        }
+
+        default long getScaledLength(int factor) {
+            return (long) getLength() * factor;
+        }
+    }
+
+    @FlatMessageView(TestMessage.class)
+    public interface TestTableView {
+        @FlatMessageViewField("messageArray.intData")
+        int getIntData();
+    }
+
+    @FlatMessageView(TestMessage.class)
+    public interface TestWrongTypeView {
+        int getStringData();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrder;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestOrderItem;
+import com.ezoneproject.flatmessage.FlatMessageSerializerTest.TestSubMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlatMessageWriterTest {
+    @Test
+    void writerTest() throws Exception {
+        FlatMessageCodec<TestOrder> codec = FlatMessageCodec.of(TestOrder.class, StandardCharsets.UTF_8);
+        byte[] separator = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        List<TestOrder> orders = new ArrayList<>();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 50; i++) {
+            TestOrder order = new TestOrder();
+            order.itemCount = i % 4;
+            order.items = new ArrayList<>();
+            for (int j = 0; j < order.itemCount; j++)
+                order.items.add(new TestOrderItem("W" + i + j, new TestSubMessage("S" + j, j, "하위" + j)));
+            order.trailer = String.valueOf(i);
+            orders.add(order);
+
+            expected.write(codec.encode(order));
+            expected.write(separator);
+        }
+
+        // 버퍼보다 긴 레코드는 버퍼를 늘려서 처리
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FlatMessageWriter<TestOrder> writer = new FlatMessageWriter<>(codec, Channels.newChannel(out), 32)) {
+            writer.setRecordSeparator(separator);
+            writer.writeAll(orders);
+
+            assertEquals(50, writer.getRecordCount());
+            assertEquals(expected.size(), writer.getPosition());
+        }
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+
+        FlatMessageReader<TestOrder> reader = new FlatMessageReader<>(TestOrder.class, StandardCharsets.UTF_8,
+                new ByteArrayInputStream(out.toByteArray()));
+        reader.setSkipLineSeparator(true);
+        assertEquals(50, reader.stream().count());
+    }
+}
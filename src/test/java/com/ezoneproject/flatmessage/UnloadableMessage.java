@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 ezoneproject.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ezoneproject.flatmessage;
+
+import com.ezoneproject.flatmessage.annotation.FieldDataType;
+import com.ezoneproject.flatmessage.annotation.FlatMessageField;
+
+/**
+ * 별도 클래스로더에서 로드해서 언로드를 확인하는 메시지 (중첩 클래스가 아닌 최상위 클래스)
+ * getter/setter 접근자 구현 클래스도 이 클래스의 클래스로더에서 생성된다.
+ */
+public class UnloadableMessage {
+    @FlatMessageField(position = 1, length = 6, type = FieldDataType.ALPHANUM)
+    public String code = "UNLOAD";
+
+    @FlatMessageField(position = 2, length = 5, type = FieldDataType.NUMERIC)
+    private int count = 7;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
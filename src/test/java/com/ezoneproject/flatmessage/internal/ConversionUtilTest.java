@@ -1,13 +1,22 @@
 package com.ezoneproject.flatmessage.internal;
 
+import com.ezoneproject.flatmessage.DataConversionException;
 import com.ezoneproject.flatmessage.annotation.FieldDataType;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 class ConversionUtilTest {
     private static final Logger log = LoggerFactory.getLogger(ConversionUtilTest.class);
 
@@ -43,4 +52,129 @@ class ConversionUtilTest {
         byte[] data = ConversionUtil.toBytes(new BigDecimal("-123456.1234"), 9, -1);
         log.info("return [" + new String(data) + "]");
     }
+
+    @Test
+    void numericToBytes() {
+        // 정수: 0 채움, 음수 기호는 맨 앞
+        assertEquals("00012", new String(ConversionUtil.toBytes(12L, 5)));
+        assertEquals("-0012", new String(ConversionUtil.toBytes(-12L, 5)));
+        assertEquals("-9223372036854775808", new String(ConversionUtil.toBytes(Long.MIN_VALUE, 20)));
+        assertThrows(DataConversionException.class, () -> ConversionUtil.toBytes(-1234L, 4));
+
+        // 고정 소수점: 초과 자릿수는 버림
+        assertEquals("-0001250", new String(ConversionUtil.toBytes(new BigDecimal("-12.509"), 8, 2)));
+        assertEquals("00000", new String(ConversionUtil.toBytes(new BigDecimal("-0.001"), 5, 2)));
+        assertThrows(DataConversionException.class, () -> ConversionUtil.toBytes(new BigDecimal("0.05"), 2, 2));
+
+        // 유동 소수점: 소수점 포함, 길이를 초과하는 소수는 자름
+        assertEquals("-123456.1", new String(ConversionUtil.toBytes(new BigDecimal("-123456.1234"), 9, -1)));
+        assertEquals("0012.500000", new String(ConversionUtil.toBytes(new BigDecimal("12.5"), 11, -1)));
+        assertThrows(DataConversionException.class, () -> ConversionUtil.toBytes(new BigDecimal("-123456.1"), 6, -1));
+
+        // float, double
+        assertEquals("0000012500", new String(ConversionUtil.toBytes(12.5d, 10, 3, StandardCharsets.UTF_8)));
+        assertEquals("0000000029", new String(ConversionUtil.toBytes(0.29d, 10, 2, StandardCharsets.UTF_8)));
+        assertEquals("-0000000010", new String(ConversionUtil.toBytes(-0.1f, 11, 2, StandardCharsets.UTF_8)));
+        assertEquals("0.333333", new String(ConversionUtil.toBytes(1d / 3, 8, -1, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void numericToObject() {
+        // 음수 기호는 0 뒤에만 허용, 양수 기호는 0
+        assertEquals(-12, numeric("00-12", 0, int.class));
+        assertEquals(120L, numeric("0+120", 0, Long.class));
+        assertEquals(Long.MIN_VALUE, numeric("-9223372036854775808", 0, long.class));
+        assertThrows(DataConversionException.class, () -> numeric("01-2", 0, int.class));
+        assertThrows(DataConversionException.class, () -> numeric("0012a", 0, int.class));
+        assertThrows(NumberFormatException.class, () -> numeric("09223372036854775808", 0, long.class));
+
+        // 고정 소수점
+        assertEquals(new BigDecimal("-0.12"), numeric("-0012", 2, BigDecimal.class));
+        assertEquals(-100.01d, numeric("00-100.01", 0, double.class));
+        assertEquals(1.25f, numeric("00125", 2, float.class));
+        assertEquals(new BigDecimal("12345678901234567890.5"), numeric("123456789012345678905", 1, BigDecimal.class));
+        assertThrows(DataConversionException.class, () -> numeric("00125", 2, int.class));
+        assertThrows(DataConversionException.class, () -> numeric("01.25", 2, BigDecimal.class));
+    }
+
+    @Test
+    void stringToBytes() {
+        Charset cp949 = Charset.forName("MS949");
+        assertTrue(CharsetUtil.isAsciiCompatible(cp949));
+        assertTrue(CharsetUtil.isAsciiCompatible(StandardCharsets.UTF_8));
+        assertFalse(CharsetUtil.isAsciiCompatible(StandardCharsets.UTF_16));
+
+        // ASCII 는 byte 그대로, 남는 자리는 공백
+        assertEquals("AB01  ", new String(ConversionUtil.toBytes("AB01", 6, cp949), cp949));
+        assertEquals("AB0", new String(ConversionUtil.toBytes("AB01", 3, StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+
+        // 길이를 초과하는 멀티바이트 문자는 문자 단위로 버림
+        assertEquals("가나 ", new String(ConversionUtil.toBytes("가나다", 7, StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertEquals("A가 ", new String(ConversionUtil.toBytes("A가나", 4, cp949), cp949));
+        assertEquals("한글", new String(ConversionUtil.toBytes("한글", 4, cp949), cp949));
+
+        // direct buffer, 다른 위치의 데이터는 변경하지 않음
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        ConversionUtil.write("코드1", direct, 1, 6, cp949);
+        assertEquals("코드1", string(direct, 1, 6, FieldDataType.STRING, cp949));
+        assertEquals(0, direct.get(0));
+        assertEquals(0, direct.get(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> ConversionUtil.write("A", direct, 4, 6, cp949));
+    }
+
+    @Test
+    void stringToObject() {
+        Charset cp949 = Charset.forName("MS949");
+        assertEquals("AB01", string(ByteBuffer.wrap("AB01  ".getBytes(cp949)), 0, 6, FieldDataType.STRING, cp949));
+        assertEquals("가나", string(ByteBuffer.wrap("가나\0 ".getBytes(cp949)), 0, 6, FieldDataType.STRING, cp949));
+        assertEquals("가 나", string(ByteBuffer.wrap("가 나".getBytes(StandardCharsets.UTF_8)), 0, 7, FieldDataType.UTF8, cp949));
+        assertEquals("", string(ByteBuffer.wrap("    ".getBytes(cp949)), 0, 4, FieldDataType.STRING, cp949));
+        assertEquals("A\u00e9", string(ByteBuffer.wrap("A\u00e9  ".getBytes(StandardCharsets.UTF_16BE)), 0, 8,
+                FieldDataType.STRING, StandardCharsets.UTF_16BE));
+
+        // ALPHANUM 은 비ASCII byte 와 '\0' 을 ?로 읽고 공백만 제외
+        byte[] alphanum = {'A', (byte) 0xB0, 0, ' ', ' '};
+        assertEquals("A??", string(ByteBuffer.wrap(alphanum), 0, 5, FieldDataType.ALPHANUM, cp949));
+    }
+
+    @Test
+    void byteScan() {
+        // 8 byte 단위와 남는 byte 모두 확인
+        ByteBuffer padded = ByteBuffer.wrap("AB\0CD  \0 \0        ".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(5, ByteScanUtil.trimEnd(padded, 1, padded.limit() - 1, true));
+        assertEquals(10, ByteScanUtil.trimEnd(padded, 0, padded.limit(), false));
+        assertEquals(0, ByteScanUtil.trimEnd(padded, 0, 0, true));
+
+        ByteBuffer text = ByteBuffer.wrap("ABCDEFGHIJ~ abcdefgh\u0001".getBytes(StandardCharsets.US_ASCII));
+        assertTrue(ByteScanUtil.isPrintableAscii(text, 0, 20));
+        assertFalse(ByteScanUtil.isPrintableAscii(text, 0, 21));
+        assertFalse(ByteScanUtil.isPrintableAscii(text, 13, 8));
+        assertTrue(ByteScanUtil.isAscii(text, 0, 21));
+
+        // byte order 와 관계없이 앞 byte 가 상위 자리
+        ByteBuffer digits = ByteBuffer.wrap("1234567890".getBytes(StandardCharsets.US_ASCII));
+        assertTrue(ByteScanUtil.isDigits(ByteScanUtil.getWord(digits, 2)));
+        assertEquals(34567890L, ByteScanUtil.digitsValue(ByteScanUtil.getWord(digits, 2)));
+        digits.order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(12345678L, ByteScanUtil.digitsValue(ByteScanUtil.getWord(digits, 0)));
+        assertFalse(ByteScanUtil.isDigits(ByteScanUtil.getWord(ByteBuffer.wrap("1234567:".getBytes()), 0)));
+        assertFalse(ByteScanUtil.isDigits(ByteScanUtil.getWord(ByteBuffer.wrap("/1234567".getBytes()), 0)));
+
+        // 긴 숫자 필드 (8자리 단위 누적, long 범위 경계)
+        assertEquals(123456789012L, numeric("00000000123456789012", 0, long.class));
+        assertEquals(-1234567890123456L, numeric("-0000001234567890123456", 0, long.class));
+        assertEquals(Long.MAX_VALUE, numeric("00009223372036854775807", 0, long.class));
+        assertEquals(new BigDecimal("92233720368547758080.12"), numeric("9223372036854775808012", 2, BigDecimal.class));
+        assertEquals(12345678.5d, numeric("0000000012345678.50000000", 0, double.class));
+        assertThrows(DataConversionException.class, () -> numeric("000000001234567a", 0, long.class));
+    }
+
+    private static String string(ByteBuffer data, int pos, int len, FieldDataType dataType, Charset charset) {
+        return (String) ConversionUtil.read(data, pos, len, dataType, 0, String.class, "test", charset);
+    }
+
+    private static Object numeric(String data, int scale, Class<?> targetType) {
+        return ConversionUtil.toObject(data.getBytes(StandardCharsets.US_ASCII), FieldDataType.NUMERIC, scale,
+                targetType, "test", StandardCharsets.US_ASCII);
+    }
 }